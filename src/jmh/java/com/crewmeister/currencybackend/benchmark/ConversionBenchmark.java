@@ -0,0 +1,55 @@
+package com.crewmeister.currencybackend.benchmark;
+
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the per-rate and per-conversion helpers of ExchangeRateUtils.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    // Non-final, so the JIT cannot constant-fold the inputs
+    private String dayString = "2025-04-09";
+    private String monthString = "2025-04";
+    private BigDecimal amount = new BigDecimal("1234.56");
+    private BigDecimal fromRate = new BigDecimal("1.095000");
+    private BigDecimal toRate = new BigDecimal("0.860000");
+
+    @Benchmark
+    public LocalDate parseDateString() {
+        return ExchangeRateUtils.parseDateString(dayString);
+    }
+
+    @Benchmark
+    public LocalDate parseMonthString() {
+        return ExchangeRateUtils.parseDateString(monthString);
+    }
+
+    @Benchmark
+    public BigDecimal convertAmount() {
+        return ExchangeRateUtils.convertAmount(amount, fromRate);
+    }
+
+    @Benchmark
+    public BigDecimal convertCrossAmount() {
+        return ExchangeRateUtils.convertCrossAmount(amount, fromRate, toRate);
+    }
+}
@@ -0,0 +1,76 @@
+package com.crewmeister.currencybackend.benchmark;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.service.impl.RateMatrix;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import com.crewmeister.currencybackend.utils.TargetCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of single-rate lookups in the rate matrix, filled with 25 years of 30 currencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLookupBenchmark {
+
+    private static final List<String> CURRENCIES = Arrays.asList(
+            "AUD", "BGN", "BRL", "CAD", "CHF", "CNY", "CZK", "DKK", "GBP", "HKD",
+            "HUF", "IDR", "ILS", "INR", "ISK", "JPY", "KRW", "MXN", "MYR", "NOK",
+            "NZD", "PHP", "PLN", "RON", "SEK", "SGD", "THB", "TRY", "USD", "ZAR");
+
+    private final RateMatrix rateMatrix = new RateMatrix(null);
+
+    // Non-final, so the JIT cannot constant-fold the inputs
+    private String currencyCode = "USD";
+    private LocalDate businessDay = LocalDate.of(2018, 6, 14);
+    private LocalDate sunday = LocalDate.of(2018, 6, 17);
+
+    @Setup
+    public void setUp() {
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        for (LocalDate date = SdmxFixtures.Size.TWENTY_FIVE_YEARS.getStartDate();
+             !date.isAfter(SdmxFixtures.END_DATE); date = date.plusDays(1)) {
+            if (TargetCalendar.isBusinessDay(date)) {
+                for (String currency : CURRENCIES) {
+                    rates.add(ExchangeRateUtils.buildExchangeRateDto(currency, currency, date, new BigDecimal("1.234567")));
+                }
+            }
+        }
+        rateMatrix.putAll(rates);
+    }
+
+    @Benchmark
+    public long getScaledRate() {
+        return rateMatrix.getScaledRate(currencyCode, businessDay.toEpochDay());
+    }
+
+    @Benchmark
+    public BigDecimal getRate() {
+        return rateMatrix.getRate(currencyCode, businessDay);
+    }
+
+    @Benchmark
+    public LocalDate findDateOnOrBefore() {
+        return rateMatrix.findDateOnOrBefore(currencyCode, sunday);
+    }
+}
@@ -0,0 +1,107 @@
+package com.crewmeister.currencybackend.benchmark;
+
+import com.crewmeister.currencybackend.utils.TargetCalendar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BBEX3 SDMX-JSON responses of realistic sizes for the parsing benchmarks.
+ * <p>
+ * The documents follow the layout of Bundesbank's daily reference rate responses: six series
+ * dimensions, a TIME_PERIOD observation dimension with one value per business day, and one
+ * observation per day holding the rate and its attribute indexes. They are generated with a
+ * fixed seed instead of being checked in, since the 25-year history is several megabytes.
+ */
+public class SdmxFixtures {
+
+    /**
+     * Last day of every fixture
+     */
+    static final LocalDate END_DATE = LocalDate.of(2025, 4, 9);
+
+    /**
+     * Covered period of a fixture
+     */
+    public enum Size {
+        ONE_DAY(END_DATE),
+        THIRTY_DAYS(END_DATE.minusDays(29)),
+        TWENTY_FIVE_YEARS(END_DATE.minusYears(25).plusDays(1));
+
+        private final LocalDate startDate;
+
+        Size(LocalDate startDate) {
+            this.startDate = startDate;
+        }
+
+        public LocalDate getStartDate() {
+            return startDate;
+        }
+    }
+
+    /**
+     * Generate the response of a single-currency request covering the given period.
+     */
+    public static byte[] singleCurrency(String currencyCode, Size size) {
+        List<LocalDate> businessDays = new ArrayList<>();
+        for (LocalDate date = size.getStartDate(); !date.isAfter(END_DATE); date = date.plusDays(1)) {
+            if (TargetCalendar.isBusinessDay(date)) {
+                businessDays.add(date);
+            }
+        }
+
+        StringBuilder json = new StringBuilder(64 * businessDays.size() + 2048);
+        json.append("{\"header\":{\"id\":\"BBK-").append(currencyCode).append("\",\"test\":false,")
+                .append("\"prepared\":\"").append(END_DATE).append("T16:00:00.000+02:00\",")
+                .append("\"sender\":{\"id\":\"BBK\",\"name\":\"Deutsche Bundesbank, Frankfurt am Main\"}},")
+                .append("\"data\":{\"structure\":{\"links\":[{\"title\":\"BBEX3\",\"rel\":\"dataflow\",")
+                .append("\"href\":\"https://api.statistiken.bundesbank.de/rest/dataflow/BBK/BBEX3/1.0\"}],")
+                .append("\"name\":\"Exchange rates\",\"dimensions\":{\"dataset\":[],\"series\":[");
+        appendDimension(json, "BBK_STD_FREQ", 0, "D", "Daily");
+        json.append(',');
+        appendDimension(json, "BBK_STD_CURRENCY", 1, currencyCode, currencyCode);
+        json.append(',');
+        appendDimension(json, "BBK_ERX_PARTNER_CURRENCY", 2, "EUR", "Euro");
+        json.append(',');
+        appendDimension(json, "BBK_ERX_SERIES_TYPE", 3, "BB", "Spot rate");
+        json.append(',');
+        appendDimension(json, "BBK_ERX_RATE_TYPE", 4, "AC", "Reference rate");
+        json.append(',');
+        appendDimension(json, "BBK_ERX_SUFFIX", 5, "000", "Standard");
+        json.append("],\"observation\":[{\"id\":\"TIME_PERIOD\",\"name\":\"Time period or range\",")
+                .append("\"role\":\"time\",\"values\":[");
+        for (int i = 0; i < businessDays.size(); i++) {
+            String day = businessDays.get(i).toString();
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":\"").append(day).append("\",\"name\":\"").append(day)
+                    .append("\",\"start\":\"").append(day).append("T00:00:00.000+01:00\"}");
+        }
+        json.append("]}]},\"attributes\":{\"dataSet\":[],\"series\":[{\"id\":\"BBK_TITLE\",\"values\":[")
+                .append("{\"name\":\"Euro foreign exchange reference rate\"}]}],\"observation\":[{\"id\":\"BBK_OBS_STATUS\",")
+                .append("\"values\":[{\"id\":\"A\",\"name\":\"Normal value\"}]}]}},")
+                .append("\"dataSets\":[{\"action\":\"Information\",\"series\":{\"0:0:0:0:0:0\":{\"attributes\":[0],")
+                .append("\"observations\":{");
+
+        Random random = new Random(42);
+        double rate = 1.1;
+        for (int i = 0; i < businessDays.size(); i++) {
+            rate = Math.max(0.5, rate * (1 + (random.nextGaussian() * 0.004)));
+            json.append(i == 0 ? "" : ",")
+                    .append('"').append(i).append("\":[")
+                    .append(BigDecimal.valueOf(rate).setScale(4, RoundingMode.HALF_UP).toPlainString())
+                    .append(",0]");
+        }
+        json.append("}}}}]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendDimension(StringBuilder json, String id, int keyPosition, String valueId, String valueName) {
+        json.append("{\"id\":\"").append(id).append("\",\"keyPosition\":").append(keyPosition)
+                .append(",\"values\":[{\"id\":\"").append(valueId).append("\",\"name\":\"").append(valueName).append("\"}]}");
+    }
+}
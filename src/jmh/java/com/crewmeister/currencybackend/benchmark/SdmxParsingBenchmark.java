@@ -0,0 +1,85 @@
+package com.crewmeister.currencybackend.benchmark;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import com.crewmeister.currencybackend.utils.JsonParserUtils;
+import com.crewmeister.currencybackend.utils.SdmxJsonStreamDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks of decoding Bundesbank SDMX-JSON responses of one day, 30 days and 25 years.
+ * <p>
+ * Compares the JsonNode tree path (JsonParserUtils, ExchangeRateUtils.extractTimePeriods) with
+ * the streaming decoder used for fetches, and measures the tree steps on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SdmxParsingBenchmark {
+
+    private static final String CURRENCY = "USD";
+    private static final List<String> CURRENCIES = Collections.singletonList(CURRENCY);
+    private static final Function<String, String> NAME_RESOLVER = code -> "US dollar";
+
+    @Param({"ONE_DAY", "THIRTY_DAYS", "TWENTY_FIVE_YEARS"})
+    public SdmxFixtures.Size size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] json;
+    private JsonNode root;
+    private Map<Integer, LocalDate> timePeriods;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = SdmxFixtures.singleCurrency(CURRENCY, size);
+        root = objectMapper.readTree(json);
+        timePeriods = ExchangeRateUtils.extractTimePeriods(root);
+    }
+
+    @Benchmark
+    public List<ExchangeRateDto> treeDecode() throws IOException {
+        JsonNode tree = objectMapper.readTree(json);
+        return JsonParserUtils.extractRatesFromJson(tree, CURRENCY, ExchangeRateUtils.extractTimePeriods(tree), NAME_RESOLVER);
+    }
+
+    @Benchmark
+    public List<ExchangeRateDto> extractRatesFromJson() {
+        return JsonParserUtils.extractRatesFromJson(root, CURRENCY, timePeriods, NAME_RESOLVER);
+    }
+
+    @Benchmark
+    public Map<Integer, LocalDate> extractTimePeriods() {
+        return ExchangeRateUtils.extractTimePeriods(root);
+    }
+
+    @Benchmark
+    public int streamDecode(Blackhole blackhole) throws IOException {
+        return SdmxJsonStreamDecoder.decode(new ByteArrayInputStream(json), objectMapper.getFactory(),
+                CURRENCIES, NAME_RESOLVER, blackhole::consume);
+    }
+}
@@ -0,0 +1,113 @@
+package com.crewmeister.currencybackend.benchmark;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.utils.TargetCalendar;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks of writing and reading rate responses as JSON, CBOR and Smile.
+ * <p>
+ * The responses list five currencies over 30 days and over 25 years, and the mappers are built
+ * like the ones of the message converters. The payload size of each format is printed once
+ * per trial, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    private static final List<String> CURRENCIES = Arrays.asList("USD", "GBP", "JPY", "CHF", "TRY");
+    private static final TypeReference<List<ExchangeRateDto>> RATE_LIST = new TypeReference<List<ExchangeRateDto>>() {
+    };
+
+    /**
+     * Response formats, with the factory of their mapper
+     */
+    public enum Format {
+        JSON(JsonFactory::new),
+        CBOR(CBORFactory::new),
+        SMILE(SmileFactory::new);
+
+        private final Supplier<JsonFactory> factory;
+
+        Format(Supplier<JsonFactory> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Format format;
+
+    @Param({"THIRTY_DAYS", "TWENTY_FIVE_YEARS"})
+    public SdmxFixtures.Size size;
+
+    private ObjectMapper objectMapper;
+    private List<ExchangeRateDto> rates;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(format.factory.get())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        rates = rates(size);
+        payload = objectMapper.writeValueAsBytes(rates);
+        System.out.printf("%n%s, %s: %d rates in %d bytes%n", format, size, rates.size(), payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(rates);
+    }
+
+    @Benchmark
+    public List<ExchangeRateDto> deserialize() throws IOException {
+        return objectMapper.readValue(payload, RATE_LIST);
+    }
+
+    private static List<ExchangeRateDto> rates(SdmxFixtures.Size size) {
+        Random random = new Random(42);
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        for (String currencyCode : CURRENCIES) {
+            for (LocalDate date = size.getStartDate(); !date.isAfter(SdmxFixtures.END_DATE); date = date.plusDays(1)) {
+                if (TargetCalendar.isBusinessDay(date)) {
+                    BigDecimal rate = BigDecimal.valueOf(0.5 + random.nextDouble() * 150).setScale(4, RoundingMode.HALF_UP);
+                    rates.add(new ExchangeRateDto(currencyCode, currencyCode + " name", date, rate));
+                }
+            }
+        }
+        return rates;
+    }
+}
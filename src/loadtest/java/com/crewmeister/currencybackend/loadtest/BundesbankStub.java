@@ -0,0 +1,222 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import com.crewmeister.currencybackend.utils.TargetCalendar;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Bundesbank SDMX REST API.
+ * <p>
+ * Answers {@code /data/{flowRef}/{key}?startPeriod=...&endPeriod=...} with a BBEX3 SDMX-JSON
+ * response holding one series per requested currency and one observation per business day. The
+ * rates are derived from the currency and the date, so repeated requests return the same rates.
+ * Every response is delayed by a fixed latency plus a uniform jitter to model the upstream.
+ * <p>
+ * Key Features:
+ * - Multi-currency keys ({@code D.USD+GBP.EUR.BB.AC.000}) like the production fetcher sends
+ * - 404 for ranges without business days, like the real API
+ * - Configurable latency, served on virtual threads so slow responses do not limit concurrency
+ *
+ * @author hiulusoy
+ */
+public class BundesbankStub implements AutoCloseable {
+
+    /**
+     * Embedded HTTP server
+     */
+    private final HttpServer server;
+
+    /**
+     * Executor handling the requests, one virtual thread per request
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Fixed delay of every response
+     */
+    private final Duration latency;
+
+    /**
+     * Maximum random delay added to the fixed latency
+     */
+    private final Duration jitter;
+
+    /**
+     * Number of data requests served
+     */
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private BundesbankStub(Duration latency, Duration jitter) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/data/", this::handleData);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a stub on a free local port.
+     *
+     * @param latency Fixed delay of every response
+     * @param jitter  Maximum random delay added to the fixed latency
+     * @return Started stub
+     * @throws IOException if the server cannot be bound
+     */
+    public static BundesbankStub start(Duration latency, Duration jitter) throws IOException {
+        BundesbankStub stub = new BundesbankStub(latency, jitter);
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * Returns the base URL to configure as {@code bundesbank.api.url}.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of data requests served so far.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Serves a data request after the configured delay.
+     */
+    private void handleData(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            delay();
+
+            // /data/{flowRef}/{key}
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (path.length < 4 || !query.containsKey("startPeriod") || !query.containsKey("endPeriod")) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            List<String> currencies = Arrays.asList(path[3].split("\\.")[1].split("\\+"));
+            List<LocalDate> businessDays = new ArrayList<>();
+            LocalDate endDate = LocalDate.parse(query.get("endPeriod"));
+            for (LocalDate date = LocalDate.parse(query.get("startPeriod")); !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (TargetCalendar.isBusinessDay(date)) {
+                    businessDays.add(date);
+                }
+            }
+            if (businessDays.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = renderResponse(currencies, businessDays);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sleeps for the fixed latency plus a random share of the jitter.
+     */
+    private void delay() throws InterruptedException {
+        long jitterMillis = jitter.toMillis() > 0 ? ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1) : 0;
+        Thread.sleep(latency.toMillis() + jitterMillis);
+    }
+
+    /**
+     * Renders a BBEX3 SDMX-JSON response for the given currencies and business days.
+     */
+    private static byte[] renderResponse(List<String> currencies, List<LocalDate> businessDays) {
+        StringBuilder json = new StringBuilder(64 * currencies.size() * businessDays.size() + 2048);
+        json.append("{\"header\":{\"id\":\"stub\",\"test\":true,\"sender\":{\"id\":\"BBK\"}},")
+                .append("\"data\":{\"structure\":{\"name\":\"Exchange rates\",\"dimensions\":{\"dataset\":[],\"series\":[")
+                .append("{\"id\":\"BBK_STD_FREQ\",\"keyPosition\":0,\"values\":[{\"id\":\"D\"}]},")
+                .append("{\"id\":\"BBK_STD_CURRENCY\",\"keyPosition\":1,\"values\":[");
+        for (int i = 0; i < currencies.size(); i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":\"").append(currencies.get(i)).append("\"}");
+        }
+        json.append("]},{\"id\":\"BBK_ERX_PARTNER_CURRENCY\",\"keyPosition\":2,\"values\":[{\"id\":\"EUR\"}]},")
+                .append("{\"id\":\"BBK_ERX_SERIES_TYPE\",\"keyPosition\":3,\"values\":[{\"id\":\"BB\"}]},")
+                .append("{\"id\":\"BBK_ERX_RATE_TYPE\",\"keyPosition\":4,\"values\":[{\"id\":\"AC\"}]},")
+                .append("{\"id\":\"BBK_ERX_SUFFIX\",\"keyPosition\":5,\"values\":[{\"id\":\"000\"}]}],")
+                .append("\"observation\":[{\"id\":\"TIME_PERIOD\",\"role\":\"time\",\"values\":[");
+        for (int i = 0; i < businessDays.size(); i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":\"").append(businessDays.get(i)).append("\"}");
+        }
+        json.append("]}]}},\"dataSets\":[{\"action\":\"Information\",\"series\":{");
+        for (int c = 0; c < currencies.size(); c++) {
+            json.append(c == 0 ? "" : ",").append("\"0:").append(c).append(":0:0:0:0\":{\"observations\":{");
+            for (int i = 0; i < businessDays.size(); i++) {
+                json.append(i == 0 ? "" : ",").append('"').append(i).append("\":[")
+                        .append(rate(currencies.get(c), businessDays.get(i)).toPlainString()).append(",0]");
+            }
+            json.append("}}");
+        }
+        json.append("}}]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Derives a stable rate from the currency and the date.
+     */
+    private static BigDecimal rate(String currencyCode, LocalDate date) {
+        double base = 0.5 + Math.floorMod(currencyCode.hashCode(), 200);
+        double drift = 1 + 0.05 * Math.sin(date.toEpochDay() / 90.0);
+        return BigDecimal.valueOf(base * drift).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Parses a raw query string into its parameters.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(pair.substring(0, separator),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+}
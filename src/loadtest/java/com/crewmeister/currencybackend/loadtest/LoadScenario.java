@@ -0,0 +1,109 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Open-model workload: a sequence of phases, each with a constant arrival rate.
+ * <p>
+ * Requests are started at the scheduled arrival times no matter how many are still in flight,
+ * so a slow server faces a growing backlog instead of a slower client, as in production.
+ *
+ * @author hiulusoy
+ */
+public class LoadScenario {
+
+    /**
+     * Name of the scenario in the report
+     */
+    private final String name;
+
+    /**
+     * Phases run one after another
+     */
+    private final List<Phase> phases;
+
+    /**
+     * Probability that a rate request asks for the latest business day
+     */
+    private final double todayRatio;
+
+    private LoadScenario(String name, List<Phase> phases, double todayRatio) {
+        this.name = name;
+        this.phases = Collections.unmodifiableList(phases);
+        this.todayRatio = todayRatio;
+    }
+
+    /**
+     * Creates a scenario with a single constant arrival rate.
+     *
+     * @param name       Name of the scenario
+     * @param rate       Requests started per second
+     * @param duration   Duration of the scenario
+     * @param todayRatio Probability that a rate request asks for the latest business day
+     * @return Scenario
+     */
+    public static LoadScenario constantRate(String name, double rate, Duration duration, double todayRatio) {
+        return new LoadScenario(name, Collections.singletonList(new Phase(rate, duration)), todayRatio);
+    }
+
+    /**
+     * Creates a scenario with a constant arrival rate and a spike starting at a given offset.
+     *
+     * @param name          Name of the scenario
+     * @param rate          Requests started per second outside the spike
+     * @param duration      Total duration of the scenario
+     * @param spikeAt       Offset at which the spike starts
+     * @param spikeDuration Duration of the spike
+     * @param multiplier    Factor applied to the arrival rate during the spike
+     * @param todayRatio    Probability that a rate request asks for the latest business day
+     * @return Scenario
+     */
+    public static LoadScenario spike(String name, double rate, Duration duration, Duration spikeAt,
+                                     Duration spikeDuration, double multiplier, double todayRatio) {
+        Duration after = duration.minus(spikeAt).minus(spikeDuration);
+        if (after.isNegative()) {
+            throw new IllegalArgumentException("Spike of scenario " + name + " ends after the scenario");
+        }
+        return new LoadScenario(name, Arrays.asList(
+                new Phase(rate, spikeAt),
+                new Phase(rate * multiplier, spikeDuration),
+                new Phase(rate, after)), todayRatio);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public double getTodayRatio() {
+        return todayRatio;
+    }
+
+    /**
+     * Period with a constant arrival rate.
+     */
+    public static final class Phase {
+
+        private final double rate;
+        private final Duration duration;
+
+        public Phase(double rate, Duration duration) {
+            this.rate = rate;
+            this.duration = duration;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+}
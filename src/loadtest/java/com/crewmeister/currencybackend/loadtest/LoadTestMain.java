@@ -0,0 +1,225 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import com.crewmeister.currencybackend.CurrencyBackendApplication;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.service.impl.CurrencyCatalog;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Boots the application against a local Bundesbank stand-in and runs the load scenarios.
+ * <p>
+ * Scenarios:
+ * - constant-rate: constant arrival rate of lookups for the latest business day
+ * - publication-spike: the same load with a burst at a given offset, like clients polling for
+ * the rates right after their daily publication
+ * - historic-mix: constant arrival rate mixing historic and latest-day lookups, so part of
+ * the requests miss the rate matrix and fetch from the stand-in
+ * <p>
+ * Every option is a {@code --name=value} argument. Options starting with {@code loadtest.}
+ * configure the run; all others are passed to the application, e.g.
+ * {@code --exchange-rates.virtual-threads.enabled=true}. The application uses the PostgreSQL database of
+ * its default configuration, in a separate {@code loadtest} schema that is recreated on every run.
+ * The database is not started by the harness: it has to be running, e.g. with
+ * {@code docker-compose up -d postgres}, or be given with {@code --spring.datasource.url}.
+ *
+ * @author hiulusoy
+ */
+public class LoadTestMain {
+
+    /**
+     * Currencies seeded into the catalog: code, name and country
+     */
+    private static final String[][] CURRENCIES = {
+            {"EUR", "Euro", "Germany"},
+            {"USD", "US Dollar", "United States"},
+            {"GBP", "British Pound Sterling", "United Kingdom"},
+            {"JPY", "Japanese Yen", "Japan"},
+            {"CHF", "Swiss Franc", "Switzerland"},
+            {"CAD", "Canadian Dollar", "Canada"},
+            {"AUD", "Australian Dollar", "Australia"},
+            {"CNY", "Chinese Yuan", "China"},
+            {"SEK", "Swedish Krona", "Sweden"},
+            {"NOK", "Norwegian Krone", "Norway"},
+            {"PLN", "Polish Zloty", "Poland"},
+            {"TRY", "Turkish Lira", "Turkey"}
+    };
+
+    /**
+     * Application settings applied unless given as arguments
+     */
+    private static final Map<String, String> APPLICATION_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        APPLICATION_DEFAULTS.put("server.port", "0");
+        APPLICATION_DEFAULTS.put("spring.datasource.url",
+                "jdbc:postgresql://localhost:5432/currency_db?currentSchema=loadtest&reWriteBatchedInserts=true");
+        APPLICATION_DEFAULTS.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        APPLICATION_DEFAULTS.put("spring.jpa.properties.hibernate.default_schema", "loadtest");
+        APPLICATION_DEFAULTS.put("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", "true");
+        APPLICATION_DEFAULTS.put("scheduler.exchange-rates.enabled", "false");
+        APPLICATION_DEFAULTS.put("importer.bootstrap.enabled", "false");
+        APPLICATION_DEFAULTS.put("logging.level.com.crewmeister.currencybackend", "WARN");
+        APPLICATION_DEFAULTS.put("logging.level.org.springframework.web", "WARN");
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        Duration timeout = duration(options, "loadtest.timeout", "10s");
+
+        try (BundesbankStub stub = BundesbankStub.start(
+                duration(options, "loadtest.stub.latency", "150ms"),
+                duration(options, "loadtest.stub.jitter", "100ms"));
+             ConfigurableApplicationContext context = startApplication(args, stub);
+             OpenModelLoadGenerator generator = new OpenModelLoadGenerator(timeout)) {
+
+            seedCurrencies(context);
+
+            Environment environment = context.getEnvironment();
+            String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+            String apiVersion = option(options, "loadtest.api-version", "v1");
+            String threads = environment.getProperty("exchange-rates.virtual-threads.enabled", Boolean.class, false)
+                    ? "virtual" : "platform";
+            List<String> currencyCodes = Arrays.stream(CURRENCIES).map(c -> c[0])
+                    .filter(code -> !"EUR".equals(code)).collect(Collectors.toList());
+            List<String> countries = Arrays.stream(CURRENCIES).map(c -> c[2]).collect(Collectors.toList());
+
+            System.out.printf("Load test against %s (%s API, %s threads), stand-in at %s%n",
+                    baseUrl, apiVersion, threads, stub.getBaseUrl());
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (LoadScenario scenario : scenarios(options)) {
+                RequestMix requests = new RequestMix(baseUrl, apiVersion, currencyCodes, countries,
+                        scenario.getTodayRatio(), timeout);
+                ScenarioResult result = generator.run(scenario, requests, stub::getRequestCount);
+                if (!scenario.getName().equals("warmup")) {
+                    System.out.println(result.toReportLine());
+                    results.add(result);
+                }
+            }
+
+            Path report = Paths.get(option(options, "loadtest.report",
+                    "target/loadtest/" + apiVersion + "-" + threads + ".csv"));
+            writeReport(report, results);
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Starts the application with the stand-in as its Bundesbank API.
+     * <p>
+     * The defaults are set as system properties, so they override application.yml while
+     * arguments still override them.
+     */
+    private static ConfigurableApplicationContext startApplication(String[] args, BundesbankStub stub) {
+        APPLICATION_DEFAULTS.forEach(LoadTestMain::setDefault);
+        setDefault("bundesbank.api.url", stub.getBaseUrl());
+        try {
+            return new SpringApplicationBuilder(CurrencyBackendApplication.class).run(args);
+        } catch (RuntimeException e) {
+            if (NestedExceptionUtils.getMostSpecificCause(e) instanceof ConnectException) {
+                throw new IllegalStateException("PostgreSQL is not reachable; start it with "
+                        + "'docker-compose up -d postgres' or pass --spring.datasource.url", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the scenarios selected by loadtest.scenarios, preceded by a warmup.
+     */
+    private static List<LoadScenario> scenarios(SimpleCommandLinePropertySource options) {
+        double rate = Double.parseDouble(option(options, "loadtest.rate", "100"));
+        Duration duration = duration(options, "loadtest.duration", "60s");
+        double todayRatio = Double.parseDouble(option(options, "loadtest.today-ratio", "0.2"));
+
+        List<LoadScenario> scenarios = new ArrayList<>();
+        scenarios.add(LoadScenario.constantRate("warmup", rate, duration(options, "loadtest.warmup", "15s"), 1.0));
+        for (String name : option(options, "loadtest.scenarios", "constant-rate,publication-spike,historic-mix").split(",")) {
+            switch (name.trim()) {
+                case "constant-rate":
+                    scenarios.add(LoadScenario.constantRate("constant-rate", rate, duration, 1.0));
+                    break;
+                case "publication-spike":
+                    scenarios.add(LoadScenario.spike("publication-spike", rate, duration,
+                            duration(options, "loadtest.spike.at", "20s"),
+                            duration(options, "loadtest.spike.duration", "10s"),
+                            Double.parseDouble(option(options, "loadtest.spike.multiplier", "5")), 1.0));
+                    break;
+                case "historic-mix":
+                    scenarios.add(LoadScenario.constantRate("historic-mix", rate, duration, todayRatio));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown load test scenario: " + name);
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Stores the seeded currencies and reloads the currency catalog.
+     */
+    private static void seedCurrencies(ConfigurableApplicationContext context) {
+        List<Currency> currencies = Arrays.stream(CURRENCIES)
+                .map(c -> new Currency(c[0], c[1], c[2], true))
+                .collect(Collectors.toList());
+        context.getBean(CurrencyRepository.class).saveAll(currencies);
+        context.getBean(CurrencyCatalog.class).refresh();
+    }
+
+    /**
+     * Writes the results as CSV, creating the parent directories.
+     */
+    private static void writeReport(Path report, List<ScenarioResult> results) throws IOException {
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(ScenarioResult.CSV_HEADER);
+        results.forEach(result -> lines.add(result.toCsvRow()));
+        Files.write(report, lines);
+    }
+
+    /**
+     * Sets a system property unless it is already set.
+     */
+    private static void setDefault(String name, String value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, value);
+        }
+    }
+
+    /**
+     * Returns a load test option, or the default if it is not given.
+     */
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        return options.containsProperty(name) ? options.getProperty(name) : defaultValue;
+    }
+
+    /**
+     * Returns a load test option as a duration such as 500ms or 60s.
+     */
+    private static Duration duration(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        return DurationStyle.detectAndParse(option(options, name, defaultValue));
+    }
+}
@@ -0,0 +1,119 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Open-model load generator driving the application over HTTP.
+ * <p>
+ * Requests are sent asynchronously at the arrival times of the scenario, independent of the
+ * responses still outstanding. The latency of a request is recorded from its scheduled start,
+ * so a generator running late does not hide server queueing (coordinated omission).
+ *
+ * @author hiulusoy
+ */
+public class OpenModelLoadGenerator implements AutoCloseable {
+
+    /**
+     * Executor of the HTTP client callbacks
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Client sending the requests
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Timeout of every request; slower requests count as errors at this latency
+     */
+    private final Duration timeout;
+
+    public OpenModelLoadGenerator(Duration timeout) {
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Runs a scenario and waits for all its requests to complete.
+     *
+     * @param scenario      Scenario to run
+     * @param requests      Source of the requests to send
+     * @param upstreamCalls Supplier of the number of upstream calls served so far
+     * @return Result of the scenario
+     */
+    public ScenarioResult run(LoadScenario scenario, RequestMix requests, LongSupplier upstreamCalls) {
+        Histogram latencies = new ConcurrentHistogram(timeout.toNanos(), 3);
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<Void>> responses = new ArrayList<>();
+        long upstreamCallsBefore = upstreamCalls.getAsLong();
+
+        long started = System.nanoTime();
+        long scheduled = started;
+        for (LoadScenario.Phase phase : scenario.getPhases()) {
+            long phaseEnd = scheduled + phase.getDuration().toNanos();
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / phase.getRate());
+            while (scheduled < phaseEnd) {
+                parkUntil(scheduled);
+                long intendedStart = scheduled;
+                responses.add(httpClient.sendAsync(requests.next(), HttpResponse.BodyHandlers.discarding())
+                        .handle(record(intendedStart, latencies, errors)));
+                scheduled += interval;
+            }
+        }
+
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        return new ScenarioResult(scenario.getName(), responses.size(), errors.get(), elapsed, latencies,
+                upstreamCalls.getAsLong() - upstreamCallsBefore);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Returns the completion handler recording the latency and outcome of one request.
+     */
+    private <T> BiFunction<HttpResponse<T>, Throwable, Void> record(
+            long intendedStart, Histogram latencies, AtomicLong errors) {
+        return (response, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            latencies.recordValue(Math.min(latency, latencies.getHighestTrackableValue()));
+            if (error != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Waits until the given System.nanoTime value.
+     */
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import com.crewmeister.currencybackend.utils.TargetCalendar;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of the requests sent during a scenario.
+ * <p>
+ * Draws rate lookups, quick conversions and currency catalog reads in fixed proportions. Rate
+ * lookups and conversions ask for the latest business day with the configured probability and
+ * for a random business day of the last 25 years otherwise, so historic lookups miss the rate
+ * matrix and reach the Bundesbank stand-in.
+ * <p>
+ * Not thread-safe; a scenario draws all its requests from the scheduling thread.
+ *
+ * @author hiulusoy
+ */
+public class RequestMix {
+
+    /**
+     * Share of requests going to the currency endpoints
+     */
+    private static final double CURRENCY_SHARE = 0.1;
+
+    /**
+     * Share of the exchange rate requests that are quick conversions
+     */
+    private static final double CONVERSION_SHARE = 0.3;
+
+    /**
+     * Oldest historic date drawn, in years before today
+     */
+    private static final int HISTORY_YEARS = 25;
+
+    /**
+     * Base URL of the application under test
+     */
+    private final String baseUrl;
+
+    /**
+     * Path prefix of the exchange rate endpoints, /api/v1 or /api/v2
+     */
+    private final String ratesPath;
+
+    /**
+     * Currency codes drawn for rate lookups and conversions
+     */
+    private final List<String> currencyCodes;
+
+    /**
+     * Countries drawn for currency lookups by country
+     */
+    private final List<String> countries;
+
+    /**
+     * Probability that a rate request asks for the latest business day
+     */
+    private final double todayRatio;
+
+    /**
+     * Timeout of every request
+     */
+    private final Duration timeout;
+
+    /**
+     * Seeded source of randomness, so runs draw the same sequence
+     */
+    private final Random random = new Random(42);
+
+    public RequestMix(String baseUrl, String apiVersion, List<String> currencyCodes, List<String> countries,
+                      double todayRatio, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.ratesPath = "/api/" + apiVersion + "/exchange-rates";
+        this.currencyCodes = currencyCodes;
+        this.countries = countries;
+        this.todayRatio = todayRatio;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Draws the next request.
+     *
+     * @return Request to send
+     */
+    public HttpRequest next() {
+        if (random.nextDouble() < CURRENCY_SHARE) {
+            String path = random.nextBoolean()
+                    ? "/api/v1/currencies/active"
+                    : "/api/v1/currencies/country/" + countries.get(random.nextInt(countries.size())).replace(" ", "%20");
+            return get(path);
+        }
+
+        String currencyCode = currencyCodes.get(random.nextInt(currencyCodes.size()));
+        LocalDate date = random.nextDouble() < todayRatio ? latestBusinessDay() : historicBusinessDay();
+        // Conversions only exist under /api/v1 as GET; /api/v2 offers them as POST only
+        if (ratesPath.startsWith("/api/v1") && random.nextDouble() < CONVERSION_SHARE) {
+            return get(ratesPath + "/convert/" + currencyCode + "/" + (1 + random.nextInt(10_000)) + "/date/" + date);
+        }
+        return get(ratesPath + "/" + currencyCode + "/date/" + date);
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Builds a GET request for a path of the application under test.
+     */
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Returns the latest business day, today if it is one.
+     */
+    private LocalDate latestBusinessDay() {
+        return onOrBeforeBusinessDay(LocalDate.now());
+    }
+
+    /**
+     * Draws a business day of the covered history.
+     */
+    private LocalDate historicBusinessDay() {
+        LocalDate today = LocalDate.now();
+        long firstDay = today.minusYears(HISTORY_YEARS).toEpochDay();
+        long days = today.toEpochDay() - firstDay;
+        return onOrBeforeBusinessDay(LocalDate.ofEpochDay(firstDay + (long) (random.nextDouble() * days)));
+    }
+
+    /**
+     * Returns the latest business day on or before the given date.
+     */
+    private static LocalDate onOrBeforeBusinessDay(LocalDate date) {
+        LocalDate businessDay = date;
+        while (!TargetCalendar.isBusinessDay(businessDay)) {
+            businessDay = businessDay.minusDays(1);
+        }
+        return businessDay;
+    }
+}
@@ -0,0 +1,80 @@
+package com.crewmeister.currencybackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Outcome of one scenario: throughput, latency percentiles and error rate.
+ * <p>
+ * Latencies are measured from the scheduled start of each request, so time spent queued
+ * behind a saturated server counts towards them.
+ *
+ * @author hiulusoy
+ */
+public class ScenarioResult {
+
+    /**
+     * Header of the CSV report, matching {@link #toCsvRow()}
+     */
+    public static final String CSV_HEADER =
+            "scenario,requests,errors,error_rate,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,upstream_calls";
+
+    private final String scenario;
+    private final long requests;
+    private final long errors;
+    private final Duration elapsed;
+    private final Histogram latencies;
+    private final long upstreamCalls;
+
+    public ScenarioResult(String scenario, long requests, long errors, Duration elapsed, Histogram latencies,
+                          long upstreamCalls) {
+        this.scenario = scenario;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.latencies = latencies;
+        this.upstreamCalls = upstreamCalls;
+    }
+
+    /**
+     * Successful responses per second over the scenario.
+     */
+    public double getThroughput() {
+        return (requests - errors) / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * Share of the requests that failed or were answered with an error status.
+     */
+    public double getErrorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    /**
+     * Latency at the given percentile in milliseconds.
+     */
+    public double getLatencyMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * Formats the result as one line of the console report.
+     */
+    public String toReportLine() {
+        return String.format(Locale.ROOT,
+                "%-20s %8d req %7.1f req/s  p50 %8.1f ms  p99 %8.1f ms  p99.9 %8.1f ms  errors %6.2f %%  upstream %6d",
+                scenario, requests, getThroughput(), getLatencyMillis(50), getLatencyMillis(99),
+                getLatencyMillis(99.9), getErrorRate() * 100, upstreamCalls);
+    }
+
+    /**
+     * Formats the result as one row of the CSV report.
+     */
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.5f,%.1f,%.2f,%.2f,%.2f,%.2f,%d",
+                scenario, requests, errors, getErrorRate(), getThroughput(), getLatencyMillis(50),
+                getLatencyMillis(99), getLatencyMillis(99.9), latencies.getMaxValue() / 1e6, upstreamCalls);
+    }
+}
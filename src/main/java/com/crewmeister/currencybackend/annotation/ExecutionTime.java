@@ -6,9 +6,11 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * This annotation is used to measure and log the execution time of methods.
- * When applied to a method, an aspect will capture the start and end time,
- * calculate the duration, and log the execution time information.
+ * This annotation is used to measure the execution time of methods.
+ * When applied to a method, an aspect records every call in the method.execution
+ * timer, tagged by class, method, outcome and exception type, and logs calls that
+ * exceed the slow-call threshold. Methods returning a Mono are timed until the
+ * Mono completes.
  * <p>
  * Usage:
  *
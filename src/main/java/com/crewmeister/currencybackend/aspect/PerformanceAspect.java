@@ -1,25 +1,78 @@
 package com.crewmeister.currencybackend.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Aspect for measuring and logging method execution time.
- * This aspect applies to methods annotated with the @ExecutionTime annotation
- * and provides performance monitoring capabilities.
+ * Aspect recording the execution time of methods annotated with @ExecutionTime.
+ * <p>
+ * Every call is recorded in the method.execution timer, tagged by class, method, outcome and
+ * exception type, so the timings reach the Prometheus endpoint. Percentile histograms and SLO
+ * buckets of the timer are configured under management.metrics.distribution. Calls are only
+ * logged when they exceed the slow-call threshold.
+ * <p>
+ * Key Features:
+ * - Nanosecond timing through the meter registry clock
+ * - Mono results are timed until they complete, not until the method returns
+ * - No per-call logging below the slow-call threshold
+ *
+ * @author hiulusoy
  */
 @Aspect
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class PerformanceAspect {
 
+    /**
+     * Name of the timer recording annotated methods
+     */
+    public static final String METRIC_NAME = "method.execution";
+
+    /**
+     * Outcome tag of calls that returned normally
+     */
+    private static final String SUCCESS = "success";
+
+    /**
+     * Outcome tag of calls that threw or whose Mono failed
+     */
+    private static final String ERROR = "error";
+
+    /**
+     * Outcome tag of calls whose Mono was cancelled before completing
+     */
+    private static final String CANCELLED = "cancelled";
+
+    /**
+     * Exception tag of calls that did not fail
+     */
+    private static final String NO_EXCEPTION = "none";
+
+    /**
+     * Calls taking longer than this are logged as slow
+     */
+    @Value("${execution-time.slow-threshold:1s}")
+    private Duration slowThreshold;
+
+    /**
+     * Registry the timers are registered in
+     */
+    private final MeterRegistry meterRegistry;
+
     /**
      * Pointcut that targets methods annotated with @ExecutionTime.
      * This defines where the performance monitoring should be applied.
@@ -29,8 +82,9 @@ public class PerformanceAspect {
     }
 
     /**
-     * Around advice that measures and logs the execution time of annotated methods.
-     * This advice runs before and after the method execution to calculate duration.
+     * Around advice that records the execution time of annotated methods.
+     * <p>
+     * A Mono result is recorded when it succeeds, fails or is cancelled.
      *
      * @param proceedingJoinPoint provides access to the executing method
      * @return the result of the method execution
@@ -38,42 +92,52 @@ public class PerformanceAspect {
      */
     @Around("executionTimePC()")
     public Object aroundAnyExecutionTimeAdvice(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        // Record start time
-        long startTime = System.currentTimeMillis();
-
-        // Get method signature for better logging
         MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
-        String className = methodSignature.getDeclaringType().getSimpleName();
-        String methodName = methodSignature.getName();
-
-        // Log method execution start with parameters (for debugging)
-        if (log.isDebugEnabled()) {
-            log.debug("Executing: {}.{}() with parameters: {}",
-                    className, methodName, Arrays.toString(proceedingJoinPoint.getArgs()));
-        } else {
-            log.info("Execution starts: {}.{}()", className, methodName);
-        }
+        Timer.Sample sample = Timer.start(meterRegistry);
 
-        Object result = null;
+        Object result;
         try {
-            // Execute the actual method
             result = proceedingJoinPoint.proceed();
-            return result;
         } catch (Throwable throwable) {
-            log.error("Exception in {}.{}(): {}", className, methodName, throwable.getMessage());
+            record(sample, methodSignature, ERROR, throwable);
             throw throwable;
-        } finally {
-            // Calculate and log execution time
-            long executionTime = System.currentTimeMillis() - startTime;
-
-            // Use different log levels based on execution time
-            if (executionTime > 1000) {
-                log.warn("SLOW EXECUTION - Time taken to execute {}.{}(): {} ms",
-                        className, methodName, executionTime);
-            } else {
-                log.info("Time taken to execute {}.{}(): {} ms",
-                        className, methodName, executionTime);
-            }
+        }
+
+        if (result instanceof Mono) {
+            return ((Mono<?>) result)
+                    .doOnSuccess(value -> record(sample, methodSignature, SUCCESS, null))
+                    .doOnError(error -> record(sample, methodSignature, ERROR, error))
+                    .doOnCancel(() -> record(sample, methodSignature, CANCELLED, null));
+        }
+        record(sample, methodSignature, SUCCESS, null);
+        return result;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Stops the sample on the timer of the method and outcome, and logs the call if it was slow.
+     *
+     * @param sample          Sample started before the call
+     * @param methodSignature Signature of the called method
+     * @param outcome         Outcome of the call
+     * @param error           Error of the call, or null if it did not fail
+     */
+    private void record(Timer.Sample sample, MethodSignature methodSignature, String outcome, Throwable error) {
+        String className = methodSignature.getDeclaringType().getSimpleName();
+        String methodName = methodSignature.getName();
+
+        long nanos = sample.stop(Timer.builder(METRIC_NAME)
+                .description("Execution time of methods annotated with @ExecutionTime")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .tag("exception", error == null ? NO_EXCEPTION : error.getClass().getSimpleName())
+                .register(meterRegistry));
+
+        if (nanos > slowThreshold.toNanos()) {
+            log.warn("SLOW EXECUTION - Time taken to execute {}.{}(): {} ms",
+                    className, methodName, TimeUnit.NANOSECONDS.toMillis(nanos));
         }
     }
 }
@@ -0,0 +1,67 @@
+package com.crewmeister.currencybackend.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Date-aware expiry policy for cached exchange rates.
+ * <p>
+ * Reference rates of past days never change once published, so their entries never expire
+ * and only leave the cache through size-based eviction. Entries for today or later can still
+ * change until the day's fixing is published and expire after a short TTL.
+ *
+ * @author hiulusoy
+ */
+public class RateCacheExpiry implements Expiry<Object, Object> {
+
+    /**
+     * Time to live of entries for today or later, in nanoseconds
+     */
+    private final long currentDayTtlNanos;
+
+    /**
+     * Clock that defines the current day
+     */
+    private final Clock clock;
+
+    /**
+     * Creates the expiry policy.
+     *
+     * @param currentDayTtl Time to live of entries for today or later
+     * @param clock         Clock that defines the current day
+     */
+    public RateCacheExpiry(Duration currentDayTtl, Clock clock) {
+        this.currentDayTtlNanos = currentDayTtl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return ttlFor(key);
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return ttlFor(key);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Returns the time to live for a key: unbounded for past days, short for today or later.
+     */
+    private long ttlFor(Object key) {
+        if (key instanceof RateCacheKey && ((RateCacheKey) key).getDate().isBefore(LocalDate.now(clock))) {
+            return Long.MAX_VALUE;
+        }
+        return currentDayTtlNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.crewmeister.currencybackend.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Cache key for a single exchange rate.
+ * <p>
+ * Keeps the rate date typed, so cache expiry can tell historic entries from today's.
+ *
+ * @author hiulusoy
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class RateCacheKey {
+
+    /**
+     * Currency code of the rate
+     */
+    String currencyCode;
+
+    /**
+     * Date of the rate
+     */
+    LocalDate date;
+}
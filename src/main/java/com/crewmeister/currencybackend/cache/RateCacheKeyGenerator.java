@@ -0,0 +1,34 @@
+package com.crewmeister.currencybackend.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+
+/**
+ * Key generator for methods taking a currency code and a date as their first two parameters.
+ *
+ * @author hiulusoy
+ */
+@Component(RateCacheKeyGenerator.BEAN_NAME)
+public class RateCacheKeyGenerator implements KeyGenerator {
+
+    /**
+     * Bean name referenced by @Cacheable(keyGenerator = ...)
+     */
+    public static final String BEAN_NAME = "rateCacheKeyGenerator";
+
+    /**
+     * Builds a RateCacheKey from the currency code and date parameters.
+     *
+     * @param target Target instance
+     * @param method Invoked method
+     * @param params Method parameters, starting with currency code and date
+     * @return RateCacheKey for the parameters
+     */
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return RateCacheKey.of((String) params[0], (LocalDate) params[1]);
+    }
+}
@@ -0,0 +1,34 @@
+package com.crewmeister.currencybackend.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Key for the rates of a currency within a date range.
+ * <p>
+ * Identifies negatively cached upstream requests and in-flight fetches that concurrent callers share.
+ * A multiplexed fetch of several currencies is keyed by their codes joined with '+'.
+ *
+ * @author hiulusoy
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class RateRangeKey {
+
+    /**
+     * Currency code of the rates, or the joined codes of a multiplexed fetch
+     */
+    String currencyCode;
+
+    /**
+     * Start date of the range
+     */
+    LocalDate startDate;
+
+    /**
+     * End date of the range
+     */
+    LocalDate endDate;
+}
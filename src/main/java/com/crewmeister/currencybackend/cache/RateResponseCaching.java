@@ -0,0 +1,142 @@
+package com.crewmeister.currencybackend.cache;
+
+import com.crewmeister.currencybackend.service.impl.RateMatrix;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * HTTP validators and freshness headers for exchange rate responses.
+ * <p>
+ * The ETag of a response is derived from the request alone, so it can be computed and matched
+ * against If-None-Match before the service layer is called. Rates of past dates never change, so
+ * their responses may be cached for a long time and their ETags are the same on every instance
+ * and across restarts. Responses that include today's date are only cached briefly, since the
+ * day's rates may not be published yet, and their ETags also cover the version of the rate matrix.
+ * Responses are negotiated between JSON and binary formats, so the ETag also covers the Accept
+ * header and the responses vary by it. The ETags are weak, since the same representation is
+ * sent gzip-compressed or as identity depending on Accept-Encoding.
+ * <p>
+ * Key Features:
+ * - Weak ETags without rendering the response body
+ * - 304 Not Modified answered without calling the service layer
+ * - Long-lived, immutable Cache-Control for historic dates and a short one for today
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+public class RateResponseCaching {
+
+    /**
+     * Cache-Control directive telling clients not to revalidate while the response is fresh
+     */
+    private static final String IMMUTABLE = "immutable";
+
+    /**
+     * How long responses for past dates may be cached
+     */
+    @Value("${exchange-rates.http-cache.historic-max-age:365d}")
+    private Duration historicMaxAge;
+
+    /**
+     * How long responses including today may be cached
+     */
+    @Value("${exchange-rates.http-cache.current-max-age:60s}")
+    private Duration currentMaxAge;
+
+    /**
+     * Rate matrix whose version changes with every write to the rate store, covered by ETags including today
+     */
+    private final RateMatrix rateMatrix;
+
+    /**
+     * Answers a GET request with 304 Not Modified if the client holds the current representation,
+     * otherwise with the body and its validators.
+     *
+     * @param webRequest Current request, carrying If-None-Match
+     * @param latestDate Latest date covered by the response, deciding how long it may be cached
+     * @param body       Supplier of the body, only called if the client's copy is stale
+     * @param keyParts   Request parts identifying the representation
+     * @param <T>        Type of the body
+     * @return 304 without a body, or 200 with the body
+     */
+    public <T> ResponseEntity<T> respond(WebRequest webRequest, LocalDate latestDate, Supplier<T> body,
+                                         Object... keyParts) {
+        String etag = etag(webRequest.getHeader(HttpHeaders.ACCEPT), latestDate, keyParts);
+        String cacheControl = cacheControl(latestDate);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+
+    /**
+     * Builds the weak ETag of a representation from the request parts.
+     * <p>
+     * Representations of past dates never change, so their ETag depends on the request only.
+     * The version of the rate matrix is local to an instance and changes with every write, so
+     * it is only added for representations that include today, whose rates may still arrive.
+     *
+     * @param accept     Accept header of the request, deciding the response format
+     * @param latestDate Latest date covered by the representation
+     * @param keyParts   Request parts identifying the representation
+     * @return Weak, quoted ETag
+     */
+    public String etag(String accept, LocalDate latestDate, Object... keyParts) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(String.valueOf(accept));
+        for (Object part : keyParts) {
+            key.add(String.valueOf(part));
+        }
+        if (!isHistoric(latestDate)) {
+            key.add(Long.toString(rateMatrix.getVersion()));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Builds the Cache-Control header for a response covering dates up to the given one.
+     *
+     * @param latestDate Latest date covered by the response
+     * @return Cache-Control header value
+     */
+    public String cacheControl(LocalDate latestDate) {
+        if (isHistoric(latestDate)) {
+            return CacheControl.maxAge(historicMaxAge).cachePublic().getHeaderValue() + ", " + IMMUTABLE;
+        }
+        return CacheControl.maxAge(currentMaxAge).cachePublic().getHeaderValue();
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Checks whether a representation only covers past dates.
+     *
+     * @param latestDate Latest date covered by the representation
+     * @return true if the date is before today
+     */
+    private boolean isHistoric(LocalDate latestDate) {
+        return latestDate.isBefore(LocalDate.now());
+    }
+}
@@ -0,0 +1,59 @@
+package com.crewmeister.currencybackend.cache;
+
+import com.crewmeister.currencybackend.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Negative cache of currency and date range requests Bundesbank had no rates for.
+ * <p>
+ * Unsupported currency codes and ranges before the start of a series come back as 404 or as
+ * an empty series. Remembering them for a short time keeps retrying clients from spending
+ * rate limiter permits on requests that are known to return nothing. The entries live in the
+ * upstreamMisses cache, so its hit count is exported as the number of saved upstream requests.
+ *
+ * @author hiulusoy
+ */
+@Component
+public class UpstreamMissCache {
+
+    /**
+     * Backing cache of the misses
+     */
+    private final Cache cache;
+
+    /**
+     * Creates the negative cache on top of the upstreamMisses cache.
+     *
+     * @param cacheManager Cache manager holding the upstreamMisses cache
+     */
+    public UpstreamMissCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.UPSTREAM_MISSES_CACHE);
+    }
+
+    /**
+     * Checks whether Bundesbank recently had no rates for a currency in a date range.
+     *
+     * @param currencyCode Currency code to check
+     * @param startDate    Start date of the range
+     * @param endDate      End date of the range
+     * @return true if the same request recently returned no rates
+     */
+    public boolean isKnownMiss(String currencyCode, LocalDate startDate, LocalDate endDate) {
+        return cache.get(RateRangeKey.of(currencyCode, startDate, endDate)) != null;
+    }
+
+    /**
+     * Records that Bundesbank had no rates for a currency in a date range.
+     *
+     * @param currencyCode Currency code that was requested
+     * @param startDate    Start date of the range
+     * @param endDate      End date of the range
+     */
+    public void recordMiss(String currencyCode, LocalDate startDate, LocalDate endDate) {
+        cache.put(RateRangeKey.of(currencyCode, startDate, endDate), Boolean.TRUE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.crewmeister.currencybackend.client;
 
+import feign.Response;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
  * Key Features:
  * - Retrieve all or specific exchange rate data
  * - Filter exchange rates by date range
+ * - Stream large date ranges without buffering the response
  * - Fetch dataflow metadata
  * <p>
  * Configured with base URL from application properties
@@ -78,6 +80,26 @@ public interface BundesbankClient {
     @GetMapping(value = "/data/{flowRef}/{key}", produces = MediaType.APPLICATION_JSON_VALUE)
     String getDataForDateRange(@PathVariable("flowRef") String flowRef, @PathVariable("key") String key, @RequestParam(value = "format", defaultValue = "json") String format, @RequestParam(value = "lang", defaultValue = "en") String lang, @RequestParam(value = "startPeriod") String startPeriod, @RequestParam(value = "endPeriod") String endPeriod);
 
+    /**
+     * Streams exchange rate data for a specific currency key within a date range.
+     * <p>
+     * Same request as getDataForDateRange, but the raw response is returned so the body can be
+     * decoded while it is read. Feign does not apply the error decoder to raw responses, so the
+     * caller checks the status and must close the response. For the same reason the resilience
+     * annotations would only ever see successful calls: the caller applies the bundesbank retry,
+     * circuit breaker and rate limiter around the call and its status check instead.
+     *
+     * @param flowRef     Dataflow reference (typically 'BBEX3' for exchange rates)
+     * @param key         Specific currency key (e.g., 'D.USD+GBP.EUR.BB.AC.000')
+     * @param format      Response format, defaulting to JSON
+     * @param lang        Language for descriptions, defaulting to English
+     * @param startPeriod Start date for filtering (yyyy-MM-dd format)
+     * @param endPeriod   End date for filtering (yyyy-MM-dd format)
+     * @return Raw response whose body contains the SDMX-JSON data
+     */
+    @GetMapping(value = "/data/{flowRef}/{key}", produces = MediaType.APPLICATION_JSON_VALUE)
+    Response streamDataForDateRange(@PathVariable("flowRef") String flowRef, @PathVariable("key") String key, @RequestParam(value = "format", defaultValue = "json") String format, @RequestParam(value = "lang", defaultValue = "en") String lang, @RequestParam(value = "startPeriod") String startPeriod, @RequestParam(value = "endPeriod") String endPeriod);
+
     /**
      * Retrieves metadata for a specific dataflow.
      * <p>
@@ -0,0 +1,217 @@
+package com.crewmeister.currencybackend.client;
+
+import com.crewmeister.currencybackend.service.impl.CurrencyCatalog;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.retry.event.RetryOnRetryEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters describing the calls made to the Bundesbank API.
+ * <p>
+ * Splits the time spent on a Bundesbank fetch into its parts, so upstream latency can be told
+ * apart from local waiting and parsing:
+ * - bundesbank.request.duration: time until the response of one attempt is received, without rate
+ * limiter waits and retry backoff, per requested currency, client and outcome (success, no_data, error)
+ * - bundesbank.ratelimiter.wait: time waited for a rate limiter permit, per outcome
+ * - bundesbank.retries: retried attempts, per exception type
+ * - bundesbank.response.size: response body bytes, per client
+ * - bundesbank.parse.duration: time spent reading and decoding a response body, per client
+ * - bundesbank.response.observations: decoded rates per requested currency and call
+ * - bundesbank.parse.skipped: observations skipped while parsing, per reason
+ * <p>
+ * Rate limiter waits are measured around the permit acquisition of the blocking client, so they
+ * are recorded for that client only. Currency tags only hold codes known to the CurrencyCatalog;
+ * requested codes it does not know are tagged "other", so clients cannot create new series.
+ *
+ * @author hiulusoy
+ */
+@Component
+public class BundesbankMetrics {
+
+    /**
+     * Client tag of calls made through the Feign client
+     */
+    public static final String CLIENT_FEIGN = "feign";
+
+    /**
+     * Client tag of calls made through the WebClient
+     */
+    public static final String CLIENT_WEBCLIENT = "webclient";
+
+    /**
+     * Outcome of calls answered with rates
+     */
+    public static final String OUTCOME_SUCCESS = "success";
+
+    /**
+     * Outcome of calls answered with 404 or without a body
+     */
+    public static final String OUTCOME_NO_DATA = "no_data";
+
+    /**
+     * Outcome of calls that failed or were answered with an error status
+     */
+    public static final String OUTCOME_ERROR = "error";
+
+    /**
+     * Outcome of a rate limiter wait that ended with a permit
+     */
+    public static final String PERMIT_PERMITTED = "permitted";
+
+    /**
+     * Outcome of a rate limiter wait that timed out
+     */
+    public static final String PERMIT_REJECTED = "rejected";
+
+    /**
+     * Skip reason of observations published without a value: null, NaN, n/a or empty
+     */
+    public static final String SKIPPED_MISSING_VALUE = "missing_value";
+
+    /**
+     * Skip reason of observation values that are not numbers
+     */
+    public static final String SKIPPED_NON_NUMERIC = "non_numeric";
+
+    /**
+     * Skip reason of observations that could not be read at all
+     */
+    public static final String SKIPPED_INVALID_OBSERVATION = "invalid_observation";
+
+    /**
+     * Name of the resilience instances guarding the Bundesbank API
+     */
+    private static final String RESILIENCE_INSTANCE = "bundesbank";
+
+    /**
+     * Registry the meters are registered with
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Catalog deciding which currency codes are tagged as they are
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * Creates the meters and subscribes to the retry events of the bundesbank retry.
+     *
+     * @param meterRegistry   Registry the meters are registered with
+     * @param retryRegistry   Registry holding the bundesbank retry
+     * @param currencyCatalog Catalog deciding which currency codes are tagged as they are
+     */
+    public BundesbankMetrics(MeterRegistry meterRegistry, RetryRegistry retryRegistry, CurrencyCatalog currencyCatalog) {
+        this.meterRegistry = meterRegistry;
+        this.currencyCatalog = currencyCatalog;
+        retryRegistry.retry(RESILIENCE_INSTANCE).getEventPublisher()
+                .onRetry(this::onRetry);
+    }
+
+    /**
+     * Counts an observation skipped while parsing a response.
+     * <p>
+     * Parsing utilities are static, so they count into the global registry, which Spring Boot
+     * binds to the application's registry.
+     *
+     * @param reason Reason the observation was skipped
+     */
+    public static void countSkippedObservation(String reason) {
+        Metrics.counter("bundesbank.parse.skipped", "reason", reason).increment();
+    }
+
+    /**
+     * Records the time waited for a rate limiter permit.
+     *
+     * @param outcome   Outcome of the wait: PERMIT_PERMITTED or PERMIT_REJECTED
+     * @param waitNanos Time waited
+     */
+    public void recordPermitWait(String outcome, long waitNanos) {
+        Timer.builder("bundesbank.ratelimiter.wait")
+                .description("Time waited for a Bundesbank rate limiter permit")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the duration of one call attempt for every requested currency.
+     *
+     * @param client        Client tag
+     * @param currencyCodes Currencies requested with the call
+     * @param outcome       Outcome of the attempt
+     * @param durationNanos Time until the response of the attempt was received
+     */
+    public void recordCall(String client, Collection<String> currencyCodes, String outcome, long durationNanos) {
+        for (String currencyCode : currencyCodes) {
+            Timer.builder("bundesbank.request.duration")
+                    .description("Time until the response of a Bundesbank call attempt is received")
+                    .tag("client", client)
+                    .tag("currency", currencyCatalog.meterTag(currencyCode))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the size of a response body and the time spent decoding it.
+     *
+     * @param client      Client tag
+     * @param bytes       Response body bytes
+     * @param decodeNanos Time spent reading and decoding the body
+     */
+    public void recordResponse(String client, long bytes, long decodeNanos) {
+        DistributionSummary.builder("bundesbank.response.size")
+                .description("Bundesbank response body size")
+                .baseUnit("bytes")
+                .tag("client", client)
+                .register(meterRegistry)
+                .record(bytes);
+        Timer.builder("bundesbank.parse.duration")
+                .description("Time spent reading and decoding a Bundesbank response body")
+                .tag("client", client)
+                .register(meterRegistry)
+                .record(decodeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the number of decoded rates of every requested currency, 0 for currencies without rates.
+     *
+     * @param client        Client tag
+     * @param currencyCodes Currencies requested with the call
+     * @param observations  Number of decoded rates by currency
+     */
+    public void recordObservations(String client, Collection<String> currencyCodes, Map<String, Integer> observations) {
+        for (String currencyCode : currencyCodes) {
+            DistributionSummary.builder("bundesbank.response.observations")
+                    .description("Rates decoded per requested currency and Bundesbank call")
+                    .tag("client", client)
+                    .tag("currency", currencyCatalog.meterTag(currencyCode))
+                    .register(meterRegistry)
+                    .record(observations.getOrDefault(currencyCode, 0));
+        }
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Counts a retried attempt.
+     */
+    private void onRetry(RetryOnRetryEvent event) {
+        Throwable error = event.getLastThrowable();
+        Counter.builder("bundesbank.retries")
+                .description("Retried Bundesbank call attempts")
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
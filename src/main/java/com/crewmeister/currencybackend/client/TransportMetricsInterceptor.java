@@ -0,0 +1,114 @@
+package com.crewmeister.currencybackend.client;
+
+import com.crewmeister.currencybackend.utils.CountingInputStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Response interceptor exporting connection reuse and received bytes of an HTTP client.
+ * <p>
+ * Registered ahead of the client's content decoding, so the counted bytes are the bytes
+ * received on the wire, before gzip responses are decompressed.
+ * <p>
+ * Key Features:
+ * - Counts responses received on new and on reused (keep-alive) connections
+ * - Counts response body bytes as they are read, without buffering the body
+ *
+ * @author hiulusoy
+ */
+public class TransportMetricsInterceptor implements HttpResponseInterceptor {
+
+    /**
+     * Responses received on a connection opened for the request
+     */
+    private final Counter newConnections;
+
+    /**
+     * Responses received on a pooled connection that had served earlier requests
+     */
+    private final Counter reusedConnections;
+
+    /**
+     * Response body bytes received on the wire
+     */
+    private final Counter receivedBytes;
+
+    /**
+     * Creates the interceptor and registers its meters.
+     *
+     * @param meterRegistry Registry the meters are registered with
+     * @param clientName    Name of the client, used as the client tag
+     */
+    public TransportMetricsInterceptor(MeterRegistry meterRegistry, String clientName) {
+        this.newConnections = Counter.builder("http.client.connection.requests")
+                .description("Responses by whether their connection was new or reused")
+                .tag("client", clientName)
+                .tag("connection", "new")
+                .register(meterRegistry);
+        this.reusedConnections = Counter.builder("http.client.connection.requests")
+                .description("Responses by whether their connection was new or reused")
+                .tag("client", clientName)
+                .tag("connection", "reused")
+                .register(meterRegistry);
+        this.receivedBytes = Counter.builder("http.client.received.bytes")
+                .description("Response body bytes received, before decompression")
+                .baseUnit("bytes")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        HttpConnection connection = HttpCoreContext.adapt(context).getConnection();
+        if (connection != null) {
+            // The request count already includes the request of this response
+            if (connection.getMetrics().getRequestCount() > 1) {
+                reusedConnections.increment();
+            } else {
+                newConnections.increment();
+            }
+        }
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new CountingEntity(entity, receivedBytes));
+        }
+    }
+
+    /**
+     * Entity counting the bytes read from its content.
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final Counter counter;
+
+        private CountingEntity(HttpEntity wrappedEntity, Counter counter) {
+            super(wrappedEntity);
+            this.counter = counter;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new CountingInputStream(super.getContent(), counter::increment);
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try (InputStream in = getContent()) {
+                StreamUtils.copy(in, outStream);
+            }
+        }
+    }
+}
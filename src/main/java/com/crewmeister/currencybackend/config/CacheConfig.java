@@ -0,0 +1,89 @@
+package com.crewmeister.currencybackend.config;
+
+import com.crewmeister.currencybackend.cache.RateCacheExpiry;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Configuration class for the application caches.
+ * <p>
+ * This configuration:
+ * - Enables Spring's annotation-driven caching
+ * - Defines the exchange rate cache as a Caffeine cache bounded by an estimated entry weight
+ * - Applies the date-aware RateCacheExpiry, so historic rates stay cached until evicted
+ * - Defines the short-lived negative cache of requests Bundesbank had no rates for
+ * - Records statistics; Spring Boot binds hit, miss, eviction and size metrics of every
+ *   cache of the CacheManager to the Prometheus registry under cache.*
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Name of the cache for single exchange rates
+     */
+    public static final String EXCHANGE_RATES_CACHE = "exchangeRates";
+
+    /**
+     * Name of the negative cache for requests Bundesbank had no rates for
+     */
+    public static final String UPSTREAM_MISSES_CACHE = "upstreamMisses";
+
+    /**
+     * Estimated weight of a cached rate without its currency name, in bytes
+     */
+    private static final int BASE_ENTRY_WEIGHT = 256;
+
+    /**
+     * Creates the cache manager holding the exchange rate cache and the negative cache.
+     *
+     * @param maximumWeight      Maximum total estimated weight of the cached rates, in bytes
+     * @param currentDayTtl      Time to live of entries for today or later
+     * @param missesMaximumSize  Maximum number of entries of the negative cache
+     * @param missesTtl          Time to live of entries of the negative cache
+     * @return a CacheManager with the exchange rate cache and the negative cache
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${exchange-rates.cache.maximum-weight:16000000}") long maximumWeight,
+                                     @Value("${exchange-rates.cache.current-day-ttl:5m}") Duration currentDayTtl,
+                                     @Value("${exchange-rates.cache.misses.maximum-size:10000}") long missesMaximumSize,
+                                     @Value("${exchange-rates.cache.misses.ttl:10m}") Duration missesTtl) {
+        CaffeineCache exchangeRatesCache = new CaffeineCache(EXCHANGE_RATES_CACHE, Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(CacheConfig::weigh)
+                .expireAfter(new RateCacheExpiry(currentDayTtl, Clock.systemDefaultZone()))
+                .recordStats()
+                .build());
+
+        CaffeineCache upstreamMissesCache = new CaffeineCache(UPSTREAM_MISSES_CACHE, Caffeine.newBuilder()
+                .maximumSize(missesMaximumSize)
+                .expireAfterWrite(missesTtl)
+                .recordStats()
+                .build());
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.asList(exchangeRatesCache, upstreamMissesCache));
+        return cacheManager;
+    }
+
+    /**
+     * Estimates the weight of a cache entry in bytes.
+     */
+    private static int weigh(Object key, Object value) {
+        if (value instanceof ExchangeRateDto && ((ExchangeRateDto) value).getCurrencyName() != null) {
+            return BASE_ENTRY_WEIGHT + 2 * ((ExchangeRateDto) value).getCurrencyName().length();
+        }
+        return BASE_ENTRY_WEIGHT;
+    }
+}
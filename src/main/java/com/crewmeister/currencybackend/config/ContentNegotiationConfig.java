@@ -0,0 +1,50 @@
+package com.crewmeister.currencybackend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class for the response formats and compression of the API.
+ * <p>
+ * Besides JSON, every endpoint can answer in CBOR (Accept: application/cbor) or Smile
+ * (Accept: application/x-jackson-smile). Both are binary encodings of the same document, so
+ * high-volume consumers skip text parsing of numbers and dates without a separate schema.
+ * Text responses are gzip-compressed by the server, see server.compression; the rate endpoints
+ * send weak ETags, which Tomcat compresses by default.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Creates the CBOR message converter.
+     * <p>
+     * The mapper is built from the application's Jackson builder, so dates, null handling and
+     * modules match the JSON responses.
+     *
+     * @param builder the application's Jackson builder
+     * @return a MappingJackson2CborHttpMessageConverter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile message converter.
+     * <p>
+     * The mapper is built from the application's Jackson builder, so dates, null handling and
+     * modules match the JSON responses.
+     *
+     * @param builder the application's Jackson builder
+     * @return a MappingJackson2SmileHttpMessageConverter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
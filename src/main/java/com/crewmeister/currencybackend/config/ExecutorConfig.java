@@ -0,0 +1,91 @@
+package com.crewmeister.currencybackend.config;
+
+import com.crewmeister.currencybackend.cache.RateRangeKey;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.utils.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the executors used to fan out upstream calls.
+ * <p>
+ * The rate fetch executor runs per-currency Bundesbank fetches concurrently, so that
+ * multi-currency requests take as long as the slowest single call instead of the sum.
+ * Concurrent fetches of the same currency and range are coalesced into one call.
+ * With exchange-rates.virtual-threads.enabled, fetches run on virtual threads instead of a pool.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Creates the bounded executor for concurrent exchange rate fetches.
+     * <p>
+     * This configuration:
+     * - Uses a fixed number of threads, so at most pool-size upstream calls compete for
+     *   the bundesbank rate limiter at the same time
+     * - Queues up to queue-capacity tasks and runs further tasks on the calling thread
+     * - Exports pool size, active threads, queue size and task timings to Micrometer
+     *   under the name exchange.rates.fetch
+     * - In virtual thread mode, runs every fetch on its own virtual thread; the pool size and
+     *   queue capacity then do not apply, and the connection pool and the bundesbank rate
+     *   limiter bound the upstream concurrency
+     *
+     * @param meterRegistry  registry the executor metrics are bound to
+     * @param poolSize       number of fetch threads
+     * @param queueCapacity  maximum number of queued fetches
+     * @param virtualThreads whether fetches run on virtual threads
+     * @return an instrumented ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService rateFetchExecutor(MeterRegistry meterRegistry,
+                                             @Value("${exchange-rates.fetch.pool-size:8}") int poolSize,
+                                             @Value("${exchange-rates.fetch.queue-capacity:100}") int queueCapacity,
+                                             @Value("${exchange-rates.virtual-threads.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return ExecutorServiceMetrics.monitor(meterRegistry,
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rate-fetch-", 0).factory()),
+                    "exchange.rates.fetch");
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("rate-fetch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "exchange.rates.fetch");
+    }
+
+    /**
+     * Creates the single flight group for rate fetches of a currency and date range.
+     * <p>
+     * Callers asking for a range that is already being fetched wait for that fetch instead of
+     * queueing another upstream call behind the rate limiter. Calls that joined a fetch in flight
+     * are counted as exchange.rates.fetch.coalesced.
+     *
+     * @param meterRegistry registry the coalesced call counter is registered with
+     * @return a SingleFlight keyed by currency and date range
+     */
+    @Bean
+    public SingleFlight<RateRangeKey, List<ExchangeRateDto>> rateFetchSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(Counter.builder("exchange.rates.fetch.coalesced")
+                .description("Rate fetches that joined an identical fetch already in flight")
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,170 @@
+package com.crewmeister.currencybackend.config;
+
+import com.crewmeister.currencybackend.client.TransportMetricsInterceptor;
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the HTTP transport of the Bundesbank Feign client.
+ * <p>
+ * Replaces Feign's default HttpURLConnection client with a pooled Apache HttpClient, so that
+ * fetches reuse kept-alive TLS connections instead of paying a handshake each time. The client
+ * sends Accept-Encoding: gzip and decompresses transparently, which also covers the raw
+ * responses the rate fetcher streams. Connect and read timeouts are Feign request options
+ * (feign.client.config.bundesbank), which the Apache client applies per request.
+ * The non-blocking rate fetcher gets its own WebClient on a Reactor Netty pool with the same
+ * limits and timeouts.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Name of the client in the exported metrics
+     */
+    private static final String CLIENT_NAME = "bundesbank";
+
+    /**
+     * Creates the connection pool of the Bundesbank client.
+     * <p>
+     * This configuration:
+     * - Holds at most max-connections connections, max-connections-per-route of them to one host
+     * - Closes connections after time-to-live, so DNS changes are picked up
+     * - Validates connections idle for longer than validate-after-inactivity before reusing them
+     * - Exports pool size, leased, available and pending connections to Micrometer under the
+     *   name httpcomponents.httpclient.pool, tagged httpclient=bundesbank
+     *
+     * @param meterRegistry          registry the pool metrics are bound to
+     * @param maxConnections         maximum number of pooled connections
+     * @param maxConnectionsPerRoute maximum number of pooled connections per host
+     * @param timeToLive             maximum lifetime of a connection
+     * @param validateAfterInactivity idle time after which a connection is validated before reuse
+     * @return an instrumented PoolingHttpClientConnectionManager
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager bundesbankConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${bundesbank.http.max-connections:20}") int maxConnections,
+            @Value("${bundesbank.http.max-connections-per-route:10}") int maxConnectionsPerRoute,
+            @Value("${bundesbank.http.time-to-live:5m}") Duration timeToLive,
+            @Value("${bundesbank.http.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * Creates the pooled HTTP client of the Bundesbank client.
+     * <p>
+     * This configuration:
+     * - Keeps connections alive for as long as the server allows, at most keep-alive
+     * - Closes connections idle for longer than max-idle-time from a background thread
+     * - Waits at most connection-request-timeout for a connection from the pool
+     * - Counts new and reused connections and received bytes, see TransportMetricsInterceptor
+     *
+     * @param connectionManager        pool the client leases its connections from
+     * @param meterRegistry            registry the transport metrics are registered with
+     * @param keepAlive                maximum time an idle connection is kept alive
+     * @param maxIdleTime              idle time after which pooled connections are closed
+     * @param connectionRequestTimeout maximum wait for a pooled connection
+     * @return a CloseableHttpClient with gzip support
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient bundesbankHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            MeterRegistry meterRegistry,
+            @Value("${bundesbank.http.keep-alive:60s}") Duration keepAlive,
+            @Value("${bundesbank.http.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${bundesbank.http.connection-request-timeout:5s}") Duration connectionRequestTimeout) {
+        long maxKeepAlive = keepAlive.toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAlive) : maxKeepAlive;
+                })
+                .evictIdleConnections(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                .evictExpiredConnections()
+                // Runs before content decoding, so the wire bytes are counted
+                .addInterceptorFirst(new TransportMetricsInterceptor(meterRegistry, CLIENT_NAME))
+                .build();
+    }
+
+    /**
+     * Creates the Feign client on top of the pooled HTTP client.
+     *
+     * @param bundesbankHttpClient pooled HTTP client
+     * @return a Feign Client used by all Feign clients of the application
+     */
+    @Bean
+    public Client feignClient(CloseableHttpClient bundesbankHttpClient) {
+        return new ApacheHttpClient(bundesbankHttpClient);
+    }
+
+    /**
+     * Creates the non-blocking WebClient for the Bundesbank API.
+     * <p>
+     * This configuration:
+     * - Pools at most max-connections keep-alive connections and closes them after max-idle-time
+     * - Negotiates gzip and decompresses responses
+     * - Applies the connect and read timeouts of the Feign client
+     * - Exports pool metrics to Micrometer under the name reactor.netty.connection.provider,
+     *   tagged name=bundesbank
+     *
+     * @param builder        the application's WebClient builder
+     * @param baseUrl        base URL of the Bundesbank API
+     * @param maxConnections maximum number of pooled connections
+     * @param maxIdleTime    idle time after which pooled connections are closed
+     * @param connectTimeout connect timeout in milliseconds
+     * @param readTimeout    response timeout in milliseconds
+     * @return a WebClient bound to the Bundesbank API
+     */
+    @Bean
+    public WebClient bundesbankWebClient(
+            WebClient.Builder builder,
+            @Value("${bundesbank.api.url}") String baseUrl,
+            @Value("${bundesbank.http.max-connections:20}") int maxConnections,
+            @Value("${bundesbank.http.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${feign.client.config.bundesbank.connect-timeout:5000}") int connectTimeout,
+            @Value("${feign.client.config.bundesbank.read-timeout:60000}") long readTimeout) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(CLIENT_NAME)
+                .maxConnections(maxConnections)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+
+        return builder.baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
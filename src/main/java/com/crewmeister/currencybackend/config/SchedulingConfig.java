@@ -0,0 +1,14 @@
+package com.crewmeister.currencybackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration that enables Spring's scheduled task execution.
+ * <p>
+ * Used by the scheduled exchange rate ingestion.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
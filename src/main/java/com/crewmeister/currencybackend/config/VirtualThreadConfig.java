@@ -0,0 +1,38 @@
+package com.crewmeister.currencybackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class for running servlet requests on virtual threads.
+ * <p>
+ * Request threads spend most of their time parked on Bundesbank calls or on the bundesbank
+ * rate limiter. With exchange-rates.virtual-threads.enabled, Tomcat runs every request on its own
+ * virtual thread instead of a bounded platform thread pool, so parked requests no longer hold
+ * up others. The rate fetch executor switches to virtual threads with the same flag, see
+ * ExecutorConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "exchange-rates.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Replaces Tomcat's worker pool with a virtual thread per request.
+     * <p>
+     * This configuration:
+     * - Names request threads http-vt-N for thread dumps and logs
+     * - Leaves concurrency to the connection limit (server.tomcat.max-connections), since
+     *   server.tomcat.threads.max no longer applies
+     *
+     * @return a customizer of the Tomcat protocol handler
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+}
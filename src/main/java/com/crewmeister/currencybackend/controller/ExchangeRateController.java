@@ -1,10 +1,14 @@
 package com.crewmeister.currencybackend.controller;
 
 import com.crewmeister.currencybackend.annotation.ExecutionTime;
+import com.crewmeister.currencybackend.cache.RateResponseCaching;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.BatchConversionRequestDto;
 import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
+import com.crewmeister.currencybackend.dto.request.RateLookupMode;
 import com.crewmeister.currencybackend.dto.request.RatesByDateRequestDto;
 import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.dto.response.ExchangeRatePageDto;
 import com.crewmeister.currencybackend.service.ExchangeRateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.math.BigDecimal;
@@ -29,8 +34,11 @@ import java.util.List;
  * <p>
  * Provides comprehensive endpoints for:
  * - Retrieving exchange rates
- * - Fetching rates by date and currency
- * - Currency conversion to EUR
+ * - Fetching rates by date and currency, and paged time series of a currency
+ * - Currency conversion to EUR, individually or in batches
+ * <p>
+ * GET responses carry ETag and Cache-Control headers; a matching If-None-Match is answered
+ * with 304 Not Modified without calling the service layer.
  * <p>
  * Mapped to the base endpoint: /api/v1/exchange-rates
  *
@@ -48,14 +56,20 @@ public class ExchangeRateController {
      */
     private final ExchangeRateService exchangeRateService;
 
+    /**
+     * Validators and freshness headers of GET responses
+     */
+    private final RateResponseCaching rateResponseCaching;
+
     /**
      * Retrieves all current exchange rates.
      * <p>
      * HTTP Method: GET
      * Endpoint: /api/v1/exchange-rates
      *
+     * @param webRequest Current request, used for conditional GET
      * @return ResponseEntity containing a list of all ExchangeRateDto objects
-     * Returns HTTP 200 (OK) with the list of exchange rates
+     * Returns HTTP 200 (OK) with the list of exchange rates, or 304 (Not Modified)
      */
     @ExecutionTime
     @GetMapping
@@ -64,12 +78,13 @@ public class ExchangeRateController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved exchange rates",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ExchangeRateDto.class))),
+            @ApiResponse(responseCode = "304", description = "Exchange rates not modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ExchangeRateDto>> getAllRates() {
+    public ResponseEntity<List<ExchangeRateDto>> getAllRates(WebRequest webRequest) {
         log.info("Request to get all exchange rates");
-        List<ExchangeRateDto> rates = exchangeRateService.getAllRates();
-        return ResponseEntity.ok(rates);
+        LocalDate today = LocalDate.now();
+        return rateResponseCaching.respond(webRequest, today, exchangeRateService::getAllRates, "all", today);
     }
 
     /**
@@ -106,13 +121,18 @@ public class ExchangeRateController {
     /**
      * Retrieves the exchange rate for a specific currency on a given date.
      * <p>
+     * With mode ON_OR_BEFORE, weekends and holidays resolve to the most recent published rate;
+     * the response then carries both the rate date and the requested date.
+     * <p>
      * HTTP Method: GET
-     * Endpoint: /api/v1/exchange-rates/{currencyCode}/date/{date}
+     * Endpoint: /api/v1/exchange-rates/{currencyCode}/date/{date}?mode=
      *
      * @param currencyCode The currency code to retrieve the rate for
      * @param date         The specific date for the exchange rate
+     * @param mode         Lookup mode, EXACT by default
+     * @param webRequest   Current request, used for conditional GET
      * @return ResponseEntity containing the ExchangeRateDto for the specified currency and date
-     * Returns HTTP 200 (OK) with the exchange rate
+     * Returns HTTP 200 (OK) with the exchange rate, or 304 (Not Modified)
      */
     @ExecutionTime
     @GetMapping("/{currencyCode}/date/{date}")
@@ -122,6 +142,7 @@ public class ExchangeRateController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved exchange rate",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ExchangeRateDto.class))),
+            @ApiResponse(responseCode = "304", description = "Exchange rate not modified"),
             @ApiResponse(responseCode = "400", description = "Invalid currency code or date format"),
             @ApiResponse(responseCode = "404", description = "Exchange rate not found for the currency and date"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -130,14 +151,69 @@ public class ExchangeRateController {
             @Parameter(description = "Currency code (e.g., USD, GBP)", required = true)
             @PathVariable String currencyCode,
             @Parameter(description = "Date in ISO format (YYYY-MM-DD)", required = true, example = "2023-04-15")
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        log.info("Request to get exchange rate for currency: {} and date: {}", currencyCode, date);
-        ExchangeRateDto rate = exchangeRateService.getRateByCurrencyAndDate(currencyCode, date);
-        return ResponseEntity.ok(rate);
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Lookup mode: EXACT or ON_OR_BEFORE the date")
+            @RequestParam(defaultValue = "EXACT") RateLookupMode mode,
+            WebRequest webRequest) {
+        log.info("Request to get exchange rate for currency: {} and date: {} ({})", currencyCode, date, mode);
+        return rateResponseCaching.respond(webRequest, date,
+                () -> mode == RateLookupMode.ON_OR_BEFORE
+                        ? exchangeRateService.getRateOnOrBefore(currencyCode, date)
+                        : exchangeRateService.getRateByCurrencyAndDate(currencyCode, date),
+                "rate", currencyCode, date, mode);
+    }
+
+    /**
+     * Retrieves one page of the exchange rates of a currency within a date range.
+     * <p>
+     * Pages are addressed with a cursor: pass the nextCursor of a page to get the following one.
+     * <p>
+     * HTTP Method: GET
+     * Endpoint: /api/v1/exchange-rates/{currencyCode}/range?start=&end=&cursor=&limit=
+     *
+     * @param currencyCode The currency code to retrieve the rates for
+     * @param start        Start date of the range (inclusive)
+     * @param end          End date of the range (inclusive)
+     * @param cursor       Cursor returned with the previous page
+     * @param limit        Maximum number of business days per page
+     * @param webRequest   Current request, used for conditional GET
+     * @return ResponseEntity containing the ExchangeRatePageDto with the rates of the page
+     * Returns HTTP 200 (OK) with the page of exchange rates, or 304 (Not Modified)
+     */
+    @ExecutionTime
+    @GetMapping("/{currencyCode}/range")
+    @Operation(summary = "Get exchange rates of a currency within a date range",
+            description = "Retrieves the time series of a currency page by page, using a cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of exchange rates",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ExchangeRatePageDto.class))),
+            @ApiResponse(responseCode = "304", description = "Page of exchange rates not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid currency code, date range, or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ExchangeRatePageDto> getRatesForRange(
+            @Parameter(description = "Currency code (e.g., USD, GBP)", required = true)
+            @PathVariable String currencyCode,
+            @Parameter(description = "Start date in ISO format (YYYY-MM-DD)", required = true, example = "2023-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @Parameter(description = "End date in ISO format (YYYY-MM-DD)", required = true, example = "2023-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @Parameter(description = "Cursor returned as nextCursor of the previous page")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursor,
+            @Parameter(description = "Maximum number of business days per page", example = "250")
+            @RequestParam(defaultValue = "250") int limit,
+            WebRequest webRequest) {
+        log.info("Request to get exchange rates for currency: {} from {} to {}", currencyCode, start, end);
+        return rateResponseCaching.respond(webRequest, end,
+                () -> exchangeRateService.getRatesForRange(currencyCode, start, end, cursor, limit),
+                "range", currencyCode, start, end, cursor, limit);
     }
 
     /**
-     * Converts an amount from a specified currency to EUR.
+     * Converts an amount from a specified currency to EUR or, if given, to another target currency.
+     * <p>
+     * Conversions between two non-EUR currencies are triangulated via their EUR reference rates.
      * <p>
      * HTTP Method: POST
      * Endpoint: /api/v1/exchange-rates/convert
@@ -148,8 +224,9 @@ public class ExchangeRateController {
      */
     @ExecutionTime
     @PostMapping("/convert")
-    @Operation(summary = "Convert currency to EUR",
-            description = "Converts an amount from specified currency to EUR using the exchange rate for the given date")
+    @Operation(summary = "Convert currency",
+            description = "Converts an amount from specified currency to the target currency (EUR if omitted) "
+                    + "using the exchange rates for the given date")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully converted the amount",
                     content = @Content(mediaType = "application/json",
@@ -158,15 +235,48 @@ public class ExchangeRateController {
             @ApiResponse(responseCode = "404", description = "Exchange rate not found for the currency and date"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ConversionResponseDto> convertToEur(
+    public ResponseEntity<ConversionResponseDto> convert(
             @Parameter(description = "Conversion request details", required = true)
             @RequestBody @Valid ConversionRequestDto request) {
-        log.info("Request to convert {} {} to EUR on date: {}",
-                request.getAmount(), request.getFromCurrency(), request.getDate());
-        ConversionResponseDto result = exchangeRateService.convertToEur(request);
+        log.info("Request to convert {} {} to {} on date: {}",
+                request.getAmount(), request.getFromCurrency(), request.getToCurrency(), request.getDate());
+        ConversionResponseDto result = exchangeRateService.convert(request);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Converts many amounts in one request, each to EUR or its own target currency.
+     * <p>
+     * Each distinct currency and date of the batch is resolved only once. An amount without a
+     * rate for its date carries an error in its result instead of failing the whole batch.
+     * <p>
+     * HTTP Method: POST
+     * Endpoint: /api/v1/exchange-rates/convert/batch
+     *
+     * @param request BatchConversionRequestDto containing the conversions
+     * @return ResponseEntity containing the ConversionResponseDto list in request order
+     * Returns HTTP 200 (OK) with the conversion results
+     */
+    @ExecutionTime
+    @PostMapping("/convert/batch")
+    @Operation(summary = "Convert many amounts",
+            description = "Converts a batch of amounts, resolving each distinct currency and date once. "
+                    + "Amounts without a rate for their date carry an error instead of failing the batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Converted the batch; amounts without a rate carry an error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ConversionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<ConversionResponseDto>> convertBatch(
+            @Parameter(description = "Batch conversion request", required = true)
+            @RequestBody @Valid BatchConversionRequestDto request) {
+        log.info("Request to convert a batch of {} amounts", request.getConversions().size());
+        List<ConversionResponseDto> results = exchangeRateService.convertBatch(request.getConversions());
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Provides a quick conversion endpoint using GET method with path variables.
      * <p>
@@ -178,8 +288,9 @@ public class ExchangeRateController {
      * @param currencyCode The source currency code
      * @param amount       The amount to convert
      * @param date         The date for the conversion rate
+     * @param webRequest   Current request, used for conditional GET
      * @return ResponseEntity containing the ConversionResponseDto with converted amount
-     * Returns HTTP 200 (OK) with the conversion result
+     * Returns HTTP 200 (OK) with the conversion result, or 304 (Not Modified)
      */
     @ExecutionTime
     @GetMapping("/convert/{currencyCode}/{amount}/date/{date}")
@@ -189,6 +300,7 @@ public class ExchangeRateController {
             @ApiResponse(responseCode = "200", description = "Successfully converted the amount",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ConversionResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Conversion result not modified"),
             @ApiResponse(responseCode = "400", description = "Invalid currency code, amount, or date format"),
             @ApiResponse(responseCode = "404", description = "Exchange rate not found for the currency and date"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -199,7 +311,8 @@ public class ExchangeRateController {
             @Parameter(description = "Amount to convert", required = true, example = "100.50")
             @PathVariable BigDecimal amount,
             @Parameter(description = "Date in ISO format (YYYY-MM-DD)", required = true, example = "2023-04-15")
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
 
         log.info("Quick convert request for {} {} on date: {}", amount, currencyCode, date);
 
@@ -209,7 +322,7 @@ public class ExchangeRateController {
                 .date(date)
                 .build();
 
-        ConversionResponseDto result = exchangeRateService.convertToEur(request);
-        return ResponseEntity.ok(result);
+        return rateResponseCaching.respond(webRequest, date, () -> exchangeRateService.convertToEur(request),
+                "convert", currencyCode, amount, date);
     }
 }
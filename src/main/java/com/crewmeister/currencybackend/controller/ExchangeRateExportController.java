@@ -0,0 +1,116 @@
+package com.crewmeister.currencybackend.controller;
+
+import com.crewmeister.currencybackend.dto.request.ExportFormat;
+import com.crewmeister.currencybackend.service.ExchangeRateExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST Controller for bulk exports of the stored exchange rate history.
+ * <p>
+ * The export is streamed: rows are written to the response while they are read from the
+ * database, so the first bytes arrive immediately and memory use does not grow with the
+ * size of the export.
+ * <p>
+ * Mapped to the base endpoint: /api/v1/exchange-rates/export
+ *
+ * @author hiulusoy
+ */
+@RestController
+@RequestMapping("/api/v1/exchange-rates/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Exchange Rate Export", description = "Streaming bulk export of the exchange rate history")
+public class ExchangeRateExportController {
+
+    /**
+     * Buffer size of the gzip compressor
+     */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Base name of the exported file
+     */
+    private static final String FILE_NAME = "exchange-rates";
+
+    /**
+     * Service writing the export
+     */
+    private final ExchangeRateExportService exchangeRateExportService;
+
+    /**
+     * Streams the stored exchange rates as NDJSON or CSV.
+     * <p>
+     * HTTP Method: GET
+     * Endpoint: /api/v1/exchange-rates/export?format=&gzip=&currencyCode=&start=&end=
+     *
+     * @param format       Output format, NDJSON by default
+     * @param gzip         Whether the response is gzip-compressed
+     * @param currencyCode Currency code to export, all currencies if omitted
+     * @param start        Start date of the export (inclusive), the earliest stored rate if omitted
+     * @param end          End date of the export (inclusive), today if omitted
+     * @return ResponseEntity streaming the exported rates
+     * Returns HTTP 200 (OK) with the export as attachment
+     */
+    @GetMapping
+    @Operation(summary = "Export the exchange rate history",
+            description = "Streams the stored exchange rates as NDJSON or CSV, optionally gzip-compressed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export is streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid format or date"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportRates(
+            @Parameter(description = "Output format (NDJSON or CSV)")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Compress the response with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Parameter(description = "Currency code (e.g., USD, GBP)")
+            @RequestParam(required = false) String currencyCode,
+            @Parameter(description = "Start date in ISO format (YYYY-MM-DD)", example = "1999-01-04")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @Parameter(description = "End date in ISO format (YYYY-MM-DD)", example = "2023-12-29")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        log.info("Request to export exchange rates as {} (gzip: {}) for currency: {} from {} to {}",
+                format, gzip, currencyCode, start, end);
+
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                exchangeRateExportService.exportRates(format, currencyCode, start, end, outputStream);
+                return;
+            }
+
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            exchangeRateExportService.exportRates(format, currencyCode, start, end, gzipStream);
+            gzipStream.finish();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(FILE_NAME + "." + format.getFileExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
@@ -0,0 +1,110 @@
+package com.crewmeister.currencybackend.controller;
+
+import com.crewmeister.currencybackend.annotation.ExecutionTime;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
+import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.service.ReactiveExchangeRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+
+/**
+ * REST Controller for non-blocking exchange rate lookups and conversions.
+ * <p>
+ * Handlers return a Mono, so the servlet thread is released as soon as the request is accepted
+ * and the response is written when the rate is resolved. Requests answered from the in-memory
+ * rate matrix complete immediately; requests that need Bundesbank hold no thread while the call
+ * or the rate limiter is pending.
+ * <p>
+ * Mapped to the base endpoint: /api/v2/exchange-rates
+ *
+ * @author hiulusoy
+ */
+@RestController
+@RequestMapping("/api/v2/exchange-rates")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Exchange Rates (non-blocking)", description = "Non-blocking exchange rate lookups and conversions")
+public class ReactiveExchangeRateController {
+
+    /**
+     * Non-blocking service layer for exchange rate lookups
+     */
+    private final ReactiveExchangeRateService reactiveExchangeRateService;
+
+    /**
+     * Retrieves the exchange rate for a specific currency on a given date.
+     * <p>
+     * HTTP Method: GET
+     * Endpoint: /api/v2/exchange-rates/{currencyCode}/date/{date}
+     *
+     * @param currencyCode The currency code to retrieve the rate for
+     * @param date         The specific date for the exchange rate
+     * @return Mono of the ExchangeRateDto for the specified currency and date
+     * Returns HTTP 200 (OK) with the exchange rate
+     */
+    @ExecutionTime
+    @GetMapping("/{currencyCode}/date/{date}")
+    @Operation(summary = "Get exchange rate by currency and date",
+            description = "Retrieves the exchange rate for a specific currency on a given date without blocking")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved exchange rate",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ExchangeRateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid currency code or date format"),
+            @ApiResponse(responseCode = "404", description = "Exchange rate not found for the currency and date"),
+            @ApiResponse(responseCode = "503", description = "Bundesbank API unavailable")
+    })
+    public Mono<ExchangeRateDto> getRateByCurrencyAndDate(
+            @Parameter(description = "Currency code (e.g., USD, GBP)", required = true)
+            @PathVariable String currencyCode,
+            @Parameter(description = "Date in ISO format (YYYY-MM-DD)", required = true, example = "2023-04-15")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Non-blocking request to get exchange rate for currency: {} and date: {}", currencyCode, date);
+        return reactiveExchangeRateService.getRateByCurrencyAndDate(currencyCode, date);
+    }
+
+    /**
+     * Converts an amount from a specified currency to EUR or, if given, to another target currency.
+     * <p>
+     * HTTP Method: POST
+     * Endpoint: /api/v2/exchange-rates/convert
+     *
+     * @param request ConversionRequestDto containing conversion details
+     * @return Mono of the ConversionResponseDto with the converted amount
+     * Returns HTTP 200 (OK) with the conversion result
+     */
+    @ExecutionTime
+    @PostMapping("/convert")
+    @Operation(summary = "Convert currency",
+            description = "Converts an amount from specified currency to the target currency (EUR if omitted) "
+                    + "without blocking")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully converted the amount",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ConversionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+            @ApiResponse(responseCode = "404", description = "Exchange rate not found for the currency and date"),
+            @ApiResponse(responseCode = "503", description = "Bundesbank API unavailable")
+    })
+    public Mono<ConversionResponseDto> convert(
+            @Parameter(description = "Conversion request details", required = true)
+            @RequestBody @Valid ConversionRequestDto request) {
+        log.info("Non-blocking request to convert {} {} to {} on date: {}",
+                request.getAmount(), request.getFromCurrency(), request.getToCurrency(), request.getDate());
+        return reactiveExchangeRateService.convert(request);
+    }
+}
@@ -1,5 +1,6 @@
 package com.crewmeister.currencybackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,13 @@ public class ExchangeRateDto {
     private String currencyName;
     private LocalDate date;
     private BigDecimal rate;
+
+    // Date that was asked for, set by on-or-before lookups where it may differ from the rate date
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate requestedDate;
+
+    // Constructor for JPQL projections of stored rates
+    public ExchangeRateDto(String currencyCode, String currencyName, LocalDate date, BigDecimal rate) {
+        this(currencyCode, currencyName, date, rate, null);
+    }
 }
@@ -0,0 +1,30 @@
+package com.crewmeister.currencybackend.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for converting many amounts to EUR in one call")
+public class BatchConversionRequestDto {
+
+    /**
+     * Maximum number of conversions accepted in one batch
+     */
+    public static final int MAX_ITEMS = 50_000;
+
+    @NotEmpty(message = "Conversions are required")
+    @Size(max = MAX_ITEMS, message = "A batch can contain at most " + MAX_ITEMS + " conversions")
+    @Schema(description = "Conversions to perform; results are returned in the same order", required = true)
+    private List<@Valid ConversionRequestDto> conversions;
+}
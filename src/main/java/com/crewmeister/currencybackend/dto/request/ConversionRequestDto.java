@@ -26,6 +26,9 @@ public class ConversionRequestDto {
     @Schema(description = "Source currency code (ISO-4217)", example = "USD", required = true)
     private String fromCurrency;
 
+    @Schema(description = "Target currency code (ISO-4217), EUR if omitted", example = "GBP")
+    private String toCurrency;
+
     @NotNull(message = "Date is required")
     @Schema(description = "Date for the exchange rate (ISO-8601)", example = "2023-04-15", required = true)
     private LocalDate date;
@@ -0,0 +1,32 @@
+package com.crewmeister.currencybackend.dto.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats of the exchange rate export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV("text/csv", "csv");
+
+    /**
+     * Content type of the exported document
+     */
+    private final String contentType;
+
+    /**
+     * File extension of the exported document
+     */
+    private final String fileExtension;
+}
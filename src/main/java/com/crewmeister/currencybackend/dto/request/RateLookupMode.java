@@ -0,0 +1,17 @@
+package com.crewmeister.currencybackend.dto.request;
+
+/**
+ * How a rate is looked up for a date.
+ */
+public enum RateLookupMode {
+
+    /**
+     * Only the rate published on the requested date
+     */
+    EXACT,
+
+    /**
+     * The most recent rate published on or before the requested date
+     */
+    ON_OR_BEFORE
+}
@@ -1,5 +1,6 @@
 package com.crewmeister.currencybackend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,5 +19,10 @@ public class ConversionResponseDto {
     private BigDecimal convertedAmount;
     private String toCurrency;
     private BigDecimal exchangeRate;
+    private BigDecimal crossRate;
     private LocalDate date;
+
+    // Why the amount could not be converted, set by batch conversions instead of failing the whole batch
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
 }
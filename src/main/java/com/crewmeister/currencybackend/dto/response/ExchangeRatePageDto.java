@@ -0,0 +1,24 @@
+package com.crewmeister.currencybackend.dto.response;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRatePageDto {
+
+    @Schema(description = "Exchange rates of the page in ascending date order")
+    private List<ExchangeRateDto> rates;
+
+    @Schema(description = "Cursor for the next page, absent on the last page", example = "2023-06-30")
+    private LocalDate nextCursor;
+}
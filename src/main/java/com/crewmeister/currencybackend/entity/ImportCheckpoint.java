@@ -0,0 +1,32 @@
+package com.crewmeister.currencybackend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportCheckpoint {
+
+    @Id
+    @Column(name = "currency_code", length = 3)
+    private String currencyCode;
+
+    @Column(name = "last_imported_date", nullable = false)
+    private LocalDate lastImportedDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,11 @@ import java.time.LocalDate;
 public class ExchangeRateNotFoundException extends RuntimeException {
 
     public ExchangeRateNotFoundException(String currencyCode, LocalDate date) {
-        super("Exchange rate not found for currency: " + currencyCode + " and date: " + date);
+        super(message(currencyCode, date));
+    }
+
+    // Message of a missing rate, also reported per item by batch conversions
+    public static String message(String currencyCode, LocalDate date) {
+        return "Exchange rate not found for currency: " + currencyCode + " and date: " + date;
     }
 }
@@ -57,6 +57,18 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ExceptionWrapper> handleIllegalArgumentException(Throwable exception) {
+        log.error(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ExceptionWrapper.builder()
+                        .success(false)
+                        .message("Invalid Input(s): " + exception.getMessage())
+                        .httpStatus(HttpStatus.BAD_REQUEST)
+                        .localDateTime(LocalDateTime.now())
+                        .build());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ExceptionWrapper> handleValidationExceptions(MethodArgumentNotValidException exception) {
         log.error(exception.getMessage());
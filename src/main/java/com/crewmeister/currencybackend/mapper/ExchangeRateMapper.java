@@ -0,0 +1,21 @@
+package com.crewmeister.currencybackend.mapper;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.ExchangeRate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExchangeRateMapper {
+
+    /**
+     * Map ExchangeRate entity to ExchangeRateDto
+     */
+    public ExchangeRateDto mapToDto(ExchangeRate exchangeRate) {
+        return ExchangeRateDto.builder()
+                .currencyCode(exchangeRate.getCurrency().getCode())
+                .currencyName(exchangeRate.getCurrency().getName())
+                .date(exchangeRate.getRateDate())
+                .rate(exchangeRate.getRate())
+                .build();
+    }
+}
@@ -1,15 +1,20 @@
 package com.crewmeister.currencybackend.repository;
 
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
 import com.crewmeister.currencybackend.entity.Currency;
 import com.crewmeister.currencybackend.entity.ExchangeRate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for performing database operations on ExchangeRate entities.
@@ -25,6 +30,11 @@ import java.util.Optional;
 @Repository
 public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
 
+    /**
+     * Number of rows the JDBC driver fetches per round trip while streaming an export
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
     /**
      * Retrieves all exchange rates for a specific date.
      *
@@ -87,6 +97,53 @@ public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long
      */
     List<ExchangeRate> findByCurrencyCodeAndRateDateBetween(String currencyCode, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Finds one page of exchange rates for a specific currency code within a date range.
+     * <p>
+     * Served by the unique (currency_code, rate_date) index. Callers page by moving the start date
+     * past the last returned rate instead of using an offset, so every page is a single index range scan.
+     *
+     * @param currencyCode The currency code (e.g., "USD", "EUR")
+     * @param startDate    The start date of the range (inclusive)
+     * @param endDate      The end date of the range (inclusive)
+     * @param pageable     Page size and sort order of the rates
+     * @return List of at most pageable.getPageSize() ExchangeRate entities within the date range
+     */
+    List<ExchangeRate> findByCurrencyCodeAndRateDateBetween(String currencyCode, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    /**
+     * Streams the exchange rates of all currencies within a date range, ordered by currency and date.
+     * <p>
+     * Rows are read as DTO projections through a cursor with a bounded fetch size, so neither the
+     * result set nor managed entities accumulate in memory. Must be consumed within a transaction.
+     *
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate   The end date of the range (inclusive)
+     * @return Stream of ExchangeRateDto projections; must be closed after use
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.crewmeister.currencybackend.dto.ExchangeRateDto(c.code, c.name, er.rateDate, er.rate) "
+            + "FROM ExchangeRate er JOIN er.currency c "
+            + "WHERE er.rateDate BETWEEN :startDate AND :endDate ORDER BY c.code, er.rateDate")
+    Stream<ExchangeRateDto> streamAllForExport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Streams the exchange rates of one currency within a date range, ordered by date.
+     *
+     * @param currencyCode The currency code (e.g., "USD", "EUR")
+     * @param startDate    The start date of the range (inclusive)
+     * @param endDate      The end date of the range (inclusive)
+     * @return Stream of ExchangeRateDto projections; must be closed after use
+     * @see #streamAllForExport(LocalDate, LocalDate)
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.crewmeister.currencybackend.dto.ExchangeRateDto(c.code, c.name, er.rateDate, er.rate) "
+            + "FROM ExchangeRate er JOIN er.currency c "
+            + "WHERE c.code = :currencyCode AND er.rateDate BETWEEN :startDate AND :endDate ORDER BY er.rateDate")
+    Stream<ExchangeRateDto> streamForExport(@Param("currencyCode") String currencyCode,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
     /**
      * Retrieves the latest exchange rates for all currencies.
      * <p>
@@ -0,0 +1,16 @@
+package com.crewmeister.currencybackend.repository;
+
+import com.crewmeister.currencybackend.entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the progress checkpoints of the bootstrap importer.
+ * <p>
+ * One checkpoint per currency records the last date whose history was fully imported.
+ *
+ * @author hiulusoy
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,68 @@
+package com.crewmeister.currencybackend.scheduler;
+
+import com.crewmeister.currencybackend.service.ExchangeRateBootstrapService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the full-history bootstrap import in the background once the application is ready.
+ * <p>
+ * Only active with importer.bootstrap.enabled=true, which is meant for seeding a new
+ * environment. The import takes hours, so it runs on its own thread instead of delaying
+ * startup and readiness; requests for dates it has not reached yet are fetched on demand.
+ * Progress is checkpointed, so the import can be restarted at any time, and a shutdown
+ * interrupts it after the current chunk.
+ *
+ * @author hiulusoy
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "importer.bootstrap.enabled", havingValue = "true")
+public class BootstrapImportRunner {
+
+    /**
+     * Service performing the actual import
+     */
+    private final ExchangeRateBootstrapService exchangeRateBootstrapService;
+
+    /**
+     * Single thread the import runs on
+     */
+    private final ExecutorService importExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("bootstrap-import-"));
+
+    public BootstrapImportRunner(ExchangeRateBootstrapService exchangeRateBootstrapService) {
+        this.exchangeRateBootstrapService = exchangeRateBootstrapService;
+    }
+
+    /**
+     * Starts the bootstrap import in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startImport() {
+        log.info("Bootstrap import of the exchange rate history started");
+        importExecutor.execute(() -> {
+            try {
+                exchangeRateBootstrapService.importFullHistory();
+            } catch (Exception e) {
+                log.error("Bootstrap import of the exchange rate history failed", e);
+            }
+        });
+    }
+
+    /**
+     * Interrupts a running import on shutdown.
+     */
+    @PreDestroy
+    public void stopImport() {
+        importExecutor.shutdownNow();
+    }
+}
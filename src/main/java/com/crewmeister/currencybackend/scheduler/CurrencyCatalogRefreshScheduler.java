@@ -0,0 +1,36 @@
+package com.crewmeister.currencybackend.scheduler;
+
+import com.crewmeister.currencybackend.service.impl.CurrencyCatalog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that picks up changes of the currencies table into the currency catalog.
+ * <p>
+ * Runs with the fixed delay configured under exchange-rates.catalog.refresh-interval-ms.
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyCatalogRefreshScheduler {
+
+    /**
+     * Catalog to refresh
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * Refreshes the currency catalog.
+     */
+    @Scheduled(fixedDelayString = "${exchange-rates.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${exchange-rates.catalog.refresh-interval-ms:300000}")
+    public void refreshCatalog() {
+        if (currencyCatalog.refresh()) {
+            log.info("Currency catalog changed and was reloaded");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.crewmeister.currencybackend.scheduler;
+
+import com.crewmeister.currencybackend.service.ExchangeRateIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that triggers the daily exchange rate ingestion.
+ * <p>
+ * Runs on the cron expression configured under scheduler.exchange-rates.cron and can be
+ * switched off with scheduler.exchange-rates.enabled=false. The default of 16:30 Berlin time
+ * follows the publication of the day's reference rates at about 16:00, so the day's fixing is
+ * stored before clients look it up.
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "scheduler.exchange-rates.enabled", havingValue = "true", matchIfMissing = true)
+public class ExchangeRateIngestionScheduler {
+
+    /**
+     * Service performing the actual ingestion
+     */
+    private final ExchangeRateIngestionService exchangeRateIngestionService;
+
+    /**
+     * Triggers the ingestion of the newest exchange rates.
+     */
+    @Scheduled(cron = "${scheduler.exchange-rates.cron}", zone = "${scheduler.exchange-rates.zone:Europe/Berlin}")
+    public void ingestLatestRates() {
+        log.info("Scheduled exchange rate ingestion started");
+        exchangeRateIngestionService.ingestLatestRates();
+    }
+}
@@ -0,0 +1,14 @@
+package com.crewmeister.currencybackend.service;
+
+/**
+ * Service interface for seeding the exchange rate store with the full rate history
+ */
+public interface ExchangeRateBootstrapService {
+
+    /**
+     * Import the full daily history of all active currencies, resuming from the last checkpoint
+     *
+     * @return Number of rows written
+     */
+    long importFullHistory();
+}
@@ -0,0 +1,27 @@
+package com.crewmeister.currencybackend.service;
+
+import com.crewmeister.currencybackend.dto.request.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for exporting the stored exchange rate history
+ */
+public interface ExchangeRateExportService {
+
+    /**
+     * Write the stored exchange rates to an output stream, one row at a time
+     *
+     * @param format       Output format
+     * @param currencyCode Currency code to export, null for all currencies
+     * @param startDate    Start date of the export (inclusive), null for the earliest stored rate
+     * @param endDate      End date of the export (inclusive), null for today
+     * @param outputStream Stream the rows are written to; it is flushed but not closed
+     * @return Number of exported rates
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportRates(ExportFormat format, String currencyCode, LocalDate startDate, LocalDate endDate,
+                     OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.crewmeister.currencybackend.service;
+
+/**
+ * Service interface for ingesting exchange rates into the persistent store
+ */
+public interface ExchangeRateIngestionService {
+
+    /**
+     * Fetch the newest observations for all active currencies and store them
+     *
+     * @return Number of rows written
+     */
+    int ingestLatestRates();
+}
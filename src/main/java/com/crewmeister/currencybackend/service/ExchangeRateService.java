@@ -2,6 +2,7 @@ package com.crewmeister.currencybackend.service;
 
 import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
 import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.dto.response.ExchangeRatePageDto;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
 
 import java.time.LocalDate;
@@ -36,6 +37,27 @@ public interface ExchangeRateService {
      */
     ExchangeRateDto getRateByCurrencyAndDate(String currencyCode, LocalDate date);
 
+    /**
+     * Get the most recent exchange rate of a currency published on or before a date
+     *
+     * @param currencyCode Currency code
+     * @param date         Latest acceptable date of the rate
+     * @return Exchange rate with the date it was published on and the requested date
+     */
+    ExchangeRateDto getRateOnOrBefore(String currencyCode, LocalDate date);
+
+    /**
+     * Get one page of the exchange rates of a currency within a date range
+     *
+     * @param currencyCode Currency code
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @param cursor       Cursor of the previous page, null for the first page
+     * @param limit        Maximum number of business days per page
+     * @return Page of exchange rates with the cursor of the next page
+     */
+    ExchangeRatePageDto getRatesForRange(String currencyCode, LocalDate startDate, LocalDate endDate, LocalDate cursor, int limit);
+
     /**
      * Convert amount from a currency to EUR on a specific date
      *
@@ -44,4 +66,20 @@ public interface ExchangeRateService {
      */
     ConversionResponseDto convertToEur(ConversionRequestDto request);
 
+    /**
+     * Convert amount from a currency to the requested target currency (EUR if none) on a specific date
+     *
+     * @param request Conversion request containing source and target currency, amount, and date
+     * @return Conversion response with converted amount
+     */
+    ConversionResponseDto convert(ConversionRequestDto request);
+
+    /**
+     * Convert many amounts, resolving each distinct currency and date only once
+     *
+     * @param requests Conversion requests
+     * @return Conversion responses in the order of the requests; amounts without a rate carry an error
+     */
+    List<ConversionResponseDto> convertBatch(List<ConversionRequestDto> requests);
+
 }
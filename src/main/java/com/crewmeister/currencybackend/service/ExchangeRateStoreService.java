@@ -0,0 +1,41 @@
+package com.crewmeister.currencybackend.service;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for the persistent exchange rate store
+ */
+public interface ExchangeRateStoreService {
+
+    /**
+     * Get stored exchange rates for a currency within a date range
+     *
+     * @param currencyCode Currency code
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @return List of stored exchange rates ordered by date
+     */
+    List<ExchangeRateDto> findRates(String currencyCode, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Get at most limit stored exchange rates for a currency within a date range
+     *
+     * @param currencyCode Currency code
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @param limit        Maximum number of rates to return
+     * @return List of the earliest stored exchange rates of the range ordered by date
+     */
+    List<ExchangeRateDto> findRates(String currencyCode, LocalDate startDate, LocalDate endDate, int limit);
+
+    /**
+     * Save exchange rates that are not stored yet
+     *
+     * @param rates Exchange rates to store
+     * @return Number of rows written
+     */
+    int saveRates(List<ExchangeRateDto> rates);
+}
@@ -0,0 +1,31 @@
+package com.crewmeister.currencybackend.service;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
+import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking service interface for exchange rate lookups and conversions
+ */
+public interface ReactiveExchangeRateService {
+
+    /**
+     * Get the exchange rate for a specific currency and date without blocking on upstream calls
+     *
+     * @param currencyCode Currency code
+     * @param date         Date of the rate
+     * @return Mono of the exchange rate, failing with ExchangeRateNotFoundException if there is none
+     */
+    Mono<ExchangeRateDto> getRateByCurrencyAndDate(String currencyCode, LocalDate date);
+
+    /**
+     * Convert an amount to EUR or to the request's target currency without blocking on upstream calls
+     *
+     * @param request Conversion request
+     * @return Mono of the conversion result, failing with ExchangeRateNotFoundException if a rate is missing
+     */
+    Mono<ConversionResponseDto> convert(ConversionRequestDto request);
+}
@@ -0,0 +1,322 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.cache.UpstreamMissCache;
+import com.crewmeister.currencybackend.client.BundesbankClient;
+import com.crewmeister.currencybackend.client.BundesbankMetrics;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.utils.CountingInputStream;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import com.crewmeister.currencybackend.utils.SdmxJsonStreamDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Component that fetches and parses exchange rates from the Bundesbank API.
+ * <p>
+ * This is the single place where the request path, the scheduled ingestion and
+ * the bootstrap import talk to the BundesbankClient. Several currencies can be
+ * requested in one call with an OR'd currency key (D.USD+GBP+JPY.EUR.BB.AC.000).
+ * Responses are decoded while they are read, so multi-year ranges are never held
+ * in memory as a String or a JsonNode tree. Currencies and ranges that recently
+ * returned no rates are not requested again until their negative cache entry expires.
+ * Calls go through the bundesbank retry, circuit breaker and rate limiter, with the
+ * response status checked inside them, so error responses are retried and counted
+ * as failures like those of the other client methods.
+ * Every call is recorded in the Bundesbank metrics: latency per currency and attempt, rate
+ * limiter wait, response size, decode time and decoded rates.
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BundesbankRateFetcher {
+
+    /**
+     * Series key suffix for daily reference rates against EUR
+     */
+    private static final String CURRENCY_KEY_SUFFIX = ".EUR.BB.AC.000";
+
+    /**
+     * Default format for API responses
+     */
+    private static final String DEFAULT_FORMAT = "json";
+
+    /**
+     * Default language for API responses
+     */
+    private static final String DEFAULT_LANGUAGE = "en";
+
+    /**
+     * Method key reported in errors for non-successful streaming responses
+     */
+    private static final String STREAM_METHOD_KEY = "BundesbankClient#streamDataForDateRange";
+
+    /**
+     * Name of the resilience instances guarding the Bundesbank API, also used by the bootstrap import to pace its calls
+     */
+    static final String RESILIENCE_INSTANCE = "bundesbank";
+
+    /**
+     * Bundesbank API dataflow identifier
+     */
+    @Value("${bundesbank.api.dataflow-id}")
+    private String dataflowId;
+
+    /**
+     * Client for interacting with Bundesbank API
+     */
+    private final BundesbankClient bundesbankClient;
+
+    /**
+     * JSON parsing utility
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * In-memory catalog resolving currency names
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * Negative cache of requests that returned no rates
+     */
+    private final UpstreamMissCache upstreamMissCache;
+
+    /**
+     * Meters describing the calls made to the Bundesbank API
+     */
+    private final BundesbankMetrics bundesbankMetrics;
+
+    /**
+     * Registry holding the bundesbank retry
+     */
+    private final RetryRegistry retryRegistry;
+
+    /**
+     * Registry holding the bundesbank circuit breaker
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * Registry holding the bundesbank rate limiter
+     */
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * Fetches exchange rates for a single currency within a specified date range from the Bundesbank API.
+     *
+     * @param currencyCode Currency code to fetch rates for
+     * @param startDate    Start date of the range
+     * @param endDate      End date of the range
+     * @return List of ExchangeRateDto for the specified currency and date range
+     * @throws ExternalServiceException if the response cannot be parsed
+     */
+    public List<ExchangeRateDto> fetchRates(String currencyCode, LocalDate startDate, LocalDate endDate) {
+        return fetchRates(Collections.singletonList(currencyCode), startDate, endDate);
+    }
+
+    /**
+     * Fetches exchange rates for several currencies within a specified date range with a single
+     * Bundesbank API call.
+     *
+     * @param currencyCodes Currency codes to fetch rates for
+     * @param startDate     Start date of the range
+     * @param endDate       End date of the range
+     * @return List of ExchangeRateDto for the specified currencies and date range
+     * @throws ExternalServiceException if the response cannot be parsed
+     */
+    public List<ExchangeRateDto> fetchRates(List<String> currencyCodes, LocalDate startDate, LocalDate endDate) {
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        streamRates(currencyCodes, startDate, endDate, rates::add);
+        return rates;
+    }
+
+    /**
+     * Streams exchange rates for several currencies within a specified date range into a sink.
+     * <p>
+     * Rates are emitted while the response is read, so callers that write them out directly
+     * never hold the whole range in memory.
+     *
+     * @param currencyCodes Currency codes to fetch rates for
+     * @param startDate     Start date of the range
+     * @param endDate       End date of the range
+     * @param sink          Consumer receiving each decoded rate
+     * @return Number of rates emitted into the sink
+     * @throws ExternalServiceException if the response cannot be read or parsed
+     */
+    public int streamRates(List<String> currencyCodes, LocalDate startDate, LocalDate endDate, Consumer<ExchangeRateDto> sink) {
+        // Skip currencies that recently returned no rates for the same range
+        List<String> requestedCodes = currencyCodes.stream()
+                .filter(code -> !upstreamMissCache.isKnownMiss(code, startDate, endDate))
+                .collect(Collectors.toList());
+        if (requestedCodes.isEmpty()) {
+            log.debug("Skipping Bundesbank call for currencies {} from {} to {}: no data on the last attempt",
+                    currencyCodes, startDate, endDate);
+            return 0;
+        }
+
+        // Construct the currency key for Bundesbank API
+        String key = ExchangeRateUtils.buildMultiCurrencyKey(requestedCodes, CURRENCY_KEY_SUFFIX);
+        String startDateStr = ExchangeRateUtils.formatDate(startDate);
+        String endDateStr = ExchangeRateUtils.formatDate(endDate);
+
+        try (Response response = requestRates(requestedCodes, key, startDateStr, endDateStr)) {
+
+            if (response.status() == 404 || response.body() == null) {
+                // Handle cases where no data is found for the currencies
+                log.warn("No data found for currencies {} in date range {} to {}",
+                        requestedCodes, startDateStr, endDateStr);
+                requestedCodes.forEach(code -> upstreamMissCache.recordMiss(code, startDate, endDate));
+                return 0;
+            }
+
+            // Decode the JSON response while it is read, counting the rates of each currency
+            Map<String, Integer> observations = new HashMap<>();
+            int count = decodeExchangeRates(requestedCodes, response, rate -> {
+                observations.merge(rate.getCurrencyCode(), 1, Integer::sum);
+                sink.accept(rate);
+            });
+            bundesbankMetrics.recordObservations(BundesbankMetrics.CLIENT_FEIGN, requestedCodes, observations);
+            requestedCodes.stream()
+                    .filter(code -> !observations.containsKey(code))
+                    .forEach(code -> upstreamMissCache.recordMiss(code, startDate, endDate));
+            return count;
+        }
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Requests the rates of several currencies through the bundesbank retry, circuit breaker and
+     * rate limiter.
+     *
+     * @param currencyCodes Currency codes in the key
+     * @param key           Multi-currency series key
+     * @param startDateStr  Start date of the range
+     * @param endDateStr    End date of the range
+     * @return Raw response with a successful or 404 status, which the caller must close
+     * @throws FeignException if the last attempt was answered with an error status
+     */
+    private Response requestRates(List<String> currencyCodes, String key, String startDateStr, String endDateStr) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(RESILIENCE_INSTANCE);
+        return Retry.decorateSupplier(retryRegistry.retry(RESILIENCE_INSTANCE),
+                        CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE),
+                                () -> requestRatesOnce(rateLimiter, currencyCodes, key, startDateStr, endDateStr)))
+                .get();
+    }
+
+    /**
+     * Makes a single request attempt once the rate limiter grants a permit.
+     * <p>
+     * Feign skips the error decoder for raw responses, so error statuses are turned into
+     * exceptions here, where the retry and circuit breaker see them. A 404 is not an error:
+     * it means Bundesbank has no data for the key. The permit wait and the attempt are recorded
+     * separately in the Bundesbank metrics, so retry backoff is part of neither.
+     *
+     * @param rateLimiter   Rate limiter guarding the Bundesbank API
+     * @param currencyCodes Currency codes in the key
+     * @param key           Multi-currency series key
+     * @param startDateStr  Start date of the range
+     * @param endDateStr    End date of the range
+     * @return Raw response with a successful or 404 status, which the caller must close
+     * @throws FeignException if the response has an error status
+     */
+    private Response requestRatesOnce(RateLimiter rateLimiter, List<String> currencyCodes, String key,
+                                      String startDateStr, String endDateStr) {
+        long waitStarted = System.nanoTime();
+        try {
+            RateLimiter.waitForPermission(rateLimiter);
+        } catch (RequestNotPermitted e) {
+            bundesbankMetrics.recordPermitWait(BundesbankMetrics.PERMIT_REJECTED, System.nanoTime() - waitStarted);
+            throw e;
+        }
+        bundesbankMetrics.recordPermitWait(BundesbankMetrics.PERMIT_PERMITTED, System.nanoTime() - waitStarted);
+
+        long started = System.nanoTime();
+        Response response;
+        try {
+            response = bundesbankClient.streamDataForDateRange(
+                    dataflowId,
+                    key,
+                    DEFAULT_FORMAT,
+                    DEFAULT_LANGUAGE,
+                    startDateStr,
+                    endDateStr);
+        } catch (RuntimeException e) {
+            bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_FEIGN, currencyCodes, BundesbankMetrics.OUTCOME_ERROR,
+                    System.nanoTime() - started);
+            throw e;
+        }
+
+        if (response.status() >= 300 && response.status() != 404) {
+            bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_FEIGN, currencyCodes, BundesbankMetrics.OUTCOME_ERROR,
+                    System.nanoTime() - started);
+            FeignException error = FeignException.errorStatus(STREAM_METHOD_KEY, response);
+            response.close();
+            throw error;
+        }
+
+        String outcome = response.status() == 404 || response.body() == null
+                ? BundesbankMetrics.OUTCOME_NO_DATA : BundesbankMetrics.OUTCOME_SUCCESS;
+        bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_FEIGN, currencyCodes, outcome, System.nanoTime() - started);
+        return response;
+    }
+
+    /**
+     * Decodes the streamed JSON response from Bundesbank API into the sink.
+     * <p>
+     * A single-currency response is attributed to the requested currency. For a
+     * multi-currency response, the currency of each series is read from its series key.
+     *
+     * @param currencyCodes Currency codes that were requested
+     * @param response      Raw response from the API
+     * @param sink          Consumer receiving each decoded rate
+     * @return Number of rates emitted into the sink
+     * @throws ExternalServiceException if parsing fails
+     */
+    private int decodeExchangeRates(List<String> currencyCodes, Response response, Consumer<ExchangeRateDto> sink) {
+        long started = System.nanoTime();
+        try (CountingInputStream body = new CountingInputStream(response.body().asInputStream())) {
+            int count = SdmxJsonStreamDecoder.decode(body, objectMapper.getFactory(), currencyCodes, this::getCurrencyName, sink);
+            bundesbankMetrics.recordResponse(BundesbankMetrics.CLIENT_FEIGN, body.getCount(), System.nanoTime() - started);
+            return count;
+        } catch (IOException e) {
+            log.error("Error parsing exchange rates JSON for " + currencyCodes, e);
+            throw new ExternalServiceException("Failed to parse exchange rates: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves the full name of a currency.
+     *
+     * @param currencyCode Currency code to get the name for
+     * @return Currency name or the currency code if name cannot be found
+     */
+    private String getCurrencyName(String currencyCode) {
+        return currencyCatalog.getName(currencyCode);
+    }
+}
@@ -0,0 +1,205 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.CurrencyDto;
+import com.crewmeister.currencybackend.mapper.CurrencyMapper;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory catalog of the currencies table.
+ * <p>
+ * The currencies table holds a few dozen rows that change rarely, while currency names are
+ * resolved for every parsed observation. The catalog answers those lookups from memory.
+ * <p>
+ * Key Features:
+ * - Indexes currencies by code, active flag and country
+ * - Loaded when the application is ready, or on first use if that comes earlier
+ * - Refreshed periodically; a new snapshot is only published when the table changed
+ * - Lock-free reads of the current snapshot
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyCatalog {
+
+    /**
+     * Meter tag value of currency codes the catalog does not know
+     */
+    public static final String UNKNOWN_CURRENCY_TAG = "other";
+
+    /**
+     * Repository the catalog is loaded from
+     */
+    private final CurrencyRepository currencyRepository;
+
+    /**
+     * Mapper for converting Currency entities to CurrencyDto objects
+     */
+    private final CurrencyMapper currencyMapper;
+
+    /**
+     * Currently published snapshot, null until the first load
+     */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Serializes reloads; a lock rather than synchronized, so a virtual thread waiting on the
+     * database does not pin its carrier thread
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Loads the catalog once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Reloads the currencies table and publishes a new snapshot if it changed.
+     *
+     * @return true if a new snapshot was published
+     */
+    public boolean refresh() {
+        refreshLock.lock();
+        try {
+            List<CurrencyDto> currencies = currencyRepository.findAll().stream()
+                    .map(currencyMapper::mapToDto)
+                    .collect(Collectors.toList());
+
+            Snapshot current = snapshot.get();
+            if (current != null && current.all.equals(currencies)) {
+                return false;
+            }
+
+            snapshot.set(new Snapshot(currencies));
+            log.info("Loaded {} currencies into the currency catalog", currencies.size());
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Returns all currencies.
+     *
+     * @return Unmodifiable list of all currencies
+     */
+    public List<CurrencyDto> getAll() {
+        return current().all;
+    }
+
+    /**
+     * Returns the active currencies.
+     *
+     * @return Unmodifiable list of active currencies
+     */
+    public List<CurrencyDto> getActive() {
+        return current().active;
+    }
+
+    /**
+     * Looks up a currency by its code.
+     *
+     * @param code Currency code
+     * @return The currency, or null if the code is unknown
+     */
+    public CurrencyDto findByCode(String code) {
+        return current().byCode.get(code);
+    }
+
+    /**
+     * Returns the currencies of a country.
+     *
+     * @param country Country name
+     * @return Unmodifiable list of the currencies of the country
+     */
+    public List<CurrencyDto> getByCountry(String country) {
+        return current().byCountry.getOrDefault(country, Collections.emptyList());
+    }
+
+    /**
+     * Returns the name of a currency, falling back to its code when the code is unknown.
+     *
+     * @param code Currency code
+     * @return Currency name or the currency code
+     */
+    public String getName(String code) {
+        CurrencyDto currency = findByCode(code);
+        return currency != null ? currency.getName() : code;
+    }
+
+    /**
+     * Returns the value a currency code is tagged with on meters.
+     * <p>
+     * Codes reach the meters straight from requests, so unknown codes share one tag value
+     * instead of creating a new series each.
+     *
+     * @param code Currency code
+     * @return The code if the catalog knows it, otherwise UNKNOWN_CURRENCY_TAG
+     */
+    public String meterTag(String code) {
+        return findByCode(code) != null ? code : UNKNOWN_CURRENCY_TAG;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Immutable indexes over one load of the currencies table.
+     */
+    private static final class Snapshot {
+
+        private final List<CurrencyDto> all;
+        private final List<CurrencyDto> active;
+        private final Map<String, CurrencyDto> byCode;
+        private final Map<String, List<CurrencyDto>> byCountry;
+
+        private Snapshot(List<CurrencyDto> currencies) {
+            this.all = Collections.unmodifiableList(new ArrayList<>(currencies));
+            this.active = Collections.unmodifiableList(currencies.stream()
+                    .filter(CurrencyDto::isActive)
+                    .collect(Collectors.toList()));
+
+            Map<String, CurrencyDto> codes = new LinkedHashMap<>();
+            Map<String, List<CurrencyDto>> countries = new LinkedHashMap<>();
+            for (CurrencyDto currency : currencies) {
+                codes.put(currency.getCode(), currency);
+                if (currency.getCountry() != null) {
+                    countries.computeIfAbsent(currency.getCountry(), country -> new ArrayList<>()).add(currency);
+                }
+            }
+            countries.replaceAll((country, list) -> Collections.unmodifiableList(list));
+
+            this.byCode = Collections.unmodifiableMap(codes);
+            this.byCountry = Collections.unmodifiableMap(countries);
+        }
+    }
+}
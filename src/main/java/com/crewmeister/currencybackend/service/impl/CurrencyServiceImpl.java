@@ -1,23 +1,19 @@
 package com.crewmeister.currencybackend.service.impl;
 
 import com.crewmeister.currencybackend.dto.CurrencyDto;
-import com.crewmeister.currencybackend.entity.Currency;
 import com.crewmeister.currencybackend.exception.CurrencyNotFoundException;
-import com.crewmeister.currencybackend.mapper.CurrencyMapper;
-import com.crewmeister.currencybackend.repository.CurrencyRepository;
 import com.crewmeister.currencybackend.service.CurrencyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the CurrencyService interface for managing currency-related operations.
  * <p>
- * This service provides methods to retrieve currency information from the database,
- * with logging and error handling for various currency retrieval scenarios.
+ * This service provides methods to retrieve currency information from the in-memory
+ * CurrencyCatalog, with logging and error handling for various currency retrieval scenarios.
  *
  * @author hiulusoy
  */
@@ -27,30 +23,23 @@ import java.util.stream.Collectors;
 public class CurrencyServiceImpl implements CurrencyService {
 
     /**
-     * Repository for performing currency-related database operations
+     * In-memory catalog of the currencies table
      */
-    private final CurrencyRepository currencyRepository;
+    private final CurrencyCatalog currencyCatalog;
 
     /**
-     * Mapper for converting Currency entities to CurrencyDto objects
-     */
-    private final CurrencyMapper currencyMapper;
-
-    /**
-     * Retrieves all currencies from the database.
+     * Retrieves all currencies.
      *
      * @return A list of all currencies converted to CurrencyDto objects
      */
     @Override
     public List<CurrencyDto> getAllCurrencies() {
         log.info("Getting all currencies");
-        return currencyRepository.findAll().stream()
-                .map(currencyMapper::mapToDto)
-                .collect(Collectors.toList());
+        return currencyCatalog.getAll();
     }
 
     /**
-     * Retrieves all active currencies from the database.
+     * Retrieves all active currencies.
      * <p>
      * An active currency is determined by the 'active' flag in the Currency entity.
      *
@@ -59,9 +48,7 @@ public class CurrencyServiceImpl implements CurrencyService {
     @Override
     public List<CurrencyDto> getActiveCurrencies() {
         log.info("Getting active currencies");
-        return currencyRepository.findByActiveTrue().stream()
-                .map(currencyMapper::mapToDto)
-                .collect(Collectors.toList());
+        return currencyCatalog.getActive();
     }
 
     /**
@@ -73,10 +60,13 @@ public class CurrencyServiceImpl implements CurrencyService {
      */
     @Override
     public CurrencyDto getCurrencyByCode(String code) {
-        log.info("Getting currency with code: {}", code);
-        Currency currency = currencyRepository.findByCode(code)
-                .orElseThrow(() -> new CurrencyNotFoundException("Currency not found with code: " + code));
-        return currencyMapper.mapToDto(currency);
+        // Called for every resolved currency name, so only logged at debug level
+        log.debug("Getting currency with code: {}", code);
+        CurrencyDto currency = currencyCatalog.findByCode(code);
+        if (currency == null) {
+            throw new CurrencyNotFoundException("Currency not found with code: " + code);
+        }
+        return currency;
     }
 
     /**
@@ -88,8 +78,6 @@ public class CurrencyServiceImpl implements CurrencyService {
     @Override
     public List<CurrencyDto> getCurrenciesByCountry(String country) {
         log.info("Getting currencies for country: {}", country);
-        return currencyRepository.findByCountry(country).stream()
-                .map(currencyMapper::mapToDto)
-                .collect(Collectors.toList());
+        return currencyCatalog.getByCountry(country);
     }
 }
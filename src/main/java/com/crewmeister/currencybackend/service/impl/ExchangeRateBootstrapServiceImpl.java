@@ -0,0 +1,276 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.entity.ImportCheckpoint;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.repository.ImportCheckpointRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateBootstrapService;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ExchangeRateBootstrapService.
+ * <p>
+ * Seeds a new environment with the full daily history of every active currency.
+ * The currencies are imported in groups of max-currencies-per-call, and the history of a group
+ * is fetched in year-sized chunks with one multiplexed call each; every chunk is written to the
+ * store in JDBC batches. After every chunk a checkpoint is stored per currency, so a restarted
+ * import resumes with the first chunk that was not finished.
+ * <p>
+ * The chunks are paced to the bundesbank rate limiter: a chunk is only fetched while more than
+ * reserved-permits permits are left in the current refresh period, otherwise the import waits for
+ * the next period. The import therefore neither fails on rejected permits nor starves user requests.
+ * <p>
+ * Exported metrics:
+ * - exchange.rates.bootstrap.rows: rows written by the importer
+ * - exchange.rates.bootstrap.chunk.duration: fetch and write duration per chunk
+ * - exchange.rates.bootstrap.throughput: rows per second of the last chunk
+ *
+ * @author hiulusoy
+ */
+@Service
+@Slf4j
+public class ExchangeRateBootstrapServiceImpl implements ExchangeRateBootstrapService {
+
+    /**
+     * EUR is the base currency and has no Bundesbank series of its own
+     */
+    private static final String BASE_CURRENCY = "EUR";
+
+    /**
+     * Longest wait between two checks for a free rate limiter permit
+     */
+    private static final Duration MAX_PERMIT_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * Repository for retrieving the active currencies
+     */
+    private final CurrencyRepository currencyRepository;
+
+    /**
+     * Repository for the per-currency import progress
+     */
+    private final ImportCheckpointRepository importCheckpointRepository;
+
+    /**
+     * Fetcher for exchange rates from the Bundesbank API
+     */
+    private final BundesbankRateFetcher bundesbankRateFetcher;
+
+    /**
+     * Persistent store the imported rates are written to
+     */
+    private final ExchangeRateStoreService exchangeRateStoreService;
+
+    /**
+     * First date of the imported history
+     */
+    private final LocalDate historyStartDate;
+
+    /**
+     * Rate limiter guarding the Bundesbank API, whose permits pace the chunks
+     */
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Maximum number of currencies requested in a single Bundesbank API call
+     */
+    private final int maxCurrenciesPerCall;
+
+    /**
+     * Rate limiter permits per refresh period that the import leaves to user requests
+     */
+    private final int reservedPermits;
+
+    private final Counter rowsCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+
+    public ExchangeRateBootstrapServiceImpl(CurrencyRepository currencyRepository,
+                                            ImportCheckpointRepository importCheckpointRepository,
+                                            BundesbankRateFetcher bundesbankRateFetcher,
+                                            ExchangeRateStoreService exchangeRateStoreService,
+                                            MeterRegistry meterRegistry,
+                                            RateLimiterRegistry rateLimiterRegistry,
+                                            @Value("${importer.bootstrap.start-date:1999-01-01}") String historyStartDate,
+                                            @Value("${exchange-rates.fetch.max-currencies-per-call:10}") int maxCurrenciesPerCall,
+                                            @Value("${importer.bootstrap.reserved-permits:1}") int reservedPermits) {
+        this.currencyRepository = currencyRepository;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.bundesbankRateFetcher = bundesbankRateFetcher;
+        this.exchangeRateStoreService = exchangeRateStoreService;
+        this.historyStartDate = LocalDate.parse(historyStartDate);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(BundesbankRateFetcher.RESILIENCE_INSTANCE);
+        this.maxCurrenciesPerCall = maxCurrenciesPerCall;
+        this.reservedPermits = reservedPermits;
+
+        this.rowsCounter = Counter.builder("exchange.rates.bootstrap.rows")
+                .description("Exchange rate rows written by the bootstrap importer")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("exchange.rates.bootstrap.chunk.duration")
+                .description("Fetch and write duration of one bootstrap chunk")
+                .register(meterRegistry);
+        meterRegistry.gauge("exchange.rates.bootstrap.throughput", rowsPerSecond);
+    }
+
+    /**
+     * Imports the history of every active currency from the configured start date up to today.
+     * <p>
+     * A failing group keeps the last checkpoints of its currencies and is resumed by the next
+     * run; the remaining groups are still imported. An interrupted import stops after the
+     * current chunk.
+     *
+     * @return Number of rows written
+     */
+    @Override
+    public long importFullHistory() {
+        LocalDate today = LocalDate.now();
+        List<String> currencyCodes = currencyRepository.findByActiveTrue().stream()
+                .map(Currency::getCode)
+                .filter(code -> !BASE_CURRENCY.equals(code))
+                .collect(Collectors.toList());
+        log.info("Bootstrap import of {} active currencies from {} to {}", currencyCodes.size(), historyStartDate, today);
+
+        long startNanos = System.nanoTime();
+        long totalRows = 0;
+        for (List<String> group : ExchangeRateUtils.partition(currencyCodes, maxCurrenciesPerCall)) {
+            try {
+                totalRows += importGroup(group, today);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Bootstrap import interrupted, it resumes from the stored checkpoints on the next run");
+                break;
+            } catch (Exception e) {
+                log.error("Bootstrap import stopped for currencies " + group
+                        + ", they resume from their checkpoints on the next run", e);
+            }
+        }
+
+        double seconds = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), 1) / 1000.0;
+        log.info("Bootstrap import finished: {} rows in {} s ({} rows/s)",
+                totalRows, String.format("%.1f", seconds), Math.round(totalRows / seconds));
+        return totalRows;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Imports the history of a group of currencies in year-sized chunks, starting after the
+     * earliest checkpoint of the group.
+     * <p>
+     * Each chunk is requested for the currencies whose checkpoint lies before its end; days a
+     * currency already has stored are skipped by the store.
+     *
+     * @param currencyCodes Currency codes to import together
+     * @param today         Last date to import
+     * @return Number of rows written
+     * @throws InterruptedException if the import is interrupted while waiting for a permit
+     */
+    private long importGroup(List<String> currencyCodes, LocalDate today) throws InterruptedException {
+        Map<String, LocalDate> resumeDates = new LinkedHashMap<>();
+        for (String currencyCode : currencyCodes) {
+            resumeDates.put(currencyCode, importCheckpointRepository.findById(currencyCode)
+                    .map(checkpoint -> checkpoint.getLastImportedDate().plusDays(1))
+                    .orElse(historyStartDate));
+        }
+
+        long rows = 0;
+        LocalDate chunkStart = Collections.min(resumeDates.values());
+        while (!chunkStart.isAfter(today)) {
+            LocalDate yearEnd = chunkStart.with(TemporalAdjusters.lastDayOfYear());
+            LocalDate chunkEnd = yearEnd.isAfter(today) ? today : yearEnd;
+            List<String> chunkCurrencies = resumeDates.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isAfter(chunkEnd))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            awaitPermit();
+            rows += importChunk(chunkCurrencies, chunkStart, chunkEnd);
+
+            // Today's fixing may not be published yet, so the checkpoint never covers today
+            LocalDate lastImportedDate = chunkEnd.isBefore(today) ? chunkEnd : today.minusDays(1);
+            chunkCurrencies.forEach(currencyCode -> saveCheckpoint(currencyCode, lastImportedDate));
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        return rows;
+    }
+
+    /**
+     * Waits until the bundesbank rate limiter has more than the reserved permits left.
+     * <p>
+     * The permit itself is taken by the fetcher, so the check only keeps the import from
+     * running into rejected permits and from using the permits reserved for user requests.
+     * At least one permit per period is always left to the import.
+     *
+     * @throws InterruptedException if the import is interrupted while waiting
+     */
+    private void awaitPermit() throws InterruptedException {
+        RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
+        int reserve = Math.min(reservedPermits, config.getLimitForPeriod() - 1);
+        long pollMillis = Math.max(Math.min(config.getLimitRefreshPeriod().toMillis(), MAX_PERMIT_POLL_INTERVAL.toMillis()), 1);
+        while (rateLimiter.getMetrics().getAvailablePermissions() <= reserve) {
+            Thread.sleep(pollMillis);
+        }
+    }
+
+    /**
+     * Fetches one chunk of history with a single multiplexed call and writes it to the store.
+     *
+     * @param currencyCodes Currency codes to import
+     * @param startDate     Start date of the chunk
+     * @param endDate       End date of the chunk
+     * @return Number of rows written
+     */
+    private int importChunk(List<String> currencyCodes, LocalDate startDate, LocalDate endDate) {
+        long startNanos = System.nanoTime();
+
+        List<ExchangeRateDto> rates = bundesbankRateFetcher.fetchRates(currencyCodes, startDate, endDate);
+        int written = rates.isEmpty() ? 0 : exchangeRateStoreService.saveRates(rates);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rowsCounter.increment(written);
+        rowsPerSecond.set(written * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1));
+
+        log.info("Imported {} rows for {} from {} to {} ({} rows/s)",
+                written, currencyCodes, startDate, endDate, rowsPerSecond.get());
+        return written;
+    }
+
+    /**
+     * Records the last fully imported date of a currency.
+     *
+     * @param currencyCode     Currency code
+     * @param lastImportedDate Last date whose history is stored
+     */
+    private void saveCheckpoint(String currencyCode, LocalDate lastImportedDate) {
+        importCheckpointRepository.save(ImportCheckpoint.builder()
+                .currencyCode(currencyCode)
+                .lastImportedDate(lastImportedDate)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.ExportFormat;
+import com.crewmeister.currencybackend.repository.ExchangeRateRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ExchangeRateExportService streaming rows straight from the database.
+ * <p>
+ * The rates are read through a forward-only cursor as DTO projections, so no entity enters the
+ * persistence context, and every row is written as soon as it is read. Memory use does not depend
+ * on the number of exported rows.
+ * <p>
+ * Key Features:
+ * - NDJSON and CSV output
+ * - Constant memory whatever the size of the export
+ * - Optional filtering by currency and date range
+ *
+ * @author hiulusoy
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateExportServiceImpl implements ExchangeRateExportService {
+
+    /**
+     * Size of the character buffer in front of the output stream
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Header row of the CSV export
+     */
+    private static final String CSV_HEADER = "currency_code,currency_name,date,rate";
+
+    /**
+     * Repository the rates are streamed from
+     */
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    /**
+     * Application object mapper used to serialize NDJSON rows
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the stored rates to the output stream in the requested format.
+     * <p>
+     * Runs in a read-only transaction, which keeps the database cursor open while the rows are written.
+     *
+     * @param format       Output format
+     * @param currencyCode Currency code to export, null for all currencies
+     * @param startDate    Start date of the export (inclusive), null for the earliest stored rate
+     * @param endDate      End date of the export (inclusive), null for today
+     * @param outputStream Stream the rows are written to; it is flushed but not closed
+     * @return Number of exported rates
+     * @throws IOException if writing to the output stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRates(ExportFormat format, String currencyCode, LocalDate startDate, LocalDate endDate,
+                            OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        LocalDate from = startDate != null ? startDate : LocalDate.EPOCH;
+        LocalDate to = endDate != null ? endDate : LocalDate.now();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long exported;
+        try (Stream<ExchangeRateDto> rates = currencyCode == null
+                ? exchangeRateRepository.streamAllForExport(from, to)
+                : exchangeRateRepository.streamForExport(currencyCode, from, to)) {
+            exported = format == ExportFormat.CSV
+                    ? writeCsv(rates.iterator(), writer)
+                    : writeNdjson(rates.iterator(), writer);
+        }
+
+        writer.flush();
+        log.info("Exported {} exchange rates as {} in {} ms", exported, format, (System.nanoTime() - started) / 1_000_000);
+        return exported;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Writes the rates as newline-delimited JSON.
+     *
+     * @param rates  Rates to write
+     * @param writer Target writer
+     * @return Number of written rates
+     * @throws IOException if writing fails
+     */
+    private long writeNdjson(Iterator<ExchangeRateDto> rates, Writer writer) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Records are separated by the newline below, not by the default root separator (a space)
+        generator.setRootValueSeparator(null);
+
+        while (rates.hasNext()) {
+            generator.writeObject(rates.next());
+            generator.writeRaw('\n');
+            count++;
+        }
+
+        generator.flush();
+        return count;
+    }
+
+    /**
+     * Writes the rates as CSV with a header row.
+     *
+     * @param rates  Rates to write
+     * @param writer Target writer
+     * @return Number of written rates
+     * @throws IOException if writing fails
+     */
+    private long writeCsv(Iterator<ExchangeRateDto> rates, Writer writer) throws IOException {
+        long count = 0;
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        while (rates.hasNext()) {
+            ExchangeRateDto rate = rates.next();
+            writer.write(rate.getCurrencyCode());
+            writer.write(',');
+            writer.write(escapeCsv(rate.getCurrencyName()));
+            writer.write(',');
+            writer.write(rate.getDate().toString());
+            writer.write(',');
+            writer.write(rate.getRate().toPlainString());
+            writer.write('\n');
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Quotes a CSV value if it contains a separator, a quote, or a line break.
+     *
+     * @param value Value to escape
+     * @return Value safe to write into a CSV field
+     */
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
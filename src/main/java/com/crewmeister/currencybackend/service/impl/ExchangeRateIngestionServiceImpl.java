@@ -0,0 +1,163 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateIngestionService;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ExchangeRateIngestionService.
+ * <p>
+ * Pulls the most recent observations of every active currency from the Bundesbank API
+ * and writes them to the exchange_rates table, so that user requests are answered from
+ * the store instead of blocking on the upstream API. The currencies are requested in groups
+ * with one multiplexed call each, so a run takes a few permits of the bundesbank rate limiter
+ * instead of one per currency.
+ * <p>
+ * Exported metrics:
+ * - exchange.rates.ingestion.duration: duration of each ingestion run
+ * - exchange.rates.ingestion.rows: rows written to the store
+ * - exchange.rates.ingestion.failures: failed currencies, tagged by currency as known to the CurrencyCatalog
+ * - exchange.rates.ingestion.last.success: epoch seconds of the last run without failures
+ *
+ * @author hiulusoy
+ */
+@Service
+@Slf4j
+public class ExchangeRateIngestionServiceImpl implements ExchangeRateIngestionService {
+
+    /**
+     * EUR is the base currency and has no Bundesbank series of its own
+     */
+    private static final String BASE_CURRENCY = "EUR";
+
+    /**
+     * Repository for retrieving the active currencies
+     */
+    private final CurrencyRepository currencyRepository;
+
+    /**
+     * Fetcher for exchange rates from the Bundesbank API
+     */
+    private final BundesbankRateFetcher bundesbankRateFetcher;
+
+    /**
+     * Persistent store the fetched rates are written to
+     */
+    private final ExchangeRateStoreService exchangeRateStoreService;
+
+    /**
+     * Catalog deciding which currency codes are tagged as they are
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * Registry for ingestion metrics
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Number of past days fetched on every run, so that missed runs are caught up
+     */
+    private final int lookbackDays;
+
+    /**
+     * Maximum number of currencies requested in a single Bundesbank API call
+     */
+    private final int maxCurrenciesPerCall;
+
+    private final Timer ingestionTimer;
+    private final Counter rowsCounter;
+    private final AtomicLong lastSuccessEpochSecond = new AtomicLong();
+
+    public ExchangeRateIngestionServiceImpl(CurrencyRepository currencyRepository,
+                                            BundesbankRateFetcher bundesbankRateFetcher,
+                                            ExchangeRateStoreService exchangeRateStoreService,
+                                            CurrencyCatalog currencyCatalog,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${scheduler.exchange-rates.lookback-days:7}") int lookbackDays,
+                                            @Value("${exchange-rates.fetch.max-currencies-per-call:10}") int maxCurrenciesPerCall) {
+        this.currencyRepository = currencyRepository;
+        this.bundesbankRateFetcher = bundesbankRateFetcher;
+        this.exchangeRateStoreService = exchangeRateStoreService;
+        this.currencyCatalog = currencyCatalog;
+        this.meterRegistry = meterRegistry;
+        this.lookbackDays = lookbackDays;
+        this.maxCurrenciesPerCall = maxCurrenciesPerCall;
+
+        this.ingestionTimer = Timer.builder("exchange.rates.ingestion.duration")
+                .description("Duration of the scheduled exchange rate ingestion")
+                .register(meterRegistry);
+        this.rowsCounter = Counter.builder("exchange.rates.ingestion.rows")
+                .description("Exchange rate rows written by the scheduled ingestion")
+                .register(meterRegistry);
+        meterRegistry.gauge("exchange.rates.ingestion.last.success", lastSuccessEpochSecond);
+    }
+
+    /**
+     * Fetches the last days of observations for every active currency and stores them.
+     * <p>
+     * A failed call is counted and logged for each currency of its group, and does not stop the other groups.
+     *
+     * @return Number of rows written
+     */
+    @Override
+    public int ingestLatestRates() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return ingest();
+        } finally {
+            sample.stop(ingestionTimer);
+        }
+    }
+
+    // =============== Private Helper Methods ===============
+
+    private int ingest() {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(lookbackDays);
+        List<String> currencyCodes = currencyRepository.findByActiveTrue().stream()
+                .map(Currency::getCode)
+                .filter(code -> !BASE_CURRENCY.equals(code))
+                .collect(Collectors.toList());
+        log.info("Ingesting exchange rates from {} to {} for {} active currencies",
+                startDate, endDate, currencyCodes.size());
+
+        int rowsWritten = 0;
+        int failures = 0;
+        for (List<String> group : ExchangeRateUtils.partition(currencyCodes, maxCurrenciesPerCall)) {
+            try {
+                List<ExchangeRateDto> rates = bundesbankRateFetcher.fetchRates(group, startDate, endDate);
+                int written = rates.isEmpty() ? 0 : exchangeRateStoreService.saveRates(rates);
+                rowsCounter.increment(written);
+                rowsWritten += written;
+            } catch (Exception e) {
+                failures += group.size();
+                group.forEach(code -> meterRegistry.counter("exchange.rates.ingestion.failures",
+                        "currency", currencyCatalog.meterTag(code)).increment());
+                log.error("Error ingesting exchange rates for currencies: " + group, e);
+            }
+        }
+
+        if (failures == 0) {
+            lastSuccessEpochSecond.set(Instant.now().getEpochSecond());
+        }
+
+        log.info("Exchange rate ingestion finished: {} rows written, {} currencies failed", rowsWritten, failures);
+        return rowsWritten;
+    }
+}
@@ -1,28 +1,44 @@
 package com.crewmeister.currencybackend.service.impl;
 
-import com.crewmeister.currencybackend.client.BundesbankClient;
+import com.crewmeister.currencybackend.cache.RateCacheKey;
+import com.crewmeister.currencybackend.cache.RateCacheKeyGenerator;
+import com.crewmeister.currencybackend.cache.RateRangeKey;
+import com.crewmeister.currencybackend.config.CacheConfig;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
 import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
 import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.dto.response.ExchangeRatePageDto;
 import com.crewmeister.currencybackend.exception.ExchangeRateNotFoundException;
 import com.crewmeister.currencybackend.exception.ExternalServiceException;
-import com.crewmeister.currencybackend.service.CurrencyService;
 import com.crewmeister.currencybackend.service.ExchangeRateService;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
 import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
-import com.crewmeister.currencybackend.utils.JsonParserUtils;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.crewmeister.currencybackend.utils.SingleFlight;
+import com.crewmeister.currencybackend.utils.TargetCalendar;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -34,8 +50,14 @@ import java.util.stream.Collectors;
  * Key Features:
  * - Fetches exchange rates for multiple currencies
  * - Supports date-based rate retrieval
- * - Handles currency conversions
+ * - Handles currency conversions to EUR or, via EUR triangulation, between any two currencies
  * - Provides fallback mechanisms for API interactions
+ * - Serves previously fetched rates from the database (read-through store)
+ * - Requests missing rates of several currencies with one multiplexed API call
+ * - Answers single-rate lookups from the in-memory rate matrix
+ * - Resolves conversion rates with the same rate resolver as the reactive service
+ * - Caches single-rate lookups; historic rates stay cached until evicted
+ * - Serves the rates of conversions to EUR from the same rate cache
  *
  * @author hiulusoy
  */
@@ -55,35 +77,67 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     private static final int DEFAULT_DAYS_RANGE = 30;
 
     /**
-     * Default format for API responses
+     * Calendar days searched back from the last business day when an on-or-before lookup misses the rate matrix
      */
-    private static final String DEFAULT_FORMAT = "json";
+    private static final int ON_OR_BEFORE_LOOKBACK_DAYS = 10;
 
     /**
-     * Default language for API responses
+     * Code of the reference currency all rates are quoted against
      */
-    private static final String DEFAULT_LANGUAGE = "en";
+    private static final String EURO = "EUR";
 
     /**
-     * Bundesbank API dataflow identifier
+     * Fetcher for exchange rates that are not stored yet
      */
-    @Value("${bundesbank.api.dataflow-id}")
-    private String dataflowId;
+    private final BundesbankRateFetcher bundesbankRateFetcher;
 
     /**
-     * Client for interacting with Bundesbank API
+     * In-memory catalog resolving currency names
      */
-    private final BundesbankClient bundesbankClient;
+    private final CurrencyCatalog currencyCatalog;
 
     /**
-     * JSON parsing utility
+     * Persistent store for exchange rates that were already fetched
      */
-    private final ObjectMapper objectMapper;
+    private final ExchangeRateStoreService exchangeRateStoreService;
 
     /**
-     * Service for retrieving currency information
+     * In-memory matrix of the stored rates
      */
-    private final CurrencyService currencyService;
+    private final RateMatrix rateMatrix;
+
+    /**
+     * Bounded executor the upstream fetches are fanned out on
+     */
+    @Qualifier("rateFetchExecutor")
+    private final Executor rateFetchExecutor;
+
+    /**
+     * Shares in-flight fetches of a currency and range between concurrent callers
+     */
+    private final SingleFlight<RateRangeKey, List<ExchangeRateDto>> rateFetchSingleFlight;
+
+    /**
+     * Resolves currency and date pairs the same way as the reactive service
+     */
+    private final RateResolver rateResolver;
+
+    /**
+     * Cache manager holding the single-rate cache that conversions read from
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Maximum number of currencies requested in a single Bundesbank API call
+     */
+    @Value("${exchange-rates.fetch.max-currencies-per-call:10}")
+    private int maxCurrenciesPerCall;
+
+    /**
+     * Maximum number of business days covered by one page of a range query
+     */
+    @Value("${exchange-rates.range.max-page-size:1000}")
+    private int maxPageSize;
 
     /**
      * Retrieves exchange rates for all default currencies for the past 30 days.
@@ -167,6 +221,7 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
      * @throws ExchangeRateNotFoundException if no rate is found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.EXCHANGE_RATES_CACHE, keyGenerator = RateCacheKeyGenerator.BEAN_NAME)
     public ExchangeRateDto getRateByCurrencyAndDate(String currencyCode, LocalDate date) {
         log.info("Getting exchange rate for currency: {} and date: {}", currencyCode, date);
 
@@ -175,6 +230,12 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
             return createEuroToEuroRate(date);
         }
 
+        // Serve the rate from the in-memory matrix when it is held there
+        BigDecimal matrixRate = rateMatrix.getRate(currencyCode, date);
+        if (matrixRate != null) {
+            return ExchangeRateUtils.buildExchangeRateDto(currencyCode, getCurrencyName(currencyCode), date, matrixRate);
+        }
+
         // Fetch rates for the specific currency
         List<ExchangeRateDto> rates = fetchRatesForCurrency(currencyCode, date, date);
 
@@ -185,6 +246,96 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
                 .orElseThrow(() -> new ExchangeRateNotFoundException(currencyCode, date));
     }
 
+    /**
+     * Retrieves the most recent exchange rate of a currency published on or before a given date.
+     * <p>
+     * Weekends and TARGET2 holidays are resolved with the business day calendar, without asking
+     * Bundesbank. When the rate matrix holds the rate of the last business day it is served from
+     * memory; otherwise the rates of a short window before that day are read from the store, and
+     * only its missing business days are fetched.
+     *
+     * @param currencyCode The currency code to retrieve the rate for
+     * @param date         Latest acceptable date of the rate
+     * @return ExchangeRateDto of the rate date, with the requested date
+     * @throws ExchangeRateNotFoundException if no rate was published within the lookback window
+     */
+    @Override
+    public ExchangeRateDto getRateOnOrBefore(String currencyCode, LocalDate date) {
+        log.info("Getting exchange rate for currency: {} on or before date: {}", currencyCode, date);
+
+        LocalDate today = LocalDate.now();
+        LocalDate lastBusinessDay = TargetCalendar.businessDayOnOrBefore(date.isAfter(today) ? today : date);
+
+        if (EURO.equals(currencyCode)) {
+            return withRequestedDate(createEuroToEuroRate(lastBusinessDay), date);
+        }
+
+        // Serve the rate from the in-memory matrix when it holds the last business day
+        LocalDate matrixDate = rateMatrix.findDateOnOrBefore(currencyCode, lastBusinessDay);
+        if (lastBusinessDay.equals(matrixDate)) {
+            return withRequestedDate(buildMatrixRate(currencyCode, matrixDate), date);
+        }
+
+        // The last business day may not be published yet, so search a short window before it
+        Optional<ExchangeRateDto> latestRate = fetchRatesForCurrency(
+                currencyCode, lastBusinessDay.minusDays(ON_OR_BEFORE_LOOKBACK_DAYS), lastBusinessDay)
+                .stream()
+                .max(Comparator.comparing(ExchangeRateDto::getDate));
+        if (latestRate.isPresent()) {
+            return withRequestedDate(latestRate.get(), date);
+        }
+
+        // Fall back to an older rate held by the matrix
+        if (matrixDate != null) {
+            return withRequestedDate(buildMatrixRate(currencyCode, matrixDate), date);
+        }
+        throw new ExchangeRateNotFoundException(currencyCode, date);
+    }
+
+    /**
+     * Retrieves one page of the exchange rates of a currency within a date range.
+     * <p>
+     * A page covers at most limit business days, starting the day after the cursor, or on the
+     * start date for the first page. Its rates are read from the store with a bounded range query;
+     * only the runs of business days that are not stored yet are fetched from Bundesbank.
+     *
+     * @param currencyCode The currency code to retrieve the rates for
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @param cursor       Cursor returned with the previous page, null for the first page
+     * @param limit        Maximum number of business days of the page, capped at the configured maximum
+     * @return ExchangeRatePageDto with the rates of the page and the cursor of the next page
+     * @throws IllegalArgumentException if the range or the limit is invalid
+     */
+    @Override
+    public ExchangeRatePageDto getRatesForRange(String currencyCode, LocalDate startDate, LocalDate endDate,
+                                                LocalDate cursor, int limit) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date " + endDate + " is before start date " + startDate);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive but was " + limit);
+        }
+
+        LocalDate pageStart = cursor == null || cursor.isBefore(startDate) ? startDate : cursor.plusDays(1);
+        if (pageStart.isAfter(endDate)) {
+            return ExchangeRatePageDto.builder().rates(Collections.emptyList()).build();
+        }
+
+        int pageSize = Math.min(limit, maxPageSize);
+        LocalDate pageEnd = ExchangeRateUtils.findPageEndDate(pageStart, endDate, pageSize);
+        log.info("Getting exchange rates for currency: {} from {} to {}", currencyCode, pageStart, pageEnd);
+
+        List<ExchangeRateDto> rates = EURO.equals(currencyCode)
+                ? createEuroToEuroRates(pageStart, pageEnd)
+                : fetchRatePage(currencyCode, pageStart, pageEnd, pageSize);
+
+        return ExchangeRatePageDto.builder()
+                .rates(rates)
+                .nextCursor(pageEnd.isBefore(endDate) ? pageEnd : null)
+                .build();
+    }
+
     /**
      * Converts an amount from a given currency to EUR.
      *
@@ -197,7 +348,7 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
                 request.getAmount(), request.getFromCurrency(), request.getDate());
 
         // Get the exchange rate for the source currency
-        ExchangeRateDto exchangeRate = getRateByCurrencyAndDate(request.getFromCurrency(), request.getDate());
+        ExchangeRateDto exchangeRate = getCachedRate(request.getFromCurrency(), request.getDate());
 
         // Perform the conversion
         BigDecimal convertedAmount = ExchangeRateUtils.convertAmount(request.getAmount(), exchangeRate.getRate());
@@ -206,10 +357,179 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         return ExchangeRateUtils.buildConversionResponse(request, exchangeRate, convertedAmount);
     }
 
+    /**
+     * Converts an amount from a given currency to the requested target currency.
+     * <p>
+     * Without a target currency, or with EUR, this is convertToEur. Otherwise the cross rate is
+     * triangulated from the EUR reference rates of both currencies. Both legs are resolved together:
+     * from the rate matrix, or with one multiplexed upstream call for the legs it does not hold.
+     *
+     * @param request Conversion request containing amount, source and target currency, and date
+     * @return ConversionResponseDto with the converted amount in the target currency
+     * @throws ExchangeRateNotFoundException if the rate of either currency cannot be found
+     */
+    @Override
+    public ConversionResponseDto convert(ConversionRequestDto request) {
+        String toCurrency = targetCurrency(request);
+        if (EURO.equals(toCurrency)) {
+            return convertToEur(request);
+        }
+
+        log.info("Converting {} {} to {} on date: {}",
+                request.getAmount(), request.getFromCurrency(), toCurrency, request.getDate());
+
+        Map<RateCacheKey, ExchangeRateDto> rates = resolveRates(Arrays.asList(
+                RateCacheKey.of(request.getFromCurrency(), request.getDate()),
+                RateCacheKey.of(toCurrency, request.getDate())));
+        return buildConversion(request, rates);
+    }
+
+    /**
+     * Converts many amounts, each to its requested target currency.
+     * <p>
+     * The requests are grouped by currency and date, so each distinct rate is resolved once
+     * no matter how many amounts use it. Responses are returned in request order. An amount
+     * whose rate cannot be found, e.g. on a weekend or holiday, does not fail the batch: its
+     * response carries the error instead of a converted amount.
+     *
+     * @param requests Conversion requests
+     * @return List of ConversionResponseDto in the order of the requests
+     */
+    @Override
+    public List<ConversionResponseDto> convertBatch(List<ConversionRequestDto> requests) {
+        Set<RateCacheKey> keys = new LinkedHashSet<>();
+        for (ConversionRequestDto request : requests) {
+            keys.add(RateCacheKey.of(request.getFromCurrency(), request.getDate()));
+            keys.add(RateCacheKey.of(targetCurrency(request), request.getDate()));
+        }
+
+        Map<RateCacheKey, ExchangeRateDto> rates = rateResolver.resolveAvailable(keys, this::fetchResolvedRates, rateFetchExecutor);
+        log.info("Converting {} amounts using {} of {} distinct rates", requests.size(), rates.size(), keys.size());
+
+        List<ConversionResponseDto> responses = new ArrayList<>(requests.size());
+        for (ConversionRequestDto request : requests) {
+            RateCacheKey missingKey = findMissingKey(request, rates);
+            responses.add(missingKey == null
+                    ? buildConversion(request, rates)
+                    : ExchangeRateUtils.buildFailedConversionResponse(request, targetCurrency(request),
+                    ExchangeRateNotFoundException.message(missingKey.getCurrencyCode(), missingKey.getDate())));
+        }
+        return responses;
+    }
+
     // =============== Private Helper Methods ===============
 
+    /**
+     * Looks up a single rate through the exchange rate cache.
+     * <p>
+     * Calls from within this service bypass the @Cacheable proxy of getRateByCurrencyAndDate,
+     * so the cache is read and filled here, under the key the proxy uses.
+     *
+     * @param currencyCode Currency code
+     * @param date         Date of the rate
+     * @return The exchange rate of the currency on the date
+     */
+    private ExchangeRateDto getCachedRate(String currencyCode, LocalDate date) {
+        Cache cache = cacheManager.getCache(CacheConfig.EXCHANGE_RATES_CACHE);
+        RateCacheKey key = RateCacheKey.of(currencyCode, date);
+        ExchangeRateDto cached = cache.get(key, ExchangeRateDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        ExchangeRateDto rate = getRateByCurrencyAndDate(currencyCode, date);
+        cache.put(key, rate);
+        return rate;
+    }
+
+    /**
+     * Resolves the EUR reference rates of several currency and date pairs at once.
+     * <p>
+     * Resolution is shared with the reactive service: EUR, the rate matrix and the store first,
+     * then multiplexed upstream calls on the rate fetch executor for the missing business days.
+     *
+     * @param keys Currency and date pairs to resolve
+     * @return Rates by currency and date pair
+     * @throws ExchangeRateNotFoundException if any pair has no rate
+     */
+    private Map<RateCacheKey, ExchangeRateDto> resolveRates(Collection<RateCacheKey> keys) {
+        return rateResolver.resolve(keys, this::fetchResolvedRates, rateFetchExecutor);
+    }
+
+    /**
+     * Fetches the rates of one upstream call planned by the rate resolver and writes them to the store.
+     * <p>
+     * A failing call is logged and skipped, so its pairs are reported as not found.
+     *
+     * @param fetch Currencies and range to fetch
+     * @return Unmodifiable list of the fetched rates, as it may be shared between callers
+     */
+    private List<ExchangeRateDto> fetchResolvedRates(RateResolver.RateFetch fetch) {
+        try {
+            List<ExchangeRateDto> fetchedRates = bundesbankRateFetcher.fetchRates(
+                    fetch.getCurrencyCodes(), fetch.getStartDate(), fetch.getEndDate());
+            storeFetchedRates(fetchedRates);
+            return Collections.unmodifiableList(fetchedRates);
+        } catch (Exception e) {
+            // Log and skip calls with fetch errors
+            log.error("Error fetching rates for currencies: " + fetch.getCurrencyCodes(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Builds the conversion response for a request from resolved rates.
+     *
+     * @param request Conversion request
+     * @param rates   Resolved rates by currency and date pair
+     * @return ConversionResponseDto for the request
+     */
+    private ConversionResponseDto buildConversion(ConversionRequestDto request, Map<RateCacheKey, ExchangeRateDto> rates) {
+        ExchangeRateDto fromRate = rates.get(RateCacheKey.of(request.getFromCurrency(), request.getDate()));
+        String toCurrency = targetCurrency(request);
+
+        if (EURO.equals(toCurrency)) {
+            BigDecimal convertedAmount = ExchangeRateUtils.convertAmount(request.getAmount(), fromRate.getRate());
+            return ExchangeRateUtils.buildConversionResponse(request, fromRate, convertedAmount);
+        }
+
+        ExchangeRateDto toRate = rates.get(RateCacheKey.of(toCurrency, request.getDate()));
+        BigDecimal convertedAmount = ExchangeRateUtils.convertCrossAmount(request.getAmount(), fromRate.getRate(), toRate.getRate());
+        return ExchangeRateUtils.buildCrossConversionResponse(request, fromRate, toRate, convertedAmount);
+    }
+
+    /**
+     * Finds a rate a conversion request needs that was not resolved.
+     *
+     * @param request Conversion request
+     * @param rates   Resolved rates by currency and date pair
+     * @return Key of the source or target rate that is missing, or null if both are resolved
+     */
+    private RateCacheKey findMissingKey(ConversionRequestDto request, Map<RateCacheKey, ExchangeRateDto> rates) {
+        RateCacheKey fromKey = RateCacheKey.of(request.getFromCurrency(), request.getDate());
+        if (!rates.containsKey(fromKey)) {
+            return fromKey;
+        }
+        RateCacheKey toKey = RateCacheKey.of(targetCurrency(request), request.getDate());
+        return rates.containsKey(toKey) ? null : toKey;
+    }
+
+    /**
+     * Returns the target currency of a conversion request, EUR if none is given.
+     *
+     * @param request Conversion request
+     * @return Target currency code
+     */
+    private String targetCurrency(ConversionRequestDto request) {
+        return request.getToCurrency() == null || request.getToCurrency().isEmpty() ? EURO : request.getToCurrency();
+    }
+
     /**
      * Fetches exchange rates for multiple currencies within a specified date range.
+     * <p>
+     * Stored rates are looked up per currency first. The currencies that still have missing
+     * business days are requested together, in groups of at most maxCurrenciesPerCall, with one
+     * multiplexed Bundesbank call per group covering the union of their missing spans. The groups
+     * run concurrently on the rate fetch executor. A failing currency or group is logged and skipped.
      *
      * @param currencies List of currency codes to fetch rates for
      * @param startDate  Start date of the range
@@ -218,96 +538,272 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
      */
     private List<ExchangeRateDto> fetchRatesForCurrencies(List<String> currencies, LocalDate startDate, LocalDate endDate) {
         List<ExchangeRateDto> allRates = new ArrayList<>();
+        Map<String, Set<LocalDate>> storedDatesByCurrency = new LinkedHashMap<>();
+        Map<String, List<LocalDate>> missingDatesByCurrency = new LinkedHashMap<>();
 
+        // Serve what the store already has and collect the gaps
         for (String currency : currencies) {
             try {
-                // Fetch rates for each currency
-                List<ExchangeRateDto> currencyRates = fetchRatesForCurrency(currency, startDate, endDate);
-                allRates.addAll(currencyRates);
+                List<ExchangeRateDto> storedRates = exchangeRateStoreService.findRates(currency, startDate, endDate);
+                allRates.addAll(storedRates);
+
+                Set<LocalDate> storedDates = collectDates(storedRates);
+                List<LocalDate> missingDates = findMissingDates(storedDates, startDate, endDate);
+                if (!missingDates.isEmpty()) {
+                    storedDatesByCurrency.put(currency, storedDates);
+                    missingDatesByCurrency.put(currency, missingDates);
+                }
             } catch (Exception e) {
-                // Log and skip currencies with fetch errors
-                log.error("Error fetching rates for currency: " + currency, e);
+                // Log and skip currencies with lookup errors
+                log.error("Error reading stored rates for currency: " + currency, e);
             }
         }
 
+        if (missingDatesByCurrency.isEmpty()) {
+            log.debug("Serving {} rates for {} from the store", allRates.size(), currencies);
+            return allRates;
+        }
+
+        // One upstream call per group of currencies with gaps
+        List<List<String>> groups = ExchangeRateUtils.partition(
+                new ArrayList<>(missingDatesByCurrency.keySet()), maxCurrenciesPerCall);
+        List<CompletableFuture<List<ExchangeRateDto>>> futures = groups.stream()
+                .map(group -> CompletableFuture
+                        .supplyAsync(() -> fetchMissingRates(group, missingDatesByCurrency), rateFetchExecutor)
+                        .exceptionally(e -> {
+                            // Log and skip groups with fetch errors
+                            log.error("Error fetching rates for currencies: " + group, e);
+                            return Collections.emptyList();
+                        }))
+                .collect(Collectors.toList());
+
+        // Merge fetched rates, dropping the ones that were already served from the store
+        futures.forEach(future -> future.join().stream()
+                .filter(rate -> storedDatesByCurrency.containsKey(rate.getCurrencyCode()))
+                .filter(rate -> !storedDatesByCurrency.get(rate.getCurrencyCode()).contains(rate.getDate()))
+                .forEach(allRates::add));
+
         return allRates;
     }
 
+    /**
+     * Fetches the missing rates of a group of currencies with a single Bundesbank API call.
+     * <p>
+     * The requested span runs from the earliest to the latest missing day of any currency in
+     * the group. The fetched rates are written back to the store.
+     *
+     * @param currencies             Currency codes of the group
+     * @param missingDatesByCurrency Missing business days per currency, in ascending order
+     * @return List of ExchangeRateDto fetched for the group
+     */
+    private List<ExchangeRateDto> fetchMissingRates(List<String> currencies, Map<String, List<LocalDate>> missingDatesByCurrency) {
+        LocalDate spanStart = null;
+        LocalDate spanEnd = null;
+        for (String currency : currencies) {
+            List<LocalDate> missingDates = missingDatesByCurrency.get(currency);
+            LocalDate first = missingDates.get(0);
+            LocalDate last = missingDates.get(missingDates.size() - 1);
+            spanStart = spanStart == null || first.isBefore(spanStart) ? first : spanStart;
+            spanEnd = spanEnd == null || last.isAfter(spanEnd) ? last : spanEnd;
+        }
+
+        List<ExchangeRateDto> fetchedRates = bundesbankRateFetcher.fetchRates(currencies, spanStart, spanEnd);
+        storeFetchedRates(fetchedRates);
+        return fetchedRates;
+    }
+
     /**
      * Fetches exchange rates for a single currency within a specified date range.
+     * <p>
+     * Rates are read from the persistent store first. Only when business days of the range
+     * are missing is the Bundesbank API called, for the span between the first and the last
+     * missing day, and the fetched rates are written back to the store.
+     * <p>
+     * Concurrent calls for the same currency and range share one load and receive its result or error.
      *
      * @param currencyCode Currency code to fetch rates for
      * @param startDate    Start date of the range
      * @param endDate      End date of the range
-     * @return List of ExchangeRateDto for the specified currency and date range
+     * @return Unmodifiable list of ExchangeRateDto for the specified currency and date range
      */
     private List<ExchangeRateDto> fetchRatesForCurrency(String currencyCode, LocalDate startDate, LocalDate endDate) {
-        // Construct the currency key for Bundesbank API
-        String key = ExchangeRateUtils.buildCurrencyKey(currencyCode, ".EUR.BB.AC.000");
-        String startDateStr = ExchangeRateUtils.formatDate(startDate);
-        String endDateStr = ExchangeRateUtils.formatDate(endDate);
+        return rateFetchSingleFlight.execute(RateRangeKey.of(currencyCode, startDate, endDate),
+                () -> loadRatesForCurrency(currencyCode, startDate, endDate));
+    }
 
-        try {
-            // Fetch raw JSON data from Bundesbank API
-            String ratesJson = bundesbankClient.getDataForDateRange(
-                    dataflowId,
-                    key,
-                    DEFAULT_FORMAT,
-                    DEFAULT_LANGUAGE,
-                    startDateStr,
-                    endDateStr);
-
-            // Parse the JSON response
-            return parseExchangeRatesForCurrency(currencyCode, ratesJson);
-        } catch (feign.FeignException.NotFound e) {
-            // Handle cases where no data is found for the currency
-            log.warn("No data found for currency {} in date range {} to {}",
-                    currencyCode, startDateStr, endDateStr);
-            return new ArrayList<>();
+    /**
+     * Loads the rates of a currency within a date range from the store, fetching the missing span.
+     *
+     * @param currencyCode Currency code to load rates for
+     * @param startDate    Start date of the range
+     * @param endDate      End date of the range
+     * @return Unmodifiable list of ExchangeRateDto, as it may be shared between callers
+     */
+    private List<ExchangeRateDto> loadRatesForCurrency(String currencyCode, LocalDate startDate, LocalDate endDate) {
+        List<ExchangeRateDto> storedRates = exchangeRateStoreService.findRates(currencyCode, startDate, endDate);
+        Set<LocalDate> storedDates = collectDates(storedRates);
+        List<LocalDate> missingDates = findMissingDates(storedDates, startDate, endDate);
+
+        if (missingDates.isEmpty()) {
+            log.debug("Serving {} rates for {} from {} to {} from the store", storedRates.size(), currencyCode, startDate, endDate);
+            return Collections.unmodifiableList(storedRates);
         }
+
+        // Fetch only the missing span from Bundesbank
+        List<ExchangeRateDto> fetchedRates = bundesbankRateFetcher.fetchRates(
+                currencyCode, missingDates.get(0), missingDates.get(missingDates.size() - 1));
+        storeFetchedRates(fetchedRates);
+
+        List<ExchangeRateDto> rates = new ArrayList<>(storedRates);
+        fetchedRates.stream()
+                .filter(rate -> !storedDates.contains(rate.getDate()))
+                .forEach(rates::add);
+        return Collections.unmodifiableList(rates);
     }
 
     /**
-     * Creates a fixed ExchangeRateDto for EUR/EUR (always 1.0).
+     * Retrieves the rates of a currency for one page, filling the gaps of the store from Bundesbank.
+     * <p>
+     * Each run of consecutive missing business days is fetched with its own call, so stored
+     * days between two gaps are never requested again.
      *
-     * @param date The date for the EUR rate
-     * @return ExchangeRateDto with a rate of 1.0 for EUR
+     * @param currencyCode Currency code to retrieve rates for
+     * @param pageStart    First date of the page
+     * @param pageEnd      Last date of the page
+     * @param pageSize     Maximum number of business days of the page
+     * @return List of ExchangeRateDto of the page ordered by date
      */
-    private ExchangeRateDto createEuroToEuroRate(LocalDate date) {
-        String currencyName = getCurrencyName("EUR");
+    private List<ExchangeRateDto> fetchRatePage(String currencyCode, LocalDate pageStart, LocalDate pageEnd, int pageSize) {
+        List<ExchangeRateDto> storedRates = exchangeRateStoreService.findRates(currencyCode, pageStart, pageEnd, pageSize);
+        Set<LocalDate> storedDates = collectDates(storedRates);
+        List<LocalDate> missingDates = findMissingDates(storedDates, pageStart, pageEnd);
+
+        if (missingDates.isEmpty()) {
+            return storedRates;
+        }
+
+        List<ExchangeRateDto> rates = new ArrayList<>(storedRates);
+        for (List<LocalDate> run : ExchangeRateUtils.splitIntoConsecutiveRuns(missingDates)) {
+            List<ExchangeRateDto> fetchedRates = bundesbankRateFetcher.fetchRates(
+                    currencyCode, run.get(0), run.get(run.size() - 1));
+            storeFetchedRates(fetchedRates);
+            fetchedRates.stream()
+                    .filter(rate -> !storedDates.contains(rate.getDate()))
+                    .forEach(rates::add);
+        }
+
+        rates.sort(Comparator.comparing(ExchangeRateDto::getDate));
+        return rates;
+    }
+
+    /**
+     * Builds the rate of a currency on a date held by the rate matrix.
+     *
+     * @param currencyCode Currency code of the rate
+     * @param date         Date the matrix holds a rate for
+     * @return ExchangeRateDto of the matrix rate
+     */
+    private ExchangeRateDto buildMatrixRate(String currencyCode, LocalDate date) {
+        return ExchangeRateUtils.buildExchangeRateDto(
+                currencyCode, getCurrencyName(currencyCode), date, rateMatrix.getRate(currencyCode, date));
+    }
+
+    /**
+     * Copies a rate and records the date that was asked for.
+     *
+     * @param rate          Rate to copy
+     * @param requestedDate Date the rate was requested for
+     * @return Copy of the rate with the requested date
+     */
+    private ExchangeRateDto withRequestedDate(ExchangeRateDto rate, LocalDate requestedDate) {
         return ExchangeRateDto.builder()
-                .currencyCode("EUR")
-                .currencyName(currencyName)
-                .date(date)
-                .rate(BigDecimal.ONE) // EUR/EUR rate is always 1.0
+                .currencyCode(rate.getCurrencyCode())
+                .currencyName(rate.getCurrencyName())
+                .date(rate.getDate())
+                .rate(rate.getRate())
+                .requestedDate(requestedDate)
                 .build();
     }
 
     /**
-     * Parses JSON response from Bundesbank API to extract exchange rates.
+     * Creates the EUR/EUR rates for the business days of a range.
      *
-     * @param currencyCode Currency code to parse rates for
-     * @param json         Raw JSON response from the API
-     * @return List of ExchangeRateDto parsed from the JSON
-     * @throws ExternalServiceException if parsing fails
+     * @param startDate Start date of the range
+     * @param endDate   End date of the range
+     * @return List of ExchangeRateDto with a rate of 1.0 for every business day
      */
-    private List<ExchangeRateDto> parseExchangeRatesForCurrency(String currencyCode, String json) {
-        try {
-            // Parse the JSON
-            JsonNode root = objectMapper.readTree(json);
+    private List<ExchangeRateDto> createEuroToEuroRates(LocalDate startDate, LocalDate endDate) {
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (ExchangeRateUtils.isBusinessDay(date)) {
+                rates.add(createEuroToEuroRate(date));
+            }
+        }
+        return rates;
+    }
 
-            // Extract time periods
-            Map<Integer, LocalDate> timePeriods = ExchangeRateUtils.extractTimePeriods(root);
+    /**
+     * Collects the dates of the given rates.
+     *
+     * @param rates Exchange rates
+     * @return Set of the rate dates
+     */
+    private Set<LocalDate> collectDates(List<ExchangeRateDto> rates) {
+        return rates.stream()
+                .map(ExchangeRateDto::getDate)
+                .collect(Collectors.toSet());
+    }
 
-            // Extract and return rates
-            return JsonParserUtils.extractRatesFromJson(root, currencyCode, timePeriods, this::getCurrencyName);
+    /**
+     * Finds the business days of a range that have no stored rate.
+     *
+     * @param storedDates Dates that already have a stored rate
+     * @param startDate   Start date of the range
+     * @param endDate     End date of the range
+     * @return Missing business days in ascending order
+     */
+    private List<LocalDate> findMissingDates(Set<LocalDate> storedDates, LocalDate startDate, LocalDate endDate) {
+        // Rates cannot exist for future dates, so only look for gaps up to today
+        LocalDate today = LocalDate.now();
+        LocalDate lastPublishableDate = endDate.isAfter(today) ? today : endDate;
+        return ExchangeRateUtils.findMissingBusinessDays(storedDates, startDate, lastPublishableDate);
+    }
 
+    /**
+     * Writes rates fetched from the Bundesbank API back to the persistent store.
+     * <p>
+     * Storing is best effort: a failure is logged and the fetched rates are still served.
+     *
+     * @param rates Rates fetched from the Bundesbank API
+     */
+    private void storeFetchedRates(List<ExchangeRateDto> rates) {
+        if (rates.isEmpty()) {
+            return;
+        }
+
+        try {
+            exchangeRateStoreService.saveRates(rates);
         } catch (Exception e) {
-            log.error("Error parsing exchange rates JSON for " + currencyCode, e);
-            throw new ExternalServiceException("Failed to parse exchange rates: " + e.getMessage(), e);
+            log.warn("Could not store {} fetched exchange rates: {}", rates.size(), e.getMessage());
         }
     }
 
+    /**
+     * Creates a fixed ExchangeRateDto for EUR/EUR (always 1.0).
+     *
+     * @param date The date for the EUR rate
+     * @return ExchangeRateDto with a rate of 1.0 for EUR
+     */
+    private ExchangeRateDto createEuroToEuroRate(LocalDate date) {
+        String currencyName = getCurrencyName("EUR");
+        return ExchangeRateDto.builder()
+                .currencyCode("EUR")
+                .currencyName(currencyName)
+                .date(date)
+                .rate(BigDecimal.ONE) // EUR/EUR rate is always 1.0
+                .build();
+    }
+
     /**
      * Retrieves the full name of a currency.
      *
@@ -315,11 +811,6 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
      * @return Currency name or the currency code if name cannot be found
      */
     private String getCurrencyName(String currencyCode) {
-        try {
-            return currencyService.getCurrencyByCode(currencyCode).getName();
-        } catch (Exception e) {
-            // Fallback to currency code if name cannot be retrieved
-            return currencyCode;
-        }
+        return currencyCatalog.getName(currencyCode);
     }
 }
@@ -0,0 +1,234 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.ExchangeRate;
+import com.crewmeister.currencybackend.mapper.ExchangeRateMapper;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.repository.ExchangeRateRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ExchangeRateStoreService backed by the exchange_rates table.
+ * <p>
+ * Historic reference rates never change once published, so every rate fetched from
+ * the Bundesbank API is written here and served from the database afterwards.
+ * <p>
+ * Rows are inserted in batches with one multi-row statement each instead of JPA saveAll: the
+ * IDENTITY id generation of ExchangeRate disables Hibernate insert batching, which made bulk
+ * imports issue one statement per row. Inserts skip rows a concurrent writer stored in the
+ * meantime, and the update count of each statement is the number of rows it actually inserted.
+ * Committed rows are also published to the in-memory RateMatrix.
+ *
+ * @author hiulusoy
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateStoreServiceImpl implements ExchangeRateStoreService {
+
+    /**
+     * Insert statement for a batch of rows passed as one array per column, leaving rows stored
+     * by concurrent writers untouched
+     */
+    private static final String INSERT_RATES_SQL = "INSERT INTO exchange_rates (currency_code, rate_date, rate) "
+            + "SELECT * FROM unnest(?::varchar[], ?::date[], ?::numeric[]) "
+            + "ON CONFLICT (currency_code, rate_date) DO NOTHING";
+
+    /**
+     * SQL type the column arrays are sent as before they are cast to the column types
+     */
+    private static final String ARRAY_ELEMENT_TYPE = "varchar";
+
+    /**
+     * Entity property the stored rates are ordered by
+     */
+    private static final String RATE_DATE_PROPERTY = "rateDate";
+
+    /**
+     * Number of rows sent to the database per insert statement
+     */
+    @Value("${exchange-rates.store.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Repository for performing exchange rate database operations
+     */
+    private final ExchangeRateRepository exchangeRateRepository;
+
+    /**
+     * Repository for resolving the currency of a stored rate
+     */
+    private final CurrencyRepository currencyRepository;
+
+    /**
+     * Mapper for converting ExchangeRate entities to ExchangeRateDto objects
+     */
+    private final ExchangeRateMapper exchangeRateMapper;
+
+    /**
+     * JDBC template used for batched inserts
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * In-memory matrix that is kept in sync with the stored rates
+     */
+    private final RateMatrix rateMatrix;
+
+    /**
+     * Retrieves the stored rates for a currency within a date range.
+     *
+     * @param currencyCode Currency code to retrieve rates for
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @return List of ExchangeRateDto ordered by date
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExchangeRateDto> findRates(String currencyCode, LocalDate startDate, LocalDate endDate) {
+        return exchangeRateRepository.findByCurrencyCodeAndRateDateBetween(currencyCode, startDate, endDate)
+                .stream()
+                .map(exchangeRateMapper::mapToDto)
+                .sorted(Comparator.comparing(ExchangeRateDto::getDate))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves at most limit stored rates for a currency within a date range.
+     * <p>
+     * The rates are read in date order with a LIMIT, so the result never exceeds one page.
+     *
+     * @param currencyCode Currency code to retrieve rates for
+     * @param startDate    Start date of the range (inclusive)
+     * @param endDate      End date of the range (inclusive)
+     * @param limit        Maximum number of rates to return
+     * @return List of ExchangeRateDto ordered by date
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExchangeRateDto> findRates(String currencyCode, LocalDate startDate, LocalDate endDate, int limit) {
+        return exchangeRateRepository.findByCurrencyCodeAndRateDateBetween(
+                        currencyCode, startDate, endDate, PageRequest.of(0, limit, Sort.by(RATE_DATE_PROPERTY)))
+                .stream()
+                .map(exchangeRateMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the given rates to the database, skipping rows that are already stored
+     * and rates for currencies that are unknown to the currencies table.
+     *
+     * @param rates Exchange rates to store
+     * @return Number of rows written
+     */
+    @Override
+    @Transactional
+    public int saveRates(List<ExchangeRateDto> rates) {
+        Map<String, List<ExchangeRateDto>> ratesByCurrency = rates.stream()
+                .collect(Collectors.groupingBy(ExchangeRateDto::getCurrencyCode));
+
+        List<ExchangeRateDto> newRates = new ArrayList<>();
+        for (Map.Entry<String, List<ExchangeRateDto>> entry : ratesByCurrency.entrySet()) {
+            if (!currencyRepository.existsById(entry.getKey())) {
+                log.debug("Skipping {} rates for unknown currency {}", entry.getValue().size(), entry.getKey());
+                continue;
+            }
+
+            newRates.addAll(collectNewRates(entry.getKey(), entry.getValue()));
+        }
+
+        if (newRates.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (List<ExchangeRateDto> batch : ExchangeRateUtils.partition(newRates, batchSize)) {
+            written += insertBatch(batch);
+        }
+        log.debug("Stored {} of {} new exchange rates", written, newRates.size());
+        publishToMatrix(newRates);
+        return written;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Inserts a batch of rates with a single statement.
+     *
+     * @param batch Rates to insert
+     * @return Number of rows inserted, without the rows skipped by ON CONFLICT DO NOTHING
+     */
+    private int insertBatch(List<ExchangeRateDto> batch) {
+        return jdbcTemplate.update(INSERT_RATES_SQL, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf(ARRAY_ELEMENT_TYPE,
+                    batch.stream().map(ExchangeRateDto::getCurrencyCode).toArray()));
+            statement.setArray(2, connection.createArrayOf(ARRAY_ELEMENT_TYPE,
+                    batch.stream().map(rate -> rate.getDate().toString()).toArray()));
+            statement.setArray(3, connection.createArrayOf(ARRAY_ELEMENT_TYPE,
+                    batch.stream().map(rate -> rate.getRate().toPlainString()).toArray()));
+        });
+    }
+
+    /**
+     * Filters out the rates of a currency that are already stored.
+     *
+     * @param currencyCode Currency code the rates belong to
+     * @param rates        Rates fetched for the currency
+     * @return List of rates that are not stored yet
+     */
+    private List<ExchangeRateDto> collectNewRates(String currencyCode, List<ExchangeRateDto> rates) {
+        LocalDate startDate = rates.stream().map(ExchangeRateDto::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate endDate = rates.stream().map(ExchangeRateDto::getDate).max(LocalDate::compareTo).orElseThrow();
+
+        Set<LocalDate> storedDates = exchangeRateRepository
+                .findByCurrencyCodeAndRateDateBetween(currencyCode, startDate, endDate)
+                .stream()
+                .map(ExchangeRate::getRateDate)
+                .collect(Collectors.toSet());
+
+        return rates.stream()
+                .filter(rate -> storedDates.add(rate.getDate()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Publishes stored rates to the rate matrix once the surrounding transaction has committed,
+     * or immediately when no transaction is active.
+     *
+     * @param rates Rates that were written
+     */
+    private void publishToMatrix(List<ExchangeRateDto> rates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rateMatrix.putAll(rates);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rateMatrix.putAll(rates);
+            }
+        });
+    }
+}
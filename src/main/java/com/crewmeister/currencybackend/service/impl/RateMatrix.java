@@ -0,0 +1,366 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory matrix of all stored exchange rates for allocation-free lookups.
+ * <p>
+ * Rates are kept as longs scaled to the precision of the exchange_rates column, in one
+ * flat row per currency indexed by the epoch-day offset from the first stored date of
+ * that currency. A missing day is stored as 0, which is never a valid rate.
+ * <p>
+ * Key Features:
+ * - O(1) lookup by currency and date, without touching the database
+ * - On-or-before lookup for days without a published rate
+ * - Lock-free reads: writers publish a new immutable snapshot, copying only the rows they change
+ * - Loaded from the database on startup and fed by every write to the rate store
+ * - Writes made while a load runs are replayed onto the loaded snapshot, so none are lost
+ * - Data version that changes with every published snapshot, for HTTP validators
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateMatrix {
+
+    /**
+     * Decimal scale of the stored rates, matching the exchange_rates.rate column
+     */
+    public static final int RATE_SCALE = 6;
+
+    /**
+     * Marker for days without a rate
+     */
+    private static final long NO_RATE = 0L;
+
+    /**
+     * Date bounds of the stored rates per currency, used to size the rows before loading
+     */
+    private static final String SELECT_BOUNDS_SQL = "SELECT currency_code, MIN(rate_date), MAX(rate_date) "
+            + "FROM exchange_rates GROUP BY currency_code";
+
+    /**
+     * All stored rates
+     */
+    private static final String SELECT_RATES_SQL = "SELECT currency_code, rate_date, rate FROM exchange_rates";
+
+    /**
+     * Whether the matrix is loaded from the database when the application is ready
+     */
+    @Value("${exchange-rates.matrix.preload:true}")
+    private boolean preload;
+
+    /**
+     * JDBC template used to load the stored rates
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Currently published snapshot
+     */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Version of the published data; seeded from the clock so versions differ across restarts
+     */
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * Serializes writers; readers never take it
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Serializes loads, so only one records the writes made while it runs
+     */
+    private final Object loadLock = new Object();
+
+    /**
+     * Rates written while a load is running, replayed before the loaded snapshot is published;
+     * null while no load runs. Guarded by writeLock.
+     */
+    private List<ExchangeRateDto> writesDuringLoad;
+
+    /**
+     * Loads all stored rates once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (preload) {
+            load();
+        }
+    }
+
+    /**
+     * Replaces the matrix with the rates currently stored in the database.
+     * <p>
+     * The database is read without holding the write lock, so rates written meanwhile are
+     * recorded and applied to the loaded snapshot before it is published. Writes reach the
+     * matrix after their transaction commits, so every rate is either read by the load or
+     * recorded during it.
+     *
+     * @return Number of loaded rates
+     */
+    public int load() {
+        synchronized (loadLock) {
+            synchronized (writeLock) {
+                writesDuringLoad = new ArrayList<>();
+            }
+            try {
+                return loadFromDatabase();
+            } finally {
+                synchronized (writeLock) {
+                    writesDuringLoad = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds rates to the matrix and publishes a new snapshot.
+     * <p>
+     * Only the rows of the affected currencies are copied; rows grow to cover new dates.
+     *
+     * @param rates Rates to add
+     */
+    public void putAll(Collection<ExchangeRateDto> rates) {
+        if (rates.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            if (writesDuringLoad != null) {
+                writesDuringLoad.addAll(rates);
+            }
+            snapshot.set(withRates(snapshot.get(), rates));
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the version of the published data, which changes whenever rates are added.
+     *
+     * @return Current data version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Retrieves the rate of a currency on a given date.
+     *
+     * @param currencyCode Currency code to look up
+     * @param date         Date of the rate
+     * @return Rate, or null if no rate is held for that day
+     */
+    public BigDecimal getRate(String currencyCode, LocalDate date) {
+        long scaled = getScaledRate(currencyCode, date.toEpochDay());
+        return scaled == NO_RATE ? null : BigDecimal.valueOf(scaled, RATE_SCALE);
+    }
+
+    /**
+     * Retrieves the scaled rate of a currency on a given epoch day without allocating.
+     *
+     * @param currencyCode Currency code to look up
+     * @param epochDay     Epoch day of the rate
+     * @return Rate scaled by 10^RATE_SCALE, or 0 if no rate is held for that day
+     */
+    public long getScaledRate(String currencyCode, long epochDay) {
+        Snapshot current = snapshot.get();
+        Integer index = current.currencyIndex.get(currencyCode);
+        if (index == null) {
+            return NO_RATE;
+        }
+
+        long offset = epochDay - current.firstDays[index];
+        long[] row = current.rows[index];
+        return offset < 0 || offset >= row.length ? NO_RATE : row[(int) offset];
+    }
+
+    /**
+     * Finds the latest day on or before the given date that has a rate for the currency.
+     *
+     * @param currencyCode Currency code to look up
+     * @param date         Latest acceptable date
+     * @return Date of the rate, or null if the currency has no rate on or before the date
+     */
+    public LocalDate findDateOnOrBefore(String currencyCode, LocalDate date) {
+        Snapshot current = snapshot.get();
+        Integer index = current.currencyIndex.get(currencyCode);
+        if (index == null) {
+            return null;
+        }
+
+        long[] row = current.rows[index];
+        long offset = Math.min(date.toEpochDay() - current.firstDays[index], row.length - 1L);
+        for (int i = (int) offset; i >= 0; i--) {
+            if (row[i] != NO_RATE) {
+                return LocalDate.ofEpochDay(current.firstDays[index] + i);
+            }
+        }
+        return null;
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Reads all stored rates into a new snapshot and publishes it together with the rates
+     * written since the load started.
+     *
+     * @return Number of loaded rates
+     */
+    private int loadFromDatabase() {
+        long started = System.nanoTime();
+        Map<String, long[]> bounds = new HashMap<>();
+        jdbcTemplate.query(SELECT_BOUNDS_SQL, rs -> {
+            bounds.put(rs.getString(1), new long[]{
+                    rs.getDate(2).toLocalDate().toEpochDay(),
+                    rs.getDate(3).toLocalDate().toEpochDay()});
+        });
+
+        // Size every row up front, then fill it while streaming the rates
+        Map<String, Integer> currencyIndex = new HashMap<>();
+        long[] firstDays = new long[bounds.size()];
+        long[][] rows = new long[bounds.size()][];
+        for (Map.Entry<String, long[]> entry : bounds.entrySet()) {
+            int index = currencyIndex.size();
+            currencyIndex.put(entry.getKey(), index);
+            firstDays[index] = entry.getValue()[0];
+            rows[index] = new long[(int) (entry.getValue()[1] - entry.getValue()[0] + 1)];
+        }
+
+        int[] loaded = new int[1];
+        jdbcTemplate.query(SELECT_RATES_SQL, rs -> {
+            Integer index = currencyIndex.get(rs.getString(1));
+            if (index == null) {
+                // Stored after the bounds were read; replayed from the writes recorded during the load
+                return;
+            }
+            long offset = rs.getDate(2).toLocalDate().toEpochDay() - firstDays[index];
+            if (offset >= 0 && offset < rows[index].length) {
+                rows[index][(int) offset] = toScaled(rs.getBigDecimal(3));
+                loaded[0]++;
+            }
+        });
+
+        int replayed;
+        synchronized (writeLock) {
+            Snapshot loadedSnapshot = new Snapshot(currencyIndex, firstDays, rows);
+            replayed = writesDuringLoad.size();
+            if (replayed > 0) {
+                loadedSnapshot = withRates(loadedSnapshot, writesDuringLoad);
+            }
+            snapshot.set(loadedSnapshot);
+            version.incrementAndGet();
+        }
+        log.info("Loaded {} exchange rates for {} currencies into the rate matrix in {} ms, replayed {} concurrent writes",
+                loaded[0], currencyIndex.size(), (System.nanoTime() - started) / 1_000_000, replayed);
+        return loaded[0];
+    }
+
+    /**
+     * Builds a snapshot holding the given rates on top of an existing one.
+     * <p>
+     * Only the rows of the affected currencies are copied; rows grow to cover new dates.
+     */
+    private static Snapshot withRates(Snapshot current, Collection<ExchangeRateDto> rates) {
+        Map<String, Integer> currencyIndex = current.currencyIndex;
+        long[] firstDays = current.firstDays;
+        long[][] rows = current.rows;
+
+        // Determine the new bounds of every affected row
+        Map<Integer, long[]> newBounds = new HashMap<>();
+        for (ExchangeRateDto rate : rates) {
+            Integer index = currencyIndex.get(rate.getCurrencyCode());
+            if (index == null) {
+                if (currencyIndex == current.currencyIndex) {
+                    currencyIndex = new HashMap<>(current.currencyIndex);
+                }
+                index = currencyIndex.size();
+                currencyIndex.put(rate.getCurrencyCode(), index);
+            }
+
+            long epochDay = rate.getDate().toEpochDay();
+            long[] bounds = newBounds.computeIfAbsent(index, i -> initialBounds(current, i, epochDay));
+            bounds[0] = Math.min(bounds[0], epochDay);
+            bounds[1] = Math.max(bounds[1], epochDay);
+        }
+
+        // Copy the affected rows into their new bounds
+        firstDays = Arrays.copyOf(firstDays, currencyIndex.size());
+        rows = Arrays.copyOf(rows, currencyIndex.size());
+        for (Map.Entry<Integer, long[]> entry : newBounds.entrySet()) {
+            int index = entry.getKey();
+            long first = entry.getValue()[0];
+            long[] row = new long[(int) (entry.getValue()[1] - first + 1)];
+            if (index < current.rows.length) {
+                long[] oldRow = current.rows[index];
+                System.arraycopy(oldRow, 0, row, (int) (current.firstDays[index] - first), oldRow.length);
+            }
+            firstDays[index] = first;
+            rows[index] = row;
+        }
+
+        for (ExchangeRateDto rate : rates) {
+            int index = currencyIndex.get(rate.getCurrencyCode());
+            rows[index][(int) (rate.getDate().toEpochDay() - firstDays[index])] = toScaled(rate.getRate());
+        }
+        return new Snapshot(currencyIndex, firstDays, rows);
+    }
+
+    /**
+     * Returns the current bounds of a row, or a single-day bound for a new row.
+     */
+    private static long[] initialBounds(Snapshot current, int index, long epochDay) {
+        if (index < current.rows.length) {
+            long first = current.firstDays[index];
+            return new long[]{first, first + current.rows[index].length - 1};
+        }
+        return new long[]{epochDay, epochDay};
+    }
+
+    /**
+     * Converts a rate to its scaled long representation.
+     */
+    private static long toScaled(BigDecimal rate) {
+        return rate.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Immutable published state of the matrix.
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new HashMap<>(), new long[0], new long[0][]);
+
+        private final Map<String, Integer> currencyIndex;
+        private final long[] firstDays;
+        private final long[][] rows;
+
+        private Snapshot(Map<String, Integer> currencyIndex, long[] firstDays, long[][] rows) {
+            this.currencyIndex = currencyIndex;
+            this.firstDays = firstDays;
+            this.rows = rows;
+        }
+    }
+}
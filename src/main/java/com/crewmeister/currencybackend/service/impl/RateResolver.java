@@ -0,0 +1,300 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.cache.RateCacheKey;
+import com.crewmeister.currencybackend.cache.RateRangeKey;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.exception.ExchangeRateNotFoundException;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import com.crewmeister.currencybackend.utils.SingleFlight;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the EUR reference rates of currency and date pairs for the blocking and the reactive service.
+ * <p>
+ * Both services resolve pairs the same way and only bring their own upstream call. Each pair is
+ * resolved from the first source that has it:
+ * - EUR, always 1.0
+ * - The rate matrix, without any I/O
+ * - The persistent store, read once per currency for the span of its missing days
+ * - Bundesbank, with one multiplexed call per run of consecutive business days that are still missing
+ * <p>
+ * Key Features:
+ * - Weekends, TARGET2 holidays and future days are never requested from Bundesbank
+ * - Identical fetches in flight are shared between concurrent callers of either service
+ * - Store reads of the reactive path run on the bounded elastic scheduler
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateResolver {
+
+    /**
+     * Code of the reference currency all rates are quoted against
+     */
+    private static final String EURO = "EUR";
+
+    /**
+     * In-memory catalog resolving currency names
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * In-memory matrix of the stored rates
+     */
+    private final RateMatrix rateMatrix;
+
+    /**
+     * Persistent store for exchange rates that were already fetched
+     */
+    private final ExchangeRateStoreService exchangeRateStoreService;
+
+    /**
+     * Shares in-flight fetches of the same currencies and range between concurrent callers
+     */
+    private final SingleFlight<RateRangeKey, List<ExchangeRateDto>> rateFetchSingleFlight;
+
+    /**
+     * Maximum number of currencies requested in a single Bundesbank API call
+     */
+    @Value("${exchange-rates.fetch.max-currencies-per-call:10}")
+    private int maxCurrenciesPerCall;
+
+    /**
+     * Resolves the rates of several currency and date pairs, blocking until all fetches complete.
+     *
+     * @param keys     Currency and date pairs to resolve
+     * @param fetcher  Fetches and stores the rates of one planned upstream call
+     * @param executor Executor the upstream calls are fanned out on
+     * @return Rates by currency and date pair
+     * @throws ExchangeRateNotFoundException if any pair has no rate
+     */
+    public Map<RateCacheKey, ExchangeRateDto> resolve(Collection<RateCacheKey> keys,
+                                                      Function<RateFetch, List<ExchangeRateDto>> fetcher,
+                                                      Executor executor) {
+        return complete(keys, resolveAvailable(keys, fetcher, executor));
+    }
+
+    /**
+     * Resolves the rates of several currency and date pairs, blocking until all fetches complete,
+     * and leaves the pairs without a rate out instead of failing.
+     *
+     * @param keys     Currency and date pairs to resolve
+     * @param fetcher  Fetches and stores the rates of one planned upstream call
+     * @param executor Executor the upstream calls are fanned out on
+     * @return Rates by currency and date pair, without the pairs that have no rate
+     */
+    public Map<RateCacheKey, ExchangeRateDto> resolveAvailable(Collection<RateCacheKey> keys,
+                                                               Function<RateFetch, List<ExchangeRateDto>> fetcher,
+                                                               Executor executor) {
+        Map<RateCacheKey, ExchangeRateDto> rates = resolveLocally(keys);
+        if (!rates.keySet().containsAll(keys)) {
+            resolveFromStore(keys, rates);
+        }
+
+        List<CompletableFuture<List<ExchangeRateDto>>> futures = planFetches(keys, rates).stream()
+                .map(fetch -> CompletableFuture.supplyAsync(
+                        () -> rateFetchSingleFlight.execute(fetch.getFlightKey(), () -> fetcher.apply(fetch)), executor))
+                .collect(Collectors.toList());
+        futures.forEach(future -> addFetchedRates(keys, rates, future.join()));
+
+        return rates;
+    }
+
+    /**
+     * Resolves the rates of several currency and date pairs without blocking the calling thread.
+     *
+     * @param keys    Currency and date pairs to resolve
+     * @param fetcher Fetches and stores the rates of one planned upstream call
+     * @return Mono of the rates by currency and date pair, failing with ExchangeRateNotFoundException
+     * if any pair has no rate
+     */
+    public Mono<Map<RateCacheKey, ExchangeRateDto>> resolveAsync(Collection<RateCacheKey> keys,
+                                                                 Function<RateFetch, Mono<List<ExchangeRateDto>>> fetcher) {
+        Map<RateCacheKey, ExchangeRateDto> rates = resolveLocally(keys);
+        if (rates.keySet().containsAll(keys)) {
+            return Mono.just(rates);
+        }
+
+        return Mono.fromRunnable(() -> resolveFromStore(keys, rates))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenMany(Flux.defer(() -> Flux.fromIterable(planFetches(keys, rates))))
+                .flatMap(fetch -> rateFetchSingleFlight.executeAsync(fetch.getFlightKey(), () -> fetcher.apply(fetch)))
+                .doOnNext(fetchedRates -> addFetchedRates(keys, rates, fetchedRates))
+                .then(Mono.fromCallable(() -> complete(keys, rates)));
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Resolves EUR and the pairs held by the rate matrix.
+     *
+     * @param keys Currency and date pairs to resolve
+     * @return Rates resolved without any I/O, by currency and date pair
+     */
+    private Map<RateCacheKey, ExchangeRateDto> resolveLocally(Collection<RateCacheKey> keys) {
+        Map<RateCacheKey, ExchangeRateDto> rates = new HashMap<>();
+        for (RateCacheKey key : keys) {
+            BigDecimal rate = EURO.equals(key.getCurrencyCode())
+                    ? BigDecimal.ONE
+                    : rateMatrix.getRate(key.getCurrencyCode(), key.getDate());
+            if (rate != null) {
+                rates.put(key, ExchangeRateUtils.buildExchangeRateDto(
+                        key.getCurrencyCode(), currencyCatalog.getName(key.getCurrencyCode()), key.getDate(), rate));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Reads the unresolved pairs from the store, once per currency for the span of its missing days.
+     * <p>
+     * A failing read is logged and skipped, so the pairs are fetched instead.
+     *
+     * @param keys  Currency and date pairs to resolve
+     * @param rates Rates resolved so far, completed in place
+     */
+    private void resolveFromStore(Collection<RateCacheKey> keys, Map<RateCacheKey, ExchangeRateDto> rates) {
+        Map<String, LocalDate[]> spans = new LinkedHashMap<>();
+        for (RateCacheKey key : keys) {
+            if (!rates.containsKey(key)) {
+                LocalDate[] span = spans.computeIfAbsent(key.getCurrencyCode(), code -> new LocalDate[]{key.getDate(), key.getDate()});
+                span[0] = key.getDate().isBefore(span[0]) ? key.getDate() : span[0];
+                span[1] = key.getDate().isAfter(span[1]) ? key.getDate() : span[1];
+            }
+        }
+
+        for (Map.Entry<String, LocalDate[]> span : spans.entrySet()) {
+            try {
+                addFetchedRates(keys, rates, exchangeRateStoreService.findRates(span.getKey(), span.getValue()[0], span.getValue()[1]));
+            } catch (Exception e) {
+                // Log and skip currencies with lookup errors
+                log.error("Error reading stored rates for currency: " + span.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Plans the upstream calls for the unresolved pairs that can have a rate.
+     * <p>
+     * Pairs on weekends, TARGET2 holidays or future days are left unresolved. The missing days are
+     * split into runs of consecutive business days, so days between two runs are never requested.
+     * Each run is requested for the currencies missing in it, in groups of at most maxCurrenciesPerCall.
+     *
+     * @param keys  Currency and date pairs to resolve
+     * @param rates Rates resolved so far
+     * @return Planned upstream calls
+     */
+    private List<RateFetch> planFetches(Collection<RateCacheKey> keys, Map<RateCacheKey, ExchangeRateDto> rates) {
+        LocalDate today = LocalDate.now();
+        SortedMap<LocalDate, Set<String>> missingCurrenciesByDate = new TreeMap<>();
+        for (RateCacheKey key : keys) {
+            if (rates.containsKey(key) || key.getDate().isAfter(today) || !ExchangeRateUtils.isBusinessDay(key.getDate())) {
+                continue;
+            }
+            missingCurrenciesByDate.computeIfAbsent(key.getDate(), date -> new LinkedHashSet<>()).add(key.getCurrencyCode());
+        }
+
+        List<RateFetch> fetches = new ArrayList<>();
+        for (List<LocalDate> run : ExchangeRateUtils.splitIntoConsecutiveRuns(new ArrayList<>(missingCurrenciesByDate.keySet()))) {
+            Set<String> missingCurrencies = new LinkedHashSet<>();
+            run.forEach(date -> missingCurrencies.addAll(missingCurrenciesByDate.get(date)));
+            for (List<String> group : ExchangeRateUtils.partition(new ArrayList<>(missingCurrencies), maxCurrenciesPerCall)) {
+                fetches.add(RateFetch.of(group, run.get(0), run.get(run.size() - 1)));
+            }
+        }
+        return fetches;
+    }
+
+    /**
+     * Adds the rates that belong to requested pairs and are not resolved yet.
+     *
+     * @param keys         Currency and date pairs to resolve
+     * @param rates        Rates resolved so far, completed in place
+     * @param fetchedRates Rates read from the store or fetched from Bundesbank
+     */
+    private void addFetchedRates(Collection<RateCacheKey> keys, Map<RateCacheKey, ExchangeRateDto> rates,
+                                 List<ExchangeRateDto> fetchedRates) {
+        for (ExchangeRateDto rate : fetchedRates) {
+            RateCacheKey key = RateCacheKey.of(rate.getCurrencyCode(), rate.getDate());
+            if (keys.contains(key)) {
+                rates.putIfAbsent(key, rate);
+            }
+        }
+    }
+
+    /**
+     * Checks that every pair is resolved.
+     *
+     * @param keys  Currency and date pairs to resolve
+     * @param rates Resolved rates
+     * @return The resolved rates
+     * @throws ExchangeRateNotFoundException if any pair has no rate
+     */
+    private Map<RateCacheKey, ExchangeRateDto> complete(Collection<RateCacheKey> keys, Map<RateCacheKey, ExchangeRateDto> rates) {
+        for (RateCacheKey key : keys) {
+            if (!rates.containsKey(key)) {
+                throw new ExchangeRateNotFoundException(key.getCurrencyCode(), key.getDate());
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * One planned upstream call: the currencies requested together and the range they are requested for.
+     */
+    @lombok.Value
+    @AllArgsConstructor(staticName = "of")
+    public static class RateFetch {
+
+        /**
+         * Currency codes requested with one multiplexed call
+         */
+        List<String> currencyCodes;
+
+        /**
+         * Start date of the range
+         */
+        LocalDate startDate;
+
+        /**
+         * End date of the range
+         */
+        LocalDate endDate;
+
+        /**
+         * Returns the key identical calls in flight are shared by.
+         *
+         * @return Key of the currencies, joined like in the series key, and the range
+         */
+        public RateRangeKey getFlightKey() {
+            return RateRangeKey.of(String.join("+", currencyCodes), startDate, endDate);
+        }
+    }
+}
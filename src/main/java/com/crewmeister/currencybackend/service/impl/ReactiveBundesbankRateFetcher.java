@@ -0,0 +1,217 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.cache.UpstreamMissCache;
+import com.crewmeister.currencybackend.client.BundesbankMetrics;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import com.crewmeister.currencybackend.utils.SdmxJsonStreamDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.github.resilience4j.retry.annotation.Retry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of BundesbankRateFetcher, built on WebClient.
+ * <p>
+ * Requests the same multiplexed series keys and decodes the same SDMX-JSON, but no thread is
+ * held while the request is in flight or while the bundesbank rate limiter delays it: the
+ * resilience annotations apply their reactive operators to the returned Mono. Responses are
+ * collected in memory before decoding, bounded by the WebClient's codec limit, so this fetcher
+ * is meant for the short ranges of request-path lookups rather than bulk imports.
+ *
+ * @author hiulusoy
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBundesbankRateFetcher {
+
+    /**
+     * Series key suffix for daily reference rates against EUR
+     */
+    private static final String CURRENCY_KEY_SUFFIX = ".EUR.BB.AC.000";
+
+    /**
+     * Default format for API responses
+     */
+    private static final String DEFAULT_FORMAT = "json";
+
+    /**
+     * Default language for API responses
+     */
+    private static final String DEFAULT_LANGUAGE = "en";
+
+    /**
+     * Bundesbank API dataflow identifier
+     */
+    @Value("${bundesbank.api.dataflow-id}")
+    private String dataflowId;
+
+    /**
+     * WebClient bound to the Bundesbank API
+     */
+    @Qualifier("bundesbankWebClient")
+    private final WebClient bundesbankWebClient;
+
+    /**
+     * JSON parsing utility
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * In-memory catalog resolving currency names
+     */
+    private final CurrencyCatalog currencyCatalog;
+
+    /**
+     * Negative cache of requests that returned no rates
+     */
+    private final UpstreamMissCache upstreamMissCache;
+
+    /**
+     * Meters describing the calls made to the Bundesbank API
+     */
+    private final BundesbankMetrics bundesbankMetrics;
+
+    /**
+     * Fetches exchange rates for several currencies within a date range with a single call.
+     *
+     * @param currencyCodes Currency codes to fetch rates for
+     * @param startDate     Start date of the range
+     * @param endDate       End date of the range
+     * @return Mono of the fetched rates, empty list if Bundesbank has none; fails with a
+     * WebClientException if the call fails, or ExternalServiceException if parsing fails
+     */
+    @CircuitBreaker(name = "bundesbank")
+    @Retry(name = "bundesbank")
+    @RateLimiter(name = "bundesbank")
+    public Mono<List<ExchangeRateDto>> fetchRates(List<String> currencyCodes, LocalDate startDate, LocalDate endDate) {
+        // Skip currencies that recently returned no rates for the same range
+        List<String> requestedCodes = currencyCodes.stream()
+                .filter(code -> !upstreamMissCache.isKnownMiss(code, startDate, endDate))
+                .collect(Collectors.toList());
+        if (requestedCodes.isEmpty()) {
+            log.debug("Skipping Bundesbank call for currencies {} from {} to {}: no data on the last attempt",
+                    currencyCodes, startDate, endDate);
+            return Mono.just(Collections.emptyList());
+        }
+
+        String key = ExchangeRateUtils.buildMultiCurrencyKey(requestedCodes, CURRENCY_KEY_SUFFIX);
+        // Deferred, so every retried subscription measures its own request
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return bundesbankWebClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/data/{flowRef}/{key}")
+                            .queryParam("format", DEFAULT_FORMAT)
+                            .queryParam("lang", DEFAULT_LANGUAGE)
+                            .queryParam("startPeriod", ExchangeRateUtils.formatDate(startDate))
+                            .queryParam("endPeriod", ExchangeRateUtils.formatDate(endDate))
+                            .build(dataflowId, key))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(response -> {
+                        bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_WEBCLIENT, requestedCodes,
+                                outcomeOf(response), System.nanoTime() - started);
+                        return readRates(response, requestedCodes, startDate, endDate);
+                    })
+                    .doOnError(WebClientRequestException.class, e -> bundesbankMetrics.recordCall(
+                            BundesbankMetrics.CLIENT_WEBCLIENT, requestedCodes, BundesbankMetrics.OUTCOME_ERROR,
+                            System.nanoTime() - started));
+        });
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Reads the rates from a response, recording currencies without rates as misses.
+     *
+     * @param response      Response of the data request
+     * @param currencyCodes Currency codes that were requested
+     * @param startDate     Start date of the range
+     * @param endDate       End date of the range
+     * @return Mono of the decoded rates
+     */
+    private Mono<List<ExchangeRateDto>> readRates(ClientResponse response, List<String> currencyCodes,
+                                                  LocalDate startDate, LocalDate endDate) {
+        if (response.statusCode() == HttpStatus.NOT_FOUND) {
+            log.warn("No data found for currencies {} in date range {} to {}", currencyCodes, startDate, endDate);
+            currencyCodes.forEach(code -> upstreamMissCache.recordMiss(code, startDate, endDate));
+            return response.releaseBody().thenReturn(Collections.emptyList());
+        }
+        if (response.statusCode().isError()) {
+            return response.createException().flatMap(Mono::error);
+        }
+
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    List<ExchangeRateDto> rates = decodeExchangeRates(currencyCodes, body);
+                    Map<String, Integer> observations = rates.stream()
+                            .collect(Collectors.toMap(ExchangeRateDto::getCurrencyCode, rate -> 1, Integer::sum));
+                    bundesbankMetrics.recordObservations(BundesbankMetrics.CLIENT_WEBCLIENT, currencyCodes, observations);
+                    currencyCodes.stream()
+                            .filter(code -> !observations.containsKey(code))
+                            .forEach(code -> upstreamMissCache.recordMiss(code, startDate, endDate));
+                    return rates;
+                });
+    }
+
+    /**
+     * Returns the Bundesbank metrics outcome of a response.
+     *
+     * @param response Response of the data request
+     * @return no_data for 404, error for other error statuses, success otherwise
+     */
+    private static String outcomeOf(ClientResponse response) {
+        if (response.statusCode() == HttpStatus.NOT_FOUND) {
+            return BundesbankMetrics.OUTCOME_NO_DATA;
+        }
+        return response.statusCode().isError() ? BundesbankMetrics.OUTCOME_ERROR : BundesbankMetrics.OUTCOME_SUCCESS;
+    }
+
+    /**
+     * Decodes a JSON response body from Bundesbank API.
+     *
+     * @param currencyCodes Currency codes that were requested
+     * @param body          Response body
+     * @return List of the decoded rates
+     * @throws ExternalServiceException if parsing fails
+     */
+    private List<ExchangeRateDto> decodeExchangeRates(List<String> currencyCodes, byte[] body) {
+        if (body.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        long started = System.nanoTime();
+        try (InputStream in = new ByteArrayInputStream(body)) {
+            SdmxJsonStreamDecoder.decode(in, objectMapper.getFactory(), currencyCodes, currencyCatalog::getName, rates::add);
+            bundesbankMetrics.recordResponse(BundesbankMetrics.CLIENT_WEBCLIENT, body.length, System.nanoTime() - started);
+            return rates;
+        } catch (IOException e) {
+            log.error("Error parsing exchange rates JSON for " + currencyCodes, e);
+            throw new ExternalServiceException("Failed to parse exchange rates: " + e.getMessage(), e);
+        }
+    }
+}
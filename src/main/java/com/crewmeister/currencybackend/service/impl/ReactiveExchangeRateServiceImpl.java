@@ -0,0 +1,168 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.cache.RateCacheKey;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
+import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.service.ReactiveExchangeRateService;
+import com.crewmeister.currencybackend.utils.ExchangeRateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking service implementation for exchange rate lookups and conversions.
+ * <p>
+ * Rates are resolved like in the blocking service, by the shared rate resolver. Rates held by the
+ * rate matrix are answered without any I/O. Missing rates are read from the store, then fetched with
+ * multiplexed non-blocking Bundesbank calls; the store is read and written on the bounded elastic
+ * scheduler, so JPA never runs on an event loop.
+ * <p>
+ * Key Features:
+ * - No thread held while waiting on Bundesbank or on the bundesbank rate limiter
+ * - Same EUR triangulation as the blocking service for conversions between two currencies
+ * - Fetched rates are stored best effort, like in the blocking service
+ * - Weekends and TARGET2 holidays are never requested, and identical fetches in flight are shared
+ *
+ * @author hiulusoy
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExchangeRateServiceImpl implements ReactiveExchangeRateService {
+
+    /**
+     * Currency code of the euro, the base of all reference rates
+     */
+    private static final String EURO = "EUR";
+
+    /**
+     * Non-blocking fetcher of Bundesbank rates
+     */
+    private final ReactiveBundesbankRateFetcher reactiveBundesbankRateFetcher;
+
+    /**
+     * Persistent store the fetched rates are written to
+     */
+    private final ExchangeRateStoreService exchangeRateStoreService;
+
+    /**
+     * Resolves currency and date pairs the same way as the blocking service
+     */
+    private final RateResolver rateResolver;
+
+    /**
+     * Retrieves the exchange rate for a specific currency on a given date.
+     *
+     * @param currencyCode The currency code to retrieve the rate for
+     * @param date         The date for which to retrieve the exchange rate
+     * @return Mono of the ExchangeRateDto, failing with ExchangeRateNotFoundException if no rate is found
+     */
+    @Override
+    public Mono<ExchangeRateDto> getRateByCurrencyAndDate(String currencyCode, LocalDate date) {
+        RateCacheKey key = RateCacheKey.of(currencyCode, date);
+        return resolveRates(Collections.singletonList(key))
+                .map(rates -> rates.get(key));
+    }
+
+    /**
+     * Converts an amount from a given currency to the requested target currency, EUR if none is given.
+     *
+     * @param request Conversion request containing amount, source and target currency, and date
+     * @return Mono of the ConversionResponseDto, failing with ExchangeRateNotFoundException if a rate is missing
+     */
+    @Override
+    public Mono<ConversionResponseDto> convert(ConversionRequestDto request) {
+        String toCurrency = targetCurrency(request);
+        RateCacheKey fromKey = RateCacheKey.of(request.getFromCurrency(), request.getDate());
+        RateCacheKey toKey = RateCacheKey.of(toCurrency, request.getDate());
+
+        return resolveRates(Arrays.asList(fromKey, toKey))
+                .map(rates -> {
+                    ExchangeRateDto fromRate = rates.get(fromKey);
+                    if (EURO.equals(toCurrency)) {
+                        BigDecimal convertedAmount = ExchangeRateUtils.convertAmount(request.getAmount(), fromRate.getRate());
+                        return ExchangeRateUtils.buildConversionResponse(request, fromRate, convertedAmount);
+                    }
+
+                    ExchangeRateDto toRate = rates.get(toKey);
+                    BigDecimal convertedAmount = ExchangeRateUtils.convertCrossAmount(
+                            request.getAmount(), fromRate.getRate(), toRate.getRate());
+                    return ExchangeRateUtils.buildCrossConversionResponse(request, fromRate, toRate, convertedAmount);
+                });
+    }
+
+    // =============== Private Helper Methods ===============
+
+    /**
+     * Resolves the EUR reference rates of several currency and date pairs at once.
+     * <p>
+     * Resolution is shared with the blocking service: EUR, the rate matrix and the store first,
+     * then multiplexed non-blocking upstream calls for the missing business days.
+     *
+     * @param keys Currency and date pairs to resolve
+     * @return Mono of the rates by currency and date pair, failing with ExchangeRateNotFoundException
+     * if any pair has no rate
+     */
+    private Mono<Map<RateCacheKey, ExchangeRateDto>> resolveRates(Collection<RateCacheKey> keys) {
+        return rateResolver.resolveAsync(keys, this::fetchResolvedRates);
+    }
+
+    /**
+     * Fetches the rates of one upstream call planned by the rate resolver and writes them to the store.
+     *
+     * @param fetch Currencies and range to fetch
+     * @return Mono of the fetched rates, failing with ExternalServiceException if the call fails
+     */
+    private Mono<List<ExchangeRateDto>> fetchResolvedRates(RateResolver.RateFetch fetch) {
+        return reactiveBundesbankRateFetcher.fetchRates(fetch.getCurrencyCodes(), fetch.getStartDate(), fetch.getEndDate())
+                .onErrorMap(WebClientException.class,
+                        e -> new ExternalServiceException("Failed to fetch exchange rates: " + e.getMessage(), e))
+                .flatMap(fetchedRates -> storeFetchedRates(fetchedRates).thenReturn(fetchedRates));
+    }
+
+    /**
+     * Writes fetched rates to the persistent store on the bounded elastic scheduler.
+     * <p>
+     * Storing is best effort: a failure is logged and the fetched rates are still served.
+     *
+     * @param rates Rates fetched from the Bundesbank API
+     * @return Mono completing once the rates are stored
+     */
+    private Mono<Void> storeFetchedRates(List<ExchangeRateDto> rates) {
+        if (rates.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromRunnable(() -> exchangeRateStoreService.saveRates(rates))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Could not store {} fetched exchange rates: {}", rates.size(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Returns the target currency of a conversion request, EUR if none is given.
+     *
+     * @param request Conversion request
+     * @return Target currency code
+     */
+    private String targetCurrency(ConversionRequestDto request) {
+        return request.getToCurrency() == null || request.getToCurrency().isEmpty() ? EURO : request.getToCurrency();
+    }
+}
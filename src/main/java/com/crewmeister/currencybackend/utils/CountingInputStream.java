@@ -0,0 +1,74 @@
+package com.crewmeister.currencybackend.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Input stream counting the bytes read or skipped through it
+ * <p>
+ * Bytes are counted as they pass, so the stream is never buffered. An optional listener is told
+ * about every chunk as it is read, for meters that should grow while a body is still being read.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private static final LongConsumer NO_LISTENER = bytes -> { };
+
+    private final LongConsumer listener;
+    private long count;
+
+    /**
+     * Creates a stream counting the bytes read from the given stream
+     */
+    public CountingInputStream(InputStream in) {
+        this(in, NO_LISTENER);
+    }
+
+    /**
+     * Creates a stream counting the bytes read from the given stream and passing every chunk's size to the listener
+     */
+    public CountingInputStream(InputStream in, LongConsumer listener) {
+        super(in);
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            counted(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            counted(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            counted(skipped);
+        }
+        return skipped;
+    }
+
+    /**
+     * Returns the number of bytes read or skipped so far
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void counted(long bytes) {
+        count += bytes;
+        listener.accept(bytes);
+    }
+}
@@ -11,7 +11,10 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,6 +24,13 @@ public class ExchangeRateUtils {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final int DECIMAL_SCALE = 2;
+    private static final int CROSS_RATE_SCALE = 6;
+    private static final String KEY_VALUE_SEPARATOR = "+";
+
+    /**
+     * Position of the currency dimension in the BBEX3 series key (D.USD.EUR.BB.AC.000)
+     */
+    public static final int CURRENCY_KEY_POSITION = 1;
 
     /**
      * Formats a date to string according to API requirements
@@ -58,6 +68,27 @@ public class ExchangeRateUtils {
         return "D." + currencyCode + suffix;
     }
 
+    /**
+     * Builds a currency key that requests several currencies in one call (e.g. D.USD+GBP.EUR.BB.AC.000)
+     */
+    public static String buildMultiCurrencyKey(Collection<String> currencyCodes, String suffix) {
+        return buildCurrencyKey(String.join(KEY_VALUE_SEPARATOR, currencyCodes), suffix);
+    }
+
+    /**
+     * Split a list into consecutive sublists of at most the given size
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        int partitionSize = Math.max(size, 1);
+        List<List<T>> partitions = new ArrayList<>();
+
+        for (int i = 0; i < list.size(); i += partitionSize) {
+            partitions.add(list.subList(i, Math.min(i + partitionSize, list.size())));
+        }
+
+        return partitions;
+    }
+
     /**
      * Extract time periods from the SDMX JSON structure
      */
@@ -83,6 +114,78 @@ public class ExchangeRateUtils {
         return timePeriods;
     }
 
+    /**
+     * Checks whether reference rates are published on the given date (TARGET2 business day)
+     */
+    public static boolean isBusinessDay(LocalDate date) {
+        return TargetCalendar.isBusinessDay(date);
+    }
+
+    /**
+     * Find the business days within a date range that are not contained in the given dates
+     */
+    public static List<LocalDate> findMissingBusinessDays(Collection<LocalDate> presentDates, LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> missingDates = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isBusinessDay(date) && !presentDates.contains(date)) {
+                missingDates.add(date);
+            }
+        }
+
+        return missingDates;
+    }
+
+    /**
+     * Find the last date of a page that starts on startDate and holds at most pageSize business days
+     */
+    public static LocalDate findPageEndDate(LocalDate startDate, LocalDate endDate, int pageSize) {
+        int businessDays = 0;
+        LocalDate date = startDate;
+
+        while (date.isBefore(endDate)) {
+            if (isBusinessDay(date) && ++businessDays == pageSize) {
+                return date;
+            }
+            date = date.plusDays(1);
+        }
+
+        return endDate;
+    }
+
+    /**
+     * Split ascending business days into runs without a business day missing in between
+     */
+    public static List<List<LocalDate>> splitIntoConsecutiveRuns(List<LocalDate> businessDays) {
+        List<List<LocalDate>> runs = new ArrayList<>();
+        List<LocalDate> run = new ArrayList<>();
+
+        for (LocalDate date : businessDays) {
+            if (!run.isEmpty() && !nextBusinessDay(run.get(run.size() - 1)).equals(date)) {
+                runs.add(run);
+                run = new ArrayList<>();
+            }
+            run.add(date);
+        }
+
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+
+        return runs;
+    }
+
+    /**
+     * Find the first business day after the given date
+     */
+    public static LocalDate nextBusinessDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        while (!isBusinessDay(next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
     /**
      * Build an ExchangeRateDto object
      */
@@ -107,6 +210,20 @@ public class ExchangeRateUtils {
         return amount.divide(rate, DECIMAL_SCALE, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Converts an amount between two currencies based on their EUR reference rates, rounding once
+     */
+    public static BigDecimal convertCrossAmount(BigDecimal amount, BigDecimal fromRate, BigDecimal toRate) {
+        return amount.multiply(toRate).divide(fromRate, DECIMAL_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates the units of the target currency per unit of the source currency from their EUR reference rates
+     */
+    public static BigDecimal calculateCrossRate(BigDecimal fromRate, BigDecimal toRate) {
+        return toRate.divide(fromRate, CROSS_RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
     /**
      * Builds a conversion response DTO
      */
@@ -121,6 +238,44 @@ public class ExchangeRateUtils {
                 .convertedAmount(convertedAmount)
                 .toCurrency("EUR")
                 .exchangeRate(exchangeRate.getRate())
+                .crossRate(calculateCrossRate(exchangeRate.getRate(), BigDecimal.ONE))
+                .date(request.getDate())
+                .build();
+    }
+
+    /**
+     * Builds the response of a batch conversion item that could not be converted
+     */
+    public static ConversionResponseDto buildFailedConversionResponse(
+            ConversionRequestDto request,
+            String toCurrency,
+            String error) {
+
+        return ConversionResponseDto.builder()
+                .amount(request.getAmount())
+                .fromCurrency(request.getFromCurrency())
+                .toCurrency(toCurrency)
+                .date(request.getDate())
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Builds a conversion response DTO for a conversion between two currencies
+     */
+    public static ConversionResponseDto buildCrossConversionResponse(
+            ConversionRequestDto request,
+            ExchangeRateDto fromRate,
+            ExchangeRateDto toRate,
+            BigDecimal convertedAmount) {
+
+        return ConversionResponseDto.builder()
+                .amount(request.getAmount())
+                .fromCurrency(request.getFromCurrency())
+                .convertedAmount(convertedAmount)
+                .toCurrency(toRate.getCurrencyCode())
+                .exchangeRate(fromRate.getRate())
+                .crossRate(calculateCrossRate(fromRate.getRate(), toRate.getRate()))
                 .date(request.getDate())
                 .build();
     }
@@ -1,5 +1,6 @@
 package com.crewmeister.currencybackend.utils;
 
+import com.crewmeister.currencybackend.client.BundesbankMetrics;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -68,16 +69,18 @@ public class JsonParserUtils {
 
                 if (obsValues.isArray() && obsValues.size() > 0) {
                     JsonNode valueNode = obsValues.get(0);
-                    // Skip if value is null, NaN or not numeric
+                    // Count and skip if value is null, NaN or not numeric
                     if (valueNode.isNull() || valueNode.asText().equalsIgnoreCase("null")
                             || valueNode.asText().equalsIgnoreCase("nan")
                             || valueNode.asText().equalsIgnoreCase("n/a")) {
+                        BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_MISSING_VALUE);
                         continue;
                     }
 
                     // Clean the string value and remove invalid characters
                     String valueText = valueNode.asText().trim();
                     if (valueText.isEmpty()) {
+                        BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_MISSING_VALUE);
                         continue;
                     }
 
@@ -86,8 +89,8 @@ public class JsonParserUtils {
                     try {
                         rate = new BigDecimal(valueText);
                     } catch (NumberFormatException e) {
-                        // Log and skip non-numeric value
-                        System.err.println("Skipping non-numeric value: " + valueText + " for currency: " + currencyCode);
+                        // Count and skip non-numeric value
+                        BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_NON_NUMERIC);
                         continue;
                     }
 
@@ -100,8 +103,8 @@ public class JsonParserUtils {
                     }
                 }
             } catch (Exception e) {
-                // Skip this observation if there's an error and continue
-                System.err.println("Error processing observation: " + e.getMessage());
+                // Count and skip this observation if there's an error and continue
+                BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_INVALID_OBSERVATION);
                 continue;
             }
         }
@@ -0,0 +1,404 @@
+package com.crewmeister.currencybackend.utils;
+
+import com.crewmeister.currencybackend.client.BundesbankMetrics;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Token-streaming decoder for Bundesbank SDMX-JSON responses.
+ * <p>
+ * Reads the response with a Jackson JsonParser and emits each rate straight into a sink,
+ * without building a JsonNode tree. Observations are resolved against a time-period index
+ * array. Observations that arrive before the structure block are buffered until it is read.
+ */
+public class SdmxJsonStreamDecoder {
+
+    private static final String TIME_PERIOD_DIMENSION = "TIME_PERIOD";
+
+    /**
+     * Decode an SDMX-JSON response and emit its rates into the sink, returning the number of emitted rates.
+     * <p>
+     * With a single requested currency all series are attributed to it. Otherwise the currency of each
+     * series is resolved from its series key and only the requested currencies are emitted.
+     */
+    public static int decode(
+            InputStream inputStream,
+            JsonFactory jsonFactory,
+            List<String> currencyCodes,
+            Function<String, String> currencyNameResolver,
+            Consumer<ExchangeRateDto> sink) throws IOException {
+
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            DecodeState state = new DecodeState(currencyCodes, currencyNameResolver, sink);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the start of the SDMX response");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readData(parser, state);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            state.flushPending();
+            return state.emitted;
+        }
+    }
+
+    /**
+     * Read the data object, in whichever order its structure and dataSets fields arrive
+     */
+    private static void readData(JsonParser parser, DecodeState state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("structure".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                readStructure(parser, state);
+                state.flushPending();
+            } else if ("dataSets".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                readDataSets(parser, state);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Read the series and observation dimensions of the structure object
+     */
+    private static void readStructure(JsonParser parser, DecodeState state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (!"dimensions".equals(field) || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String dimensionGroup = parser.getCurrentName();
+                parser.nextToken();
+                if ("series".equals(dimensionGroup) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    state.seriesCurrencies = readSeriesCurrencies(parser);
+                } else if ("observation".equals(dimensionGroup) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    state.timePeriods = readTimePeriods(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the values of the currency series dimension, preferring the declared key position over the array order
+     */
+    private static String[] readSeriesCurrencies(JsonParser parser) throws IOException {
+        String[] byKeyPosition = null;
+        String[] byArrayIndex = null;
+        int arrayIndex = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int keyPosition = -1;
+            List<String> values = new ArrayList<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("keyPosition".equals(field)) {
+                    keyPosition = parser.getValueAsInt(-1);
+                } else if ("values".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    readValueIds(parser, values);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (keyPosition == ExchangeRateUtils.CURRENCY_KEY_POSITION) {
+                byKeyPosition = values.toArray(new String[0]);
+            } else if (arrayIndex == ExchangeRateUtils.CURRENCY_KEY_POSITION) {
+                byArrayIndex = values.toArray(new String[0]);
+            }
+            arrayIndex++;
+        }
+
+        if (byKeyPosition != null) {
+            return byKeyPosition;
+        }
+        return byArrayIndex != null ? byArrayIndex : new String[0];
+    }
+
+    /**
+     * Read the TIME_PERIOD observation dimension into an array indexed like the observation keys
+     */
+    private static LocalDate[] readTimePeriods(JsonParser parser) throws IOException {
+        LocalDate[] timePeriods = new LocalDate[0];
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = null;
+            List<String> values = new ArrayList<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("id".equals(field)) {
+                    id = parser.getValueAsString();
+                } else if ("values".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    readValueIds(parser, values);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (TIME_PERIOD_DIMENSION.equals(id)) {
+                timePeriods = new LocalDate[values.size()];
+                for (int i = 0; i < timePeriods.length; i++) {
+                    timePeriods[i] = ExchangeRateUtils.parseDateString(values.get(i));
+                }
+            }
+        }
+
+        return timePeriods;
+    }
+
+    /**
+     * Read the ids of a dimension values array
+     */
+    private static void readValueIds(JsonParser parser, List<String> ids) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String id = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("id".equals(field)) {
+                    id = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Read the series of the first data set; later data sets are skipped like in the tree-based parser
+     */
+    private static void readDataSets(JsonParser parser, DecodeState state) throws IOException {
+        boolean first = true;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (!first) {
+                parser.skipChildren();
+                continue;
+            }
+            first = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("series".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readSeries(parser, state);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read each series and its observations
+     */
+    private static void readSeries(JsonParser parser, DecodeState state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String seriesKey = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("observations".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readObservations(parser, seriesKey, state);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the observations of a series; the first array element of each observation is the rate
+     */
+    private static void readObservations(JsonParser parser, String seriesKey, DecodeState state) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String timeKey = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+
+            BigDecimal rate = null;
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                rate = readRate(parser);
+                // Skip the observation attributes following the value
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                }
+            }
+
+            if (rate == null) {
+                continue;
+            }
+
+            int timeIndex;
+            try {
+                timeIndex = Integer.parseInt(timeKey);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            state.accept(seriesKey, timeIndex, rate);
+        }
+    }
+
+    /**
+     * Read the current value token as a rate, or null for null, NaN or non-numeric values, counting every skipped value
+     */
+    private static BigDecimal readRate(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            // Rebuild from the token text to keep the published precision
+            return new BigDecimal(parser.getText());
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String valueText = parser.getText().trim();
+            if (valueText.isEmpty() || valueText.equalsIgnoreCase("nan") || valueText.equalsIgnoreCase("n/a")
+                    || valueText.equalsIgnoreCase("null")) {
+                BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_MISSING_VALUE);
+                return null;
+            }
+            try {
+                return new BigDecimal(valueText);
+            } catch (NumberFormatException e) {
+                BundesbankMetrics.countSkippedObservation(BundesbankMetrics.SKIPPED_NON_NUMERIC);
+                return null;
+            }
+        }
+        BundesbankMetrics.countSkippedObservation(token == JsonToken.VALUE_NULL
+                ? BundesbankMetrics.SKIPPED_MISSING_VALUE : BundesbankMetrics.SKIPPED_NON_NUMERIC);
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Mutable decoding state: the structure read so far, the sink and observations waiting for the structure
+     */
+    private static final class DecodeState {
+        private final List<String> currencyCodes;
+        private final Function<String, String> currencyNameResolver;
+        private final Consumer<ExchangeRateDto> sink;
+        private final List<PendingObservation> pending = new ArrayList<>();
+        private String[] seriesCurrencies;
+        private LocalDate[] timePeriods;
+        private int emitted;
+
+        private DecodeState(List<String> currencyCodes, Function<String, String> currencyNameResolver, Consumer<ExchangeRateDto> sink) {
+            this.currencyCodes = currencyCodes;
+            this.currencyNameResolver = currencyNameResolver;
+            this.sink = sink;
+        }
+
+        private boolean structureRead() {
+            return timePeriods != null && (currencyCodes.size() == 1 || seriesCurrencies != null);
+        }
+
+        private void accept(String seriesKey, int timeIndex, BigDecimal rate) {
+            if (!structureRead()) {
+                pending.add(new PendingObservation(seriesKey, timeIndex, rate));
+                return;
+            }
+            emit(seriesKey, timeIndex, rate);
+        }
+
+        private void flushPending() {
+            if (pending.isEmpty() || !structureRead()) {
+                return;
+            }
+            for (PendingObservation observation : pending) {
+                emit(observation.seriesKey, observation.timeIndex, observation.rate);
+            }
+            pending.clear();
+        }
+
+        private void emit(String seriesKey, int timeIndex, BigDecimal rate) {
+            if (timeIndex < 0 || timeIndex >= timePeriods.length || timePeriods[timeIndex] == null) {
+                return;
+            }
+
+            String currencyCode = resolveCurrency(seriesKey);
+            if (currencyCode == null) {
+                return;
+            }
+
+            sink.accept(ExchangeRateUtils.buildExchangeRateDto(
+                    currencyCode, currencyNameResolver.apply(currencyCode), timePeriods[timeIndex], rate));
+            emitted++;
+        }
+
+        private String resolveCurrency(String seriesKey) {
+            if (currencyCodes.size() == 1) {
+                return currencyCodes.get(0);
+            }
+
+            int separator = seriesKey.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            int end = seriesKey.indexOf(':', separator + 1);
+            String component = end < 0 ? seriesKey.substring(separator + 1) : seriesKey.substring(separator + 1, end);
+
+            try {
+                int currencyIndex = Integer.parseInt(component);
+                if (currencyIndex < 0 || currencyIndex >= seriesCurrencies.length) {
+                    return null;
+                }
+                String currencyCode = seriesCurrencies[currencyIndex];
+                return currencyCodes.contains(currencyCode) ? currencyCode : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Observation read before the structure block
+     */
+    private static final class PendingObservation {
+        private final String seriesKey;
+        private final int timeIndex;
+        private final BigDecimal rate;
+
+        private PendingObservation(String seriesKey, int timeIndex, BigDecimal rate) {
+            this.seriesKey = seriesKey;
+            this.timeIndex = timeIndex;
+            this.rate = rate;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.crewmeister.currencybackend.utils;
+
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution
+ * <p>
+ * The first caller for a key runs the supplier; callers arriving while it runs wait for it and
+ * receive the same result or the same exception. Once the call completes the key is released,
+ * so results are never cached here. Blocking and non-blocking callers share the same executions.
+ * A non-blocking execution is not tied to the subscription that started it, so a caller that
+ * cancels only stops waiting; the execution completes for the callers that joined it.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCalls;
+
+    /**
+     * Creates a single flight group counting the calls that joined an execution in flight
+     */
+    public SingleFlight(Counter coalescedCalls) {
+        this.coalescedCalls = coalescedCalls;
+    }
+
+    /**
+     * Runs the supplier for the key, or waits for the execution already in flight for it
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        try {
+            V result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Subscribes to the supplied Mono for the key, or joins the execution already in flight for it without blocking
+     */
+    public Mono<V> executeAsync(K key, Supplier<Mono<V>> supplier) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                coalescedCalls.increment();
+                return awaitAsync(existing);
+            }
+
+            Mono.defer(supplier)
+                    .doFinally(signal -> inFlight.remove(key, call))
+                    .subscribe(call::complete, call::completeExceptionally, () -> call.complete(null));
+            return awaitAsync(call);
+        });
+    }
+
+    /**
+     * Waits for an execution in flight without blocking; cancelling the returned Mono leaves the execution running
+     */
+    private static <V> Mono<V> awaitAsync(CompletableFuture<V> call) {
+        // Mono.fromFuture cancels its future when cancelled, so each caller waits on its own copy
+        return Mono.fromFuture(call.copy());
+    }
+
+    /**
+     * Waits for an execution in flight and rethrows its exception unwrapped
+     */
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
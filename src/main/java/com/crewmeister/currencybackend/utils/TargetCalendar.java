@@ -0,0 +1,77 @@
+package com.crewmeister.currencybackend.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * TARGET2 business day calendar, the days on which euro reference rates are published
+ * <p>
+ * TARGET2 is closed on weekends, New Year's Day, Good Friday, Easter Monday, 1 May, and
+ * 25 and 26 December. Good Friday, Easter Monday and 1 May are closing days since 2000.
+ */
+public class TargetCalendar {
+
+    private static final int FIRST_YEAR_OF_FULL_CALENDAR = 2000;
+
+    /**
+     * Checks whether the date is a TARGET2 business day
+     */
+    public static boolean isBusinessDay(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY && !isHoliday(date);
+    }
+
+    /**
+     * Checks whether the date is a TARGET2 holiday
+     */
+    public static boolean isHoliday(LocalDate date) {
+        int day = date.getDayOfMonth();
+        Month month = date.getMonth();
+
+        if ((month == Month.JANUARY && day == 1) || (month == Month.DECEMBER && (day == 25 || day == 26))) {
+            return true;
+        }
+        if (date.getYear() < FIRST_YEAR_OF_FULL_CALENDAR) {
+            return false;
+        }
+        if (month == Month.MAY && day == 1) {
+            return true;
+        }
+
+        LocalDate easterSunday = easterSunday(date.getYear());
+        return date.equals(easterSunday.minusDays(2)) || date.equals(easterSunday.plusDays(1));
+    }
+
+    /**
+     * Finds the latest business day on or before the given date
+     */
+    public static LocalDate businessDayOnOrBefore(LocalDate date) {
+        LocalDate businessDay = date;
+        while (!isBusinessDay(businessDay)) {
+            businessDay = businessDay.minusDays(1);
+        }
+        return businessDay;
+    }
+
+    /**
+     * Calculates Easter Sunday of a year in the Gregorian calendar (anonymous Gregorian algorithm)
+     */
+    public static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+}
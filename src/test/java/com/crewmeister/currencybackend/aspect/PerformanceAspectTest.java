@@ -0,0 +1,110 @@
+package com.crewmeister.currencybackend.aspect;
+
+import com.crewmeister.currencybackend.annotation.ExecutionTime;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PerformanceAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedOperations operations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PerformanceAspect aspect = new PerformanceAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "slowThreshold", Duration.ofSeconds(1));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedOperations());
+        proxyFactory.addAspect(aspect);
+        operations = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Successful calls should be recorded with their class and method")
+    void shouldRecordSuccessfulCall() {
+        // When
+        operations.succeed();
+        operations.succeed();
+
+        // Then
+        Timer timer = timer("succeed", "success", "none");
+        assertEquals(2, timer.count());
+        assertEquals("TimedOperations", timer.getId().getTag("class"));
+    }
+
+    @Test
+    @DisplayName("Failing calls should be recorded with the exception type and rethrown")
+    void shouldRecordFailedCall() {
+        // When
+        assertThrows(IllegalStateException.class, () -> operations.fail());
+
+        // Then
+        assertEquals(1, timer("fail", "error", "IllegalStateException").count());
+    }
+
+    @Test
+    @DisplayName("Mono results should be recorded when they complete")
+    void shouldRecordMonoOnCompletion() {
+        // When
+        Mono<String> result = operations.later();
+
+        // Then
+        assertNull(meterRegistry.find(PerformanceAspect.METRIC_NAME).tag("method", "later").timer());
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+        assertEquals(1, timer("later", "success", "none").count());
+    }
+
+    @Test
+    @DisplayName("Failed Mono results should be recorded with the exception type")
+    void shouldRecordFailedMono() {
+        // When
+        StepVerifier.create(operations.failLater()).expectError(IllegalArgumentException.class).verify();
+
+        // Then
+        assertEquals(1, timer("failLater", "error", "IllegalArgumentException").count());
+    }
+
+    private Timer timer(String method, String outcome, String exception) {
+        return meterRegistry.get(PerformanceAspect.METRIC_NAME)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer();
+    }
+
+    static class TimedOperations {
+
+        @ExecutionTime
+        public void succeed() {
+        }
+
+        @ExecutionTime
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @ExecutionTime
+        public Mono<String> later() {
+            return Mono.just("done");
+        }
+
+        @ExecutionTime
+        public Mono<String> failLater() {
+            return Mono.error(new IllegalArgumentException("failed"));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.crewmeister.currencybackend.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateCacheExpiryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 4, 9);
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final RateCacheExpiry expiry = new RateCacheExpiry(TTL,
+            Clock.fixed(Instant.parse("2025-04-09T10:15:30Z"), ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Historic entries should never expire")
+    void historicEntriesShouldNeverExpire() {
+        assertEquals(Long.MAX_VALUE, expiry.expireAfterCreate(RateCacheKey.of("USD", TODAY.minusDays(1)), null, 0L));
+    }
+
+    @Test
+    @DisplayName("Entries for today or later should expire after the short TTL")
+    void currentDayEntriesShouldExpireAfterTtl() {
+        assertEquals(TTL.toNanos(), expiry.expireAfterCreate(RateCacheKey.of("USD", TODAY), null, 0L));
+        assertEquals(TTL.toNanos(), expiry.expireAfterUpdate(RateCacheKey.of("USD", TODAY.plusDays(1)), null, 0L, 1L));
+    }
+
+    @Test
+    @DisplayName("Reads should not extend the expiry")
+    void readsShouldKeepCurrentDuration() {
+        assertEquals(42L, expiry.expireAfterRead(RateCacheKey.of("USD", TODAY), null, 0L, 42L));
+    }
+}
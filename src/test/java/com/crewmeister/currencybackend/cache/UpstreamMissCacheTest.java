@@ -0,0 +1,59 @@
+package com.crewmeister.currencybackend.cache;
+
+import com.crewmeister.currencybackend.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamMissCacheTest {
+
+    private static final LocalDate START = LocalDate.of(1990, 1, 1);
+    private static final LocalDate END = LocalDate.of(1990, 12, 31);
+
+    private SimpleCacheManager cacheManager;
+    private UpstreamMissCache upstreamMissCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(1000, Duration.ofMinutes(5), 10, Duration.ofMinutes(10));
+        cacheManager.afterPropertiesSet();
+        upstreamMissCache = new UpstreamMissCache(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Recorded misses should be known for the same currency and range only")
+    void recordedMissesShouldBeKnownForSameRequest() {
+        // When
+        upstreamMissCache.recordMiss("USD", START, END);
+
+        // Then
+        assertTrue(upstreamMissCache.isKnownMiss("USD", START, END));
+        assertFalse(upstreamMissCache.isKnownMiss("USD", START, END.plusDays(1)));
+        assertFalse(upstreamMissCache.isKnownMiss("GBP", START, END));
+    }
+
+    @Test
+    @DisplayName("Known misses should be counted as cache hits")
+    void knownMissesShouldBeCountedAsHits() {
+        // Given
+        upstreamMissCache.recordMiss("XYZ", START, END);
+
+        // When
+        upstreamMissCache.isKnownMiss("XYZ", START, END);
+        upstreamMissCache.isKnownMiss("XYZ", START, END);
+        upstreamMissCache.isKnownMiss("USD", START, END);
+
+        // Then
+        CacheStats stats = ((CaffeineCache) cacheManager.getCache(CacheConfig.UPSTREAM_MISSES_CACHE)).getNativeCache().stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.crewmeister.currencybackend.client;
+
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.mapper.CurrencyMapper;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.service.impl.CurrencyCatalog;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class BundesbankMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetryRegistry retryRegistry;
+    private BundesbankMetrics bundesbankMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryRegistry = RetryRegistry.ofDefaults();
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        given(currencyRepository.findAll()).willReturn(Arrays.asList(
+                new Currency("USD", "US Dollar", "United States", true),
+                new Currency("GBP", "British Pound", "United Kingdom", true)));
+        bundesbankMetrics = new BundesbankMetrics(meterRegistry, retryRegistry,
+                new CurrencyCatalog(currencyRepository, new CurrencyMapper()));
+    }
+
+    @Test
+    @DisplayName("Calls should be timed for every requested currency")
+    void shouldRecordCallPerCurrency() {
+        // When
+        bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_FEIGN, Arrays.asList("USD", "GBP"),
+                BundesbankMetrics.OUTCOME_SUCCESS, 2_000_000);
+
+        // Then
+        assertEquals(1, meterRegistry.get("bundesbank.request.duration").tag("currency", "USD").timer().count());
+        assertEquals(1, meterRegistry.get("bundesbank.request.duration").tag("currency", "GBP").timer().count());
+    }
+
+    @Test
+    @DisplayName("Currencies without decoded rates should be recorded with 0 observations, unknown ones as other")
+    void shouldRecordObservationsPerCurrency() {
+        // When
+        bundesbankMetrics.recordObservations(BundesbankMetrics.CLIENT_FEIGN, Arrays.asList("USD", "XYZ"),
+                Collections.singletonMap("USD", 30));
+
+        // Then
+        assertEquals(30.0, meterRegistry.get("bundesbank.response.observations").tag("currency", "USD").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("bundesbank.response.observations").tag("currency", "other").summary().count());
+        assertEquals(0.0, meterRegistry.get("bundesbank.response.observations").tag("currency", "other").summary().totalAmount());
+        assertTrue(meterRegistry.find("bundesbank.response.observations").tag("currency", "XYZ").summaries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Calls for currencies unknown to the catalog should share the other tag")
+    void shouldTagUnknownCurrenciesAsOther() {
+        // When
+        bundesbankMetrics.recordCall(BundesbankMetrics.CLIENT_FEIGN, Arrays.asList("ABC", "DEF"),
+                BundesbankMetrics.OUTCOME_NO_DATA, 1_000_000);
+
+        // Then
+        assertEquals(2, meterRegistry.get("bundesbank.request.duration").tag("currency", "other").timer().count());
+        assertEquals(1, meterRegistry.find("bundesbank.request.duration").timers().size());
+    }
+
+    @Test
+    @DisplayName("Rate limiter waits should be timed by outcome")
+    void shouldRecordPermitWaitByOutcome() {
+        // When
+        bundesbankMetrics.recordPermitWait(BundesbankMetrics.PERMIT_PERMITTED, 1_000_000);
+        bundesbankMetrics.recordPermitWait(BundesbankMetrics.PERMIT_REJECTED, 5_000_000);
+
+        // Then
+        assertEquals(1, meterRegistry.get("bundesbank.ratelimiter.wait").tag("outcome", "permitted").timer().count());
+        assertEquals(1, meterRegistry.get("bundesbank.ratelimiter.wait").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    @DisplayName("Retried attempts should be counted by exception type")
+    void shouldCountRetries() {
+        // Given
+        Retry retry = retryRegistry.retry("bundesbank");
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        retry.executeSupplier(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new UncheckedIOException(new IOException("reset"));
+            }
+            return "rates";
+        });
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("bundesbank.retries").tag("exception", "UncheckedIOException").counter().count());
+    }
+}
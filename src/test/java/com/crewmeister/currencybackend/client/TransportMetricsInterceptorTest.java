@@ -0,0 +1,80 @@
+package com.crewmeister.currencybackend.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpConnectionMetrics;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransportMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransportMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new TransportMetricsInterceptor(meterRegistry, "bundesbank");
+    }
+
+    @Test
+    @DisplayName("Responses should be counted by whether their connection was reused")
+    void shouldCountNewAndReusedConnections() {
+        // When
+        interceptor.process(response(new byte[0]), contextWithRequestCount(1));
+        interceptor.process(response(new byte[0]), contextWithRequestCount(2));
+        interceptor.process(response(new byte[0]), contextWithRequestCount(3));
+
+        // Then
+        assertEquals(1.0, connectionRequests("new"));
+        assertEquals(2.0, connectionRequests("reused"));
+    }
+
+    @Test
+    @DisplayName("Body bytes should be counted as the body is read")
+    void shouldCountReceivedBytes() throws Exception {
+        // Given
+        BasicHttpResponse response = response(new byte[1500]);
+
+        // When
+        interceptor.process(response, contextWithRequestCount(1));
+        byte[] body = EntityUtils.toByteArray(response.getEntity());
+
+        // Then
+        assertEquals(1500, body.length);
+        assertEquals(1500.0, meterRegistry.get("http.client.received.bytes").counter().count());
+    }
+
+    private static BasicHttpResponse response(byte[] body) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new ByteArrayEntity(body));
+        return response;
+    }
+
+    private static HttpContext contextWithRequestCount(long requestCount) {
+        HttpConnectionMetrics metrics = mock(HttpConnectionMetrics.class);
+        when(metrics.getRequestCount()).thenReturn(requestCount);
+        HttpConnection connection = mock(HttpConnection.class);
+        when(connection.getMetrics()).thenReturn(metrics);
+
+        HttpContext context = new BasicHttpContext();
+        context.setAttribute(HttpCoreContext.HTTP_CONNECTION, connection);
+        return context;
+    }
+
+    private double connectionRequests(String connection) {
+        return meterRegistry.get("http.client.connection.requests").tag("connection", connection).counter().count();
+    }
+}
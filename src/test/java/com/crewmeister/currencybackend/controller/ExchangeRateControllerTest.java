@@ -1,36 +1,57 @@
 package com.crewmeister.currencybackend.controller;
 
+import com.crewmeister.currencybackend.cache.RateResponseCaching;
+import com.crewmeister.currencybackend.config.ContentNegotiationConfig;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.BatchConversionRequestDto;
 import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
 import com.crewmeister.currencybackend.dto.request.RatesByDateRequestDto;
 import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.dto.response.ExchangeRatePageDto;
 import com.crewmeister.currencybackend.service.ExchangeRateService;
+import com.crewmeister.currencybackend.service.impl.RateMatrix;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ExchangeRateController.class)
+@Import({RateResponseCaching.class, ContentNegotiationConfig.class})
 class ExchangeRateControllerTest {
 
     @Autowired
@@ -39,6 +60,9 @@ class ExchangeRateControllerTest {
     @MockBean
     private ExchangeRateService exchangeRateService;
 
+    @MockBean
+    private RateMatrix rateMatrix;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -147,6 +171,153 @@ class ExchangeRateControllerTest {
         verify(exchangeRateService).getRateByCurrencyAndDate(currencyCode, testDate);
     }
 
+    @Test
+    @DisplayName("Should mark a historic rate as immutable, tag it weakly and keep answering a matching If-None-Match with 304 across data versions")
+    void shouldAnswerNotModifiedWithoutCallingService() throws Exception {
+        // Given
+        given(rateMatrix.getVersion()).willReturn(42L, 43L);
+        given(exchangeRateService.getRateByCurrencyAndDate("USD", testDate)).willReturn(singleRate);
+
+        String etag = mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/date/{date}", "USD", testDate))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/date/{date}", "USD", testDate)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(exchangeRateService, times(1)).getRateByCurrencyAndDate("USD", testDate);
+    }
+
+    @Test
+    @DisplayName("Should return a fresh body for today once the data version has changed")
+    void shouldReturnBodyWhenDataVersionChanged() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        given(rateMatrix.getVersion()).willReturn(42L, 43L);
+        given(exchangeRateService.getRateByCurrencyAndDate("USD", today)).willReturn(singleRate);
+
+        String etag = mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/date/{date}", "USD", today))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/date/{date}", "USD", today)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate", is(0.92)));
+
+        verify(exchangeRateService, times(2)).getRateByCurrencyAndDate("USD", today);
+    }
+
+    @Test
+    @DisplayName("Should only briefly cache responses that include today")
+    void shouldCacheTodayBriefly() throws Exception {
+        // Given
+        given(exchangeRateService.getAllRates()).willReturn(exchangeRates);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should answer in CBOR when asked, with a smaller payload than JSON")
+    void shouldNegotiateCbor() throws Exception {
+        // Given
+        given(exchangeRateService.getAllRates()).willReturn(exchangeRates);
+        MediaType cbor = MediaType.valueOf("application/cbor");
+
+        // When
+        byte[] json = mockMvc.perform(get("/api/v1/exchange-rates").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] binary = mockMvc.perform(get("/api/v1/exchange-rates").accept(cbor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(cbor))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode rates = new ObjectMapper(new CBORFactory()).readTree(binary);
+        assertEquals(2, rates.size());
+        assertEquals("USD", rates.get(0).get("currencyCode").asText());
+        assertEquals(testDate.toString(), rates.get(0).get("date").asText());
+        assertTrue(binary.length < json.length);
+    }
+
+    @Test
+    @DisplayName("Should return the most recent rate on or before the date with the requested date")
+    void shouldGetRateOnOrBeforeDate() throws Exception {
+        // Given
+        LocalDate saturday = LocalDate.of(2025, 4, 12);
+        ExchangeRateDto fridayRate = ExchangeRateDto.builder()
+                .currencyCode("USD")
+                .currencyName("US Dollar")
+                .date(LocalDate.of(2025, 4, 11))
+                .rate(new BigDecimal("1.13"))
+                .requestedDate(saturday)
+                .build();
+
+        given(exchangeRateService.getRateOnOrBefore("USD", saturday)).willReturn(fridayRate);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/date/{date}", "USD", saturday)
+                        .param("mode", "ON_OR_BEFORE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date", is("2025-04-11")))
+                .andExpect(jsonPath("$.requestedDate", is("2025-04-12")));
+
+        verify(exchangeRateService, never()).getRateByCurrencyAndDate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return a page of rates for a date range with the next cursor")
+    void shouldGetRatesForRange() throws Exception {
+        // Given
+        LocalDate start = LocalDate.of(2025, 4, 1);
+        LocalDate end = LocalDate.of(2025, 4, 30);
+        ExchangeRatePageDto page = ExchangeRatePageDto.builder()
+                .rates(Collections.singletonList(singleRate))
+                .nextCursor(testDate)
+                .build();
+
+        given(exchangeRateService.getRatesForRange("USD", start, end, null, 250)).willReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/range", "USD")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rates", hasSize(1)))
+                .andExpect(jsonPath("$.rates[0].currencyCode", is("USD")))
+                .andExpect(jsonPath("$.nextCursor", is(testDate.toString())));
+
+        verify(exchangeRateService).getRatesForRange("USD", start, end, null, 250);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid date range")
+    void shouldRejectInvalidRange() throws Exception {
+        // Given
+        given(exchangeRateService.getRatesForRange(any(), any(), any(), any(), anyInt()))
+                .willThrow(new IllegalArgumentException("End date is before start date"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/exchange-rates/{currencyCode}/range", "USD")
+                        .param("start", testDate.toString())
+                        .param("end", testDate.minusDays(1).toString())
+                        .param("cursor", testDate.toString())
+                        .param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should convert currency amount to EUR via POST endpoint")
     void shouldConvertCurrencyToEurPost() throws Exception {
@@ -157,7 +328,7 @@ class ExchangeRateControllerTest {
                 .date(testDate)
                 .build();
 
-        given(exchangeRateService.convertToEur(any(ConversionRequestDto.class)))
+        given(exchangeRateService.convert(any(ConversionRequestDto.class)))
                 .willReturn(conversionResponse);
 
         // When & Then
@@ -172,7 +343,42 @@ class ExchangeRateControllerTest {
                 .andExpect(jsonPath("$.exchangeRate", is(0.92)))
                 .andExpect(jsonPath("$.date", is(testDate.toString())));
 
-        verify(exchangeRateService).convertToEur(any(ConversionRequestDto.class));
+        verify(exchangeRateService).convert(any(ConversionRequestDto.class));
+    }
+
+    @Test
+    @DisplayName("Should convert between two non-EUR currencies via POST endpoint")
+    void shouldConvertCrossCurrencyPost() throws Exception {
+        // Given
+        ConversionRequestDto request = ConversionRequestDto.builder()
+                .fromCurrency("USD")
+                .toCurrency("GBP")
+                .amount(new BigDecimal("100"))
+                .date(testDate)
+                .build();
+        ConversionResponseDto crossResponse = ConversionResponseDto.builder()
+                .amount(new BigDecimal("100"))
+                .fromCurrency("USD")
+                .convertedAmount(new BigDecimal("127.17"))
+                .toCurrency("GBP")
+                .exchangeRate(new BigDecimal("0.92"))
+                .crossRate(new BigDecimal("1.271739"))
+                .date(testDate)
+                .build();
+
+        given(exchangeRateService.convert(any(ConversionRequestDto.class)))
+                .willReturn(crossResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/exchange-rates/convert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.convertedAmount", is(127.17)))
+                .andExpect(jsonPath("$.toCurrency", is("GBP")))
+                .andExpect(jsonPath("$.crossRate", is(1.271739)));
+
+        verify(exchangeRateService).convert(request);
     }
 
     @Test
@@ -247,4 +453,91 @@ class ExchangeRateControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should convert a batch of amounts to EUR via POST endpoint")
+    void shouldConvertBatchToEur() throws Exception {
+        // Given
+        ConversionRequestDto conversion = ConversionRequestDto.builder()
+                .fromCurrency("USD")
+                .amount(new BigDecimal("100"))
+                .date(testDate)
+                .build();
+        BatchConversionRequestDto request = BatchConversionRequestDto.builder()
+                .conversions(Arrays.asList(conversion, conversion))
+                .build();
+
+        given(exchangeRateService.convertBatch(anyList()))
+                .willReturn(Arrays.asList(conversionResponse, conversionResponse));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/exchange-rates/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].fromCurrency", is("USD")))
+                .andExpect(jsonPath("$[1].convertedAmount", is(92)));
+
+        verify(exchangeRateService).convertBatch(Arrays.asList(conversion, conversion));
+    }
+
+    @Test
+    @DisplayName("Should answer a batch with an unresolvable item with 200 and an error for that item only")
+    void shouldReportUnresolvableBatchItem() throws Exception {
+        // Given
+        LocalDate saturday = LocalDate.of(2025, 4, 12);
+        ConversionRequestDto weekday = ConversionRequestDto.builder()
+                .fromCurrency("USD")
+                .amount(new BigDecimal("100"))
+                .date(testDate)
+                .build();
+        ConversionRequestDto weekend = ConversionRequestDto.builder()
+                .fromCurrency("USD")
+                .amount(new BigDecimal("50"))
+                .date(saturday)
+                .build();
+        BatchConversionRequestDto request = BatchConversionRequestDto.builder()
+                .conversions(Arrays.asList(weekday, weekend))
+                .build();
+        ConversionResponseDto failed = ConversionResponseDto.builder()
+                .amount(new BigDecimal("50"))
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .date(saturday)
+                .error("Exchange rate not found for currency: USD and date: " + saturday)
+                .build();
+
+        given(exchangeRateService.convertBatch(anyList()))
+                .willReturn(Arrays.asList(conversionResponse, failed));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/exchange-rates/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].convertedAmount", is(92)))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].date", is("2025-04-12")))
+                .andExpect(jsonPath("$[1].convertedAmount").doesNotExist())
+                .andExpect(jsonPath("$[1].error", containsString("2025-04-12")));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty conversion batch")
+    void shouldRejectEmptyBatch() throws Exception {
+        // Given
+        BatchConversionRequestDto request = BatchConversionRequestDto.builder()
+                .conversions(Collections.emptyList())
+                .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/exchange-rates/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(exchangeRateService, never()).convertBatch(anyList());
+    }
 }
@@ -0,0 +1,91 @@
+package com.crewmeister.currencybackend.controller;
+
+import com.crewmeister.currencybackend.dto.request.ExportFormat;
+import com.crewmeister.currencybackend.service.ExchangeRateExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExchangeRateExportController.class)
+class ExchangeRateExportControllerTest {
+
+    private static final String CSV = "currency_code,currency_name,date,rate\nUSD,US Dollar,2025-04-09,1.095000\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExchangeRateExportService exchangeRateExportService;
+
+    @Test
+    @DisplayName("Should stream the export as attachment in the requested format")
+    void shouldStreamCsvExport() throws Exception {
+        // Given
+        given(exchangeRateExportService.exportRates(eq(ExportFormat.CSV), eq("USD"), isNull(), isNull(), any(OutputStream.class)))
+                .willAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(4).write(CSV.getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/exchange-rates/export")
+                        .param("format", "CSV")
+                        .param("currencyCode", "USD"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exchange-rates.csv\""))
+                .andExpect(content().string(CSV));
+    }
+
+    @Test
+    @DisplayName("Should gzip the export on request")
+    void shouldGzipExport() throws Exception {
+        // Given
+        given(exchangeRateExportService.exportRates(eq(ExportFormat.NDJSON), isNull(), isNull(), isNull(), any(OutputStream.class)))
+                .willAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(4).write(CSV.getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/exchange-rates/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+        }
+    }
+}
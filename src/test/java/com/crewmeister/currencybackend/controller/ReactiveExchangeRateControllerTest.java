@@ -0,0 +1,77 @@
+package com.crewmeister.currencybackend.controller;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.exception.ExchangeRateNotFoundException;
+import com.crewmeister.currencybackend.service.ReactiveExchangeRateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReactiveExchangeRateController.class)
+class ReactiveExchangeRateControllerTest {
+
+    private final LocalDate testDate = LocalDate.of(2025, 4, 9);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveExchangeRateService reactiveExchangeRateService;
+
+    @Test
+    @DisplayName("Should return the rate once the Mono completes")
+    void shouldReturnRateAsynchronously() throws Exception {
+        // Given
+        ExchangeRateDto usdRate = ExchangeRateDto.builder()
+                .currencyCode("USD")
+                .currencyName("US Dollar")
+                .date(testDate)
+                .rate(new BigDecimal("1.095"))
+                .build();
+        given(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate)).willReturn(Mono.just(usdRate));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/exchange-rates/{currencyCode}/date/{date}", "USD", testDate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currencyCode", is("USD")))
+                .andExpect(jsonPath("$.rate", is(1.095)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the Mono fails with ExchangeRateNotFoundException")
+    void shouldReturnNotFoundAsynchronously() throws Exception {
+        // Given
+        given(reactiveExchangeRateService.getRateByCurrencyAndDate("XYZ", testDate))
+                .willReturn(Mono.error(new ExchangeRateNotFoundException("XYZ", testDate)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v2/exchange-rates/{currencyCode}/date/{date}", "XYZ", testDate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
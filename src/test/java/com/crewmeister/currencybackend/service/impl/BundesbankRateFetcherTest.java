@@ -0,0 +1,270 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.cache.UpstreamMissCache;
+import com.crewmeister.currencybackend.client.BundesbankClient;
+import com.crewmeister.currencybackend.client.BundesbankMetrics;
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BundesbankRateFetcherTest {
+
+    @Mock
+    private BundesbankClient bundesbankClient;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private CurrencyCatalog currencyCatalog;
+
+    @Mock
+    private UpstreamMissCache upstreamMissCache;
+
+    @Mock
+    private BundesbankMetrics bundesbankMetrics;
+
+    private BundesbankRateFetcher bundesbankRateFetcher;
+
+    private final LocalDate testDate = LocalDate.of(2025, 4, 9);
+    private final String dataflowId = "BBEX3";
+    private final String sampleJsonResponse = "{ \"data\": { \"structure\": { \"dimensions\": { \"observation\": ["
+            + "{ \"id\": \"TIME_PERIOD\", \"values\": [{ \"id\": \"2025-04-09\" }] }] } },"
+            + " \"dataSets\": [{ \"series\": { \"0:0:0:0:0\": { \"observations\": { \"0\": [1.0866] } } } }] } }";
+
+    @BeforeEach
+    void setUp() {
+        // Retry without backoff so error responses do not slow the tests down
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+        bundesbankRateFetcher = new BundesbankRateFetcher(bundesbankClient, objectMapper, currencyCatalog,
+                upstreamMissCache, bundesbankMetrics, retryRegistry, CircuitBreakerRegistry.ofDefaults(),
+                RateLimiterRegistry.ofDefaults());
+
+        // Set dataflowId via reflection
+        ReflectionTestUtils.setField(bundesbankRateFetcher, "dataflowId", dataflowId);
+    }
+
+    @Test
+    @DisplayName("fetchRates should request the currency series and parse the response")
+    void fetchRatesShouldRequestSeriesAndParseResponse() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(dataflowId, "D.USD.EUR.BB.AC.000", "json", "en", "2025-04-09", "2025-04-09"))
+                .thenReturn(response(200, sampleJsonResponse));
+        when(currencyCatalog.getName("USD")).thenReturn("US Dollar");
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates("USD", testDate, testDate);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("USD", result.get(0).getCurrencyCode());
+        assertEquals("US Dollar", result.get(0).getCurrencyName());
+        assertEquals(testDate, result.get(0).getDate());
+        assertEquals(new BigDecimal("1.0866"), result.get(0).getRate());
+    }
+
+    @Test
+    @DisplayName("fetchRates should return an empty list when Bundesbank has no data")
+    void fetchRatesShouldReturnEmptyListWhenNotFound() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(response(404, ""));
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates("XYZ", testDate, testDate);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(upstreamMissCache).recordMiss("XYZ", testDate, testDate);
+        verify(bundesbankMetrics).recordCall(eq(BundesbankMetrics.CLIENT_FEIGN), eq(Collections.singletonList("XYZ")),
+                eq(BundesbankMetrics.OUTCOME_NO_DATA), anyLong());
+    }
+
+    @Test
+    @DisplayName("fetchRates should not call Bundesbank for requests that recently returned no rates")
+    void fetchRatesShouldSkipKnownMisses() {
+        // Given
+        when(upstreamMissCache.isKnownMiss("XYZ", testDate, testDate)).thenReturn(true);
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates("XYZ", testDate, testDate);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bundesbankClient);
+    }
+
+    @Test
+    @DisplayName("fetchRates should only request currencies that are not known misses and record empty series")
+    void fetchRatesShouldRecordCurrenciesWithoutRates() {
+        // Given
+        when(upstreamMissCache.isKnownMiss("USD", testDate, testDate)).thenReturn(false);
+        when(upstreamMissCache.isKnownMiss("XYZ", testDate, testDate)).thenReturn(true);
+        when(upstreamMissCache.isKnownMiss("GBP", testDate, testDate)).thenReturn(false);
+        String multiCurrencyJson = "{ \"data\": { \"structure\": { \"dimensions\": {"
+                + " \"series\": [{ \"id\": \"BBK_STD_FREQ\", \"keyPosition\": 0, \"values\": [{ \"id\": \"D\" }] },"
+                + " { \"id\": \"BBK_STD_CURRENCY\", \"keyPosition\": 1, \"values\": [{ \"id\": \"USD\" }] }],"
+                + " \"observation\": [{ \"id\": \"TIME_PERIOD\", \"values\": [{ \"id\": \"2025-04-09\" }] }] } },"
+                + " \"dataSets\": [{ \"series\": { \"0:0:0:0:0\": { \"observations\": { \"0\": [1.0866] } } } }] } }";
+        when(bundesbankClient.streamDataForDateRange(dataflowId, "D.USD+GBP.EUR.BB.AC.000", "json", "en", "2025-04-09", "2025-04-09"))
+                .thenReturn(response(200, multiCurrencyJson));
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates(Arrays.asList("USD", "XYZ", "GBP"), testDate, testDate);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(upstreamMissCache).recordMiss("GBP", testDate, testDate);
+        verify(upstreamMissCache, never()).recordMiss(eq("USD"), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("fetchRates should throw ExternalServiceException for unparsable responses")
+    void fetchRatesShouldThrowForUnparsableResponse() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(response(200, "not json"));
+
+        // When & Then
+        assertThrows(ExternalServiceException.class, () -> bundesbankRateFetcher.fetchRates("USD", testDate, testDate));
+    }
+
+    @Test
+    @DisplayName("fetchRates should request several currencies with one multiplexed key")
+    void fetchRatesShouldRequestSeveralCurrenciesInOneCall() {
+        // Given
+        String multiCurrencyJson = "{ \"data\": { \"structure\": { \"dimensions\": {"
+                + " \"series\": [{ \"id\": \"BBK_STD_FREQ\", \"keyPosition\": 0, \"values\": [{ \"id\": \"D\" }] },"
+                + " { \"id\": \"BBK_STD_CURRENCY\", \"keyPosition\": 1, \"values\": [{ \"id\": \"GBP\" }, { \"id\": \"USD\" }] }],"
+                + " \"observation\": [{ \"id\": \"TIME_PERIOD\", \"values\": [{ \"id\": \"2025-04-09\" }] }] } },"
+                + " \"dataSets\": [{ \"series\": {"
+                + " \"0:0:0:0:0\": { \"observations\": { \"0\": [0.8561] } },"
+                + " \"0:1:0:0:0\": { \"observations\": { \"0\": [1.0866] } } } }] } }";
+        when(bundesbankClient.streamDataForDateRange(dataflowId, "D.USD+GBP.EUR.BB.AC.000", "json", "en", "2025-04-09", "2025-04-09"))
+                .thenReturn(response(200, multiCurrencyJson));
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates(Arrays.asList("USD", "GBP"), testDate, testDate);
+
+        // Then
+        verify(bundesbankClient, times(1)).streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("USD") && rate.getRate().equals(new BigDecimal("1.0866"))));
+        assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("GBP") && rate.getRate().equals(new BigDecimal("0.8561"))));
+    }
+
+    @Test
+    @DisplayName("fetchRates should record the call, response and decoded rates per currency")
+    void fetchRatesShouldRecordMetrics() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(dataflowId, "D.USD.EUR.BB.AC.000", "json", "en", "2025-04-09", "2025-04-09"))
+                .thenReturn(response(200, sampleJsonResponse));
+
+        // When
+        bundesbankRateFetcher.fetchRates("USD", testDate, testDate);
+
+        // Then
+        List<String> currencies = Collections.singletonList("USD");
+        verify(bundesbankMetrics).recordPermitWait(eq(BundesbankMetrics.PERMIT_PERMITTED), anyLong());
+        verify(bundesbankMetrics).recordCall(eq(BundesbankMetrics.CLIENT_FEIGN), eq(currencies),
+                eq(BundesbankMetrics.OUTCOME_SUCCESS), anyLong());
+        verify(bundesbankMetrics).recordResponse(eq(BundesbankMetrics.CLIENT_FEIGN),
+                eq((long) sampleJsonResponse.getBytes(StandardCharsets.UTF_8).length), anyLong());
+        verify(bundesbankMetrics).recordObservations(BundesbankMetrics.CLIENT_FEIGN, currencies,
+                Collections.singletonMap("USD", 1));
+    }
+
+    @Test
+    @DisplayName("streamRates should emit rates when data sets arrive before the structure")
+    void streamRatesShouldBufferDataSetsBeforeStructure() {
+        // Given
+        String dataSetsFirstJson = "{ \"data\": { \"dataSets\": [{ \"series\": { \"0:0:0:0:0\": { \"observations\": {"
+                + " \"0\": [1.0866], \"1\": [null], \"2\": [\"NaN\"] } } } }],"
+                + " \"structure\": { \"dimensions\": { \"observation\": [{ \"id\": \"TIME_PERIOD\", \"values\": ["
+                + " { \"id\": \"2025-04-09\" }, { \"id\": \"2025-04-10\" }, { \"id\": \"2025-04-11\" }] }] } } } }";
+        when(bundesbankClient.streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(response(200, dataSetsFirstJson));
+        List<ExchangeRateDto> sink = new ArrayList<>();
+
+        // When
+        int emitted = bundesbankRateFetcher.streamRates(Collections.singletonList("USD"), testDate, testDate.plusDays(2), sink::add);
+
+        // Then
+        assertEquals(1, emitted);
+        assertEquals(1, sink.size());
+        assertEquals(testDate, sink.get(0).getDate());
+        assertEquals(new BigDecimal("1.0866"), sink.get(0).getRate());
+    }
+
+    @Test
+    @DisplayName("streamRates should retry server errors and surface the last one")
+    void streamRatesShouldThrowForServerErrors() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(response(503, "unavailable"));
+
+        // When & Then
+        assertThrows(FeignException.class, () -> bundesbankRateFetcher.streamRates(
+                Collections.singletonList("USD"), testDate, testDate, rate -> { }));
+        verify(bundesbankClient, times(3)).streamDataForDateRange(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(bundesbankMetrics, times(3)).recordCall(eq(BundesbankMetrics.CLIENT_FEIGN), eq(Collections.singletonList("USD")),
+                eq(BundesbankMetrics.OUTCOME_ERROR), anyLong());
+    }
+
+    @Test
+    @DisplayName("fetchRates should return the rates of a retried call that recovered")
+    void fetchRatesShouldRetryServerErrors() {
+        // Given
+        when(bundesbankClient.streamDataForDateRange(dataflowId, "D.USD.EUR.BB.AC.000", "json", "en", "2025-04-09", "2025-04-09"))
+                .thenReturn(response(503, "unavailable"), response(200, sampleJsonResponse));
+
+        // When
+        List<ExchangeRateDto> result = bundesbankRateFetcher.fetchRates("USD", testDate, testDate);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(new BigDecimal("1.0866"), result.get(0).getRate());
+        verify(upstreamMissCache, never()).recordMiss(anyString(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    private static Response response(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "/data/BBEX3", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
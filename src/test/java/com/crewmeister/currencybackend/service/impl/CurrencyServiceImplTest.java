@@ -9,18 +9,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +30,11 @@ class CurrencyServiceImplTest {
     @Mock
     private CurrencyRepository currencyRepository;
 
-    @Mock
-    private CurrencyMapper currencyMapper;
+    @Spy
+    private CurrencyMapper currencyMapper = new CurrencyMapper();
+
+    private CurrencyCatalog currencyCatalog;
 
-    @InjectMocks
     private CurrencyServiceImpl currencyService;
 
     private Currency usdCurrency;
@@ -44,8 +46,6 @@ class CurrencyServiceImplTest {
     private CurrencyDto gbpCurrencyDto;
     private CurrencyDto inactiveJpyCurrencyDto;
     private List<Currency> allCurrencies;
-    private List<Currency> activeCurrencies;
-    private List<Currency> usCurrencies;
 
     @BeforeEach
     void setUp() {
@@ -101,11 +101,10 @@ class CurrencyServiceImplTest {
 
         // Setup lists
         allCurrencies = Arrays.asList(usdCurrency, eurCurrency, gbpCurrency, inactiveJpyCurrency);
-        activeCurrencies = Arrays.asList(usdCurrency, eurCurrency, gbpCurrency);
-        usCurrencies = Collections.singletonList(usdCurrency);
 
-        // NOT: BeforeEach içinde mapper stub'larını kaldırdık
-        // Bu stub'ları her test metodunun içinde gerektiği yerde tanımlayacağız
+        // The service reads from a real catalog loaded from the mocked repository
+        currencyCatalog = new CurrencyCatalog(currencyRepository, currencyMapper);
+        currencyService = new CurrencyServiceImpl(currencyCatalog);
     }
 
     @Test
@@ -113,10 +112,6 @@ class CurrencyServiceImplTest {
     void shouldReturnAllCurrencies() {
         // Given
         given(currencyRepository.findAll()).willReturn(allCurrencies);
-        given(currencyMapper.mapToDto(usdCurrency)).willReturn(usdCurrencyDto);
-        given(currencyMapper.mapToDto(eurCurrency)).willReturn(eurCurrencyDto);
-        given(currencyMapper.mapToDto(gbpCurrency)).willReturn(gbpCurrencyDto);
-        given(currencyMapper.mapToDto(inactiveJpyCurrency)).willReturn(inactiveJpyCurrencyDto);
 
         // When
         List<CurrencyDto> result = currencyService.getAllCurrencies();
@@ -145,10 +140,7 @@ class CurrencyServiceImplTest {
     @DisplayName("Should return only active currencies")
     void shouldReturnActiveCurrencies() {
         // Given
-        given(currencyRepository.findByActiveTrue()).willReturn(activeCurrencies);
-        given(currencyMapper.mapToDto(usdCurrency)).willReturn(usdCurrencyDto);
-        given(currencyMapper.mapToDto(eurCurrency)).willReturn(eurCurrencyDto);
-        given(currencyMapper.mapToDto(gbpCurrency)).willReturn(gbpCurrencyDto);
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
 
         // When
         List<CurrencyDto> result = currencyService.getActiveCurrencies();
@@ -157,21 +149,19 @@ class CurrencyServiceImplTest {
         assertThat(result).hasSize(3);
         assertThat(result).containsExactly(usdCurrencyDto, eurCurrencyDto, gbpCurrencyDto);
         assertThat(result).doesNotContain(inactiveJpyCurrencyDto);
-        verify(currencyRepository).findByActiveTrue();
     }
 
     @Test
     @DisplayName("Should return empty list when no active currencies found")
     void shouldReturnEmptyListWhenNoActiveCurrenciesFound() {
         // Given
-        given(currencyRepository.findByActiveTrue()).willReturn(Collections.emptyList());
+        given(currencyRepository.findAll()).willReturn(Collections.singletonList(inactiveJpyCurrency));
 
         // When
         List<CurrencyDto> result = currencyService.getActiveCurrencies();
 
         // Then
         assertThat(result).isEmpty();
-        verify(currencyRepository).findByActiveTrue();
     }
 
     @Test
@@ -179,15 +169,13 @@ class CurrencyServiceImplTest {
     void shouldReturnCurrencyByCode() {
         // Given
         String currencyCode = "USD";
-        given(currencyRepository.findByCode(currencyCode)).willReturn(Optional.of(usdCurrency));
-        given(currencyMapper.mapToDto(usdCurrency)).willReturn(usdCurrencyDto);
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
 
         // When
         CurrencyDto result = currencyService.getCurrencyByCode(currencyCode);
 
         // Then
         assertThat(result).isEqualTo(usdCurrencyDto);
-        verify(currencyRepository).findByCode(currencyCode);
     }
 
     @Test
@@ -195,13 +183,12 @@ class CurrencyServiceImplTest {
     void shouldThrowExceptionWhenCurrencyCodeNotFound() {
         // Given
         String currencyCode = "XXX";
-        given(currencyRepository.findByCode(currencyCode)).willReturn(Optional.empty());
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
 
         // When & Then
         assertThrows(CurrencyNotFoundException.class, () -> {
             currencyService.getCurrencyByCode(currencyCode);
         });
-        verify(currencyRepository).findByCode(currencyCode);
     }
 
     @Test
@@ -209,8 +196,7 @@ class CurrencyServiceImplTest {
     void shouldReturnCurrenciesByCountry() {
         // Given
         String country = "United States";
-        given(currencyRepository.findByCountry(country)).willReturn(usCurrencies);
-        given(currencyMapper.mapToDto(usdCurrency)).willReturn(usdCurrencyDto);
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
 
         // When
         List<CurrencyDto> result = currencyService.getCurrenciesByCountry(country);
@@ -218,7 +204,6 @@ class CurrencyServiceImplTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0)).isEqualTo(usdCurrencyDto);
-        verify(currencyRepository).findByCountry(country);
     }
 
     @Test
@@ -226,13 +211,45 @@ class CurrencyServiceImplTest {
     void shouldReturnEmptyListWhenNoCurrenciesFoundForCountry() {
         // Given
         String country = "Unknown Country";
-        given(currencyRepository.findByCountry(country)).willReturn(Collections.emptyList());
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
 
         // When
         List<CurrencyDto> result = currencyService.getCurrenciesByCountry(country);
 
         // Then
         assertThat(result).isEmpty();
-        verify(currencyRepository).findByCountry(country);
+    }
+
+    @Test
+    @DisplayName("Should load the catalog once and serve repeated lookups from memory")
+    void shouldServeRepeatedLookupsFromCatalog() {
+        // Given
+        given(currencyRepository.findAll()).willReturn(allCurrencies);
+
+        // When
+        currencyService.getCurrencyByCode("USD");
+        currencyService.getCurrencyByCode("EUR");
+        currencyService.getActiveCurrencies();
+
+        // Then
+        verify(currencyRepository, times(1)).findAll();
+        verify(currencyRepository, never()).findByCode("USD");
+    }
+
+    @Test
+    @DisplayName("Should only publish a new catalog when the currencies changed")
+    void shouldOnlyPublishCatalogWhenCurrenciesChanged() {
+        // Given
+        given(currencyRepository.findAll())
+                .willReturn(allCurrencies)
+                .willReturn(allCurrencies)
+                .willReturn(Collections.singletonList(usdCurrency));
+
+        // When & Then
+        assertThat(currencyCatalog.refresh()).isTrue();
+        assertThat(currencyCatalog.refresh()).isFalse();
+        assertThat(currencyCatalog.refresh()).isTrue();
+        assertThat(currencyCatalog.getName("EUR")).isEqualTo("EUR");
+        assertThat(currencyCatalog.getName("USD")).isEqualTo("US Dollar");
     }
 }
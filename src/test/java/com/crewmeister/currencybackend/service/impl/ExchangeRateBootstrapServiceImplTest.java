@@ -0,0 +1,166 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.entity.ImportCheckpoint;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.repository.ImportCheckpointRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateBootstrapServiceImplTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    @Mock
+    private BundesbankRateFetcher bundesbankRateFetcher;
+
+    @Mock
+    private ExchangeRateStoreService exchangeRateStoreService;
+
+    private static final List<String> USD = Collections.singletonList("USD");
+    private static final List<String> GBP = Collections.singletonList("GBP");
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate firstDayOfYear = today.withDayOfYear(1);
+
+    private ExchangeRateBootstrapServiceImpl createService(LocalDate historyStartDate) {
+        return createService(historyStartDate, RateLimiterRegistry.ofDefaults());
+    }
+
+    private ExchangeRateBootstrapServiceImpl createService(LocalDate historyStartDate, RateLimiterRegistry rateLimiterRegistry) {
+        return new ExchangeRateBootstrapServiceImpl(currencyRepository, importCheckpointRepository,
+                bundesbankRateFetcher, exchangeRateStoreService, new SimpleMeterRegistry(), rateLimiterRegistry,
+                historyStartDate.toString(), 10, 1);
+    }
+
+    @Test
+    @DisplayName("Should import the history in year-sized chunks and checkpoint every chunk")
+    void shouldImportHistoryInYearChunks() {
+        // Given
+        LocalDate lastYearStart = firstDayOfYear.minusYears(1);
+        List<ExchangeRateDto> lastYearRates = Collections.singletonList(
+                ExchangeRateDto.builder().currencyCode("USD").date(lastYearStart.plusDays(5)).rate(new BigDecimal("1.10")).build());
+        given(currencyRepository.findByActiveTrue()).willReturn(Collections.singletonList(
+                new Currency("USD", "US Dollar", "United States", true)));
+        given(importCheckpointRepository.findById("USD")).willReturn(Optional.empty());
+        given(bundesbankRateFetcher.fetchRates(USD, lastYearStart, firstDayOfYear.minusDays(1))).willReturn(lastYearRates);
+        given(bundesbankRateFetcher.fetchRates(USD, firstDayOfYear, today)).willReturn(Collections.emptyList());
+        given(exchangeRateStoreService.saveRates(lastYearRates)).willReturn(1);
+
+        // When
+        long written = createService(lastYearStart).importFullHistory();
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        ArgumentCaptor<ImportCheckpoint> captor = ArgumentCaptor.forClass(ImportCheckpoint.class);
+        verify(importCheckpointRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(ImportCheckpoint::getLastImportedDate)
+                .containsExactly(firstDayOfYear.minusDays(1), today.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should resume after the stored checkpoint")
+    void shouldResumeAfterCheckpoint() {
+        // Given
+        given(currencyRepository.findByActiveTrue()).willReturn(Collections.singletonList(
+                new Currency("GBP", "British Pound", "United Kingdom", true)));
+        given(importCheckpointRepository.findById("GBP")).willReturn(Optional.of(
+                new ImportCheckpoint("GBP", firstDayOfYear.minusDays(1), LocalDateTime.now())));
+        given(bundesbankRateFetcher.fetchRates(GBP, firstDayOfYear, today)).willReturn(Collections.emptyList());
+
+        // When
+        long written = createService(LocalDate.of(1999, 1, 1)).importFullHistory();
+
+        // Then
+        assertThat(written).isZero();
+        verify(bundesbankRateFetcher).fetchRates(GBP, firstDayOfYear, today);
+        verify(importCheckpointRepository).save(any(ImportCheckpoint.class));
+    }
+
+    @Test
+    @DisplayName("Should request the currencies of a group together, each from its own checkpoint on")
+    void shouldImportCurrencyGroupsTogether() {
+        // Given
+        LocalDate lastYearStart = firstDayOfYear.minusYears(1);
+        given(currencyRepository.findByActiveTrue()).willReturn(Arrays.asList(
+                new Currency("USD", "US Dollar", "United States", true),
+                new Currency("GBP", "British Pound", "United Kingdom", true)));
+        given(importCheckpointRepository.findById("USD")).willReturn(Optional.empty());
+        given(importCheckpointRepository.findById("GBP")).willReturn(Optional.of(
+                new ImportCheckpoint("GBP", firstDayOfYear.minusDays(1), LocalDateTime.now())));
+        given(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .willReturn(Collections.emptyList());
+
+        // When
+        createService(lastYearStart).importFullHistory();
+
+        // Then
+        verify(bundesbankRateFetcher).fetchRates(USD, lastYearStart, firstDayOfYear.minusDays(1));
+        verify(bundesbankRateFetcher).fetchRates(Arrays.asList("USD", "GBP"), firstDayOfYear, today);
+        verify(bundesbankRateFetcher, times(2)).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Should pace the chunks to the rate limiter and leave the reserved permit to user requests")
+    void shouldPaceChunksToRateLimiter() {
+        // Given
+        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(2)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("bundesbank");
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger minAvailable = new AtomicInteger(Integer.MAX_VALUE);
+        given(currencyRepository.findByActiveTrue()).willReturn(Collections.singletonList(
+                new Currency("USD", "US Dollar", "United States", true)));
+        given(importCheckpointRepository.findById("USD")).willReturn(Optional.empty());
+        given(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class))).willAnswer(invocation -> {
+            if (!rateLimiter.acquirePermission()) {
+                rejected.incrementAndGet();
+            }
+            minAvailable.accumulateAndGet(rateLimiter.getMetrics().getAvailablePermissions(), Math::min);
+            return Collections.emptyList();
+        });
+
+        // When
+        createService(firstDayOfYear.minusYears(3), rateLimiterRegistry).importFullHistory();
+
+        // Then
+        verify(bundesbankRateFetcher, times(4)).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+        assertThat(rejected.get()).isZero();
+        assertThat(minAvailable.get()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.dto.request.ExportFormat;
+import com.crewmeister.currencybackend.repository.ExchangeRateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateExportServiceImplTest {
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private ExchangeRateExportServiceImpl exchangeRateExportService;
+
+    private final LocalDate firstDate = LocalDate.of(2025, 4, 8);
+    private final LocalDate secondDate = LocalDate.of(2025, 4, 9);
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldExportNdjson() throws IOException {
+        // Given
+        given(exchangeRateRepository.streamForExport("USD", firstDate, secondDate)).willReturn(Stream.of(
+                new ExchangeRateDto("USD", "US Dollar", firstDate, new BigDecimal("1.090000")),
+                new ExchangeRateDto("USD", "US Dollar", secondDate, new BigDecimal("1.095000"))));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long exported = exchangeRateExportService.exportRates(ExportFormat.NDJSON, "USD", firstDate, secondDate, output);
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"currencyCode\":\"USD\",\"currencyName\":\"US Dollar\",\"date\":\"2025-04-08\",\"rate\":1.090000}\n"
+                        + "{\"currencyCode\":\"USD\",\"currencyName\":\"US Dollar\",\"date\":\"2025-04-09\",\"rate\":1.095000}\n");
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote values containing separators")
+    void shouldExportCsv() throws IOException {
+        // Given
+        given(exchangeRateRepository.streamAllForExport(eq(LocalDate.EPOCH), any(LocalDate.class))).willReturn(Stream.of(
+                new ExchangeRateDto("KRW", "Won, South Korea", firstDate, new BigDecimal("1588.230000"))));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long exported = exchangeRateExportService.exportRates(ExportFormat.CSV, null, null, null, output);
+
+        // Then
+        assertThat(exported).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "currency_code,currency_name,date,rate\n"
+                        + "KRW,\"Won, South Korea\",2025-04-08,1588.230000\n");
+    }
+}
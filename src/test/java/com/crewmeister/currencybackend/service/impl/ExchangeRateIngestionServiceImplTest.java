@@ -0,0 +1,126 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateIngestionServiceImplTest {
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    @Mock
+    private BundesbankRateFetcher bundesbankRateFetcher;
+
+    @Mock
+    private ExchangeRateStoreService exchangeRateStoreService;
+
+    @Mock
+    private CurrencyCatalog currencyCatalog;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExchangeRateIngestionServiceImpl ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new ExchangeRateIngestionServiceImpl(
+                currencyRepository, bundesbankRateFetcher, exchangeRateStoreService, currencyCatalog, meterRegistry, 7, 10);
+    }
+
+    @Test
+    @DisplayName("Should store the rates of every active currency except EUR")
+    void shouldStoreRatesOfActiveCurrencies() {
+        // Given
+        List<ExchangeRateDto> usdRates = Collections.singletonList(
+                ExchangeRateDto.builder().currencyCode("USD").date(LocalDate.now()).rate(new BigDecimal("1.09")).build());
+        given(currencyRepository.findByActiveTrue()).willReturn(Arrays.asList(
+                new Currency("EUR", "Euro", "European Union", true),
+                new Currency("USD", "US Dollar", "United States", true)));
+        given(bundesbankRateFetcher.fetchRates(eq(Collections.singletonList("USD")), any(LocalDate.class), any(LocalDate.class)))
+                .willReturn(usdRates);
+        given(exchangeRateStoreService.saveRates(usdRates)).willReturn(1);
+
+        // When
+        int written = ingestionService.ingestLatestRates();
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        verify(bundesbankRateFetcher, never()).fetchRates(argThat((List<String> codes) -> codes.contains("EUR")),
+                any(LocalDate.class), any(LocalDate.class));
+        assertThat(meterRegistry.get("exchange.rates.ingestion.rows").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("exchange.rates.ingestion.duration").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should count per-currency failures and continue with the other groups")
+    void shouldCountFailuresAndContinue() {
+        // Given
+        ingestionService = new ExchangeRateIngestionServiceImpl(
+                currencyRepository, bundesbankRateFetcher, exchangeRateStoreService, currencyCatalog, meterRegistry, 7, 1);
+        given(currencyRepository.findByActiveTrue()).willReturn(Arrays.asList(
+                new Currency("GBP", "British Pound", "United Kingdom", true),
+                new Currency("USD", "US Dollar", "United States", true)));
+        given(bundesbankRateFetcher.fetchRates(eq(Collections.singletonList("GBP")), any(LocalDate.class), any(LocalDate.class)))
+                .willThrow(new ExternalServiceException("Bundesbank unavailable"));
+        given(currencyCatalog.meterTag("GBP")).willReturn("GBP");
+        given(bundesbankRateFetcher.fetchRates(eq(Collections.singletonList("USD")), any(LocalDate.class), any(LocalDate.class)))
+                .willReturn(Collections.emptyList());
+
+        // When
+        int written = ingestionService.ingestLatestRates();
+
+        // Then
+        assertThat(written).isZero();
+        assertThat(meterRegistry.get("exchange.rates.ingestion.failures").tag("currency", "GBP").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should request the active currencies in groups, with one upstream call per group")
+    void shouldRequestCurrenciesInGroups() {
+        // Given
+        List<Currency> currencies = IntStream.range(0, 29)
+                .mapToObj(i -> new Currency("C" + (char) ('A' + i / 26) + (char) ('A' + i % 26), "Currency " + i, "Country " + i, true))
+                .collect(Collectors.toList());
+        given(currencyRepository.findByActiveTrue()).willReturn(currencies);
+        given(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .willReturn(Collections.emptyList());
+
+        // When
+        ingestionService.ingestLatestRates();
+
+        // Then
+        verify(bundesbankRateFetcher, times(3)).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+        verify(bundesbankRateFetcher, never()).fetchRates(anyString(), any(LocalDate.class), any(LocalDate.class));
+    }
+}
@@ -1,14 +1,18 @@
 package com.crewmeister.currencybackend.service.impl;
 
-import com.crewmeister.currencybackend.client.BundesbankClient;
-import com.crewmeister.currencybackend.dto.CurrencyDto;
+import com.crewmeister.currencybackend.cache.RateCacheKey;
+import com.crewmeister.currencybackend.cache.RateRangeKey;
+import com.crewmeister.currencybackend.config.CacheConfig;
 import com.crewmeister.currencybackend.dto.ExchangeRateDto;
 import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
 import com.crewmeister.currencybackend.dto.response.ConversionResponseDto;
+import com.crewmeister.currencybackend.dto.response.ExchangeRatePageDto;
 import com.crewmeister.currencybackend.exception.ExchangeRateNotFoundException;
-import com.crewmeister.currencybackend.service.CurrencyService;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import com.crewmeister.currencybackend.utils.SingleFlight;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
@@ -24,22 +31,32 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ExchangeRateServiceImplTest {
 
     @Mock
-    private BundesbankClient bundesbankClient;
+    private BundesbankRateFetcher bundesbankRateFetcher;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private CurrencyCatalog currencyCatalog;
 
     @Mock
-    private CurrencyService currencyService;
+    private ExchangeRateStoreService exchangeRateStoreService;
+
+    @Mock
+    private RateMatrix rateMatrix;
 
     @Mock
     private JsonNode rootNode;
@@ -54,7 +71,6 @@ class ExchangeRateServiceImplTest {
     private ExchangeRateServiceImpl exchangeRateService;
 
     private final LocalDate testDate = LocalDate.of(2025, 4, 9);
-    private final String dataflowId = "BBEX3";
     private final String sampleJsonResponse = "{ \"data\": { \"dataSets\": [{\"series\": {\"0:0:0:0:0\": {\"observations\": {\"0\": [0.92]}}}}] } }";
     private ExchangeRateDto usdRate;
     private ExchangeRateDto gbpRate;
@@ -64,8 +80,18 @@ class ExchangeRateServiceImplTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        // Set dataflowId via reflection
-        ReflectionTestUtils.setField(exchangeRateService, "dataflowId", dataflowId);
+        // Run fan-out fetches on the calling thread
+        ReflectionTestUtils.setField(exchangeRateService, "rateFetchExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(exchangeRateService, "maxCurrenciesPerCall", 10);
+        ReflectionTestUtils.setField(exchangeRateService, "maxPageSize", 1000);
+        SingleFlight<RateRangeKey, List<ExchangeRateDto>> rateFetchSingleFlight =
+                new SingleFlight<>(new SimpleMeterRegistry().counter("exchange.rates.fetch.coalesced"));
+        ReflectionTestUtils.setField(exchangeRateService, "rateFetchSingleFlight", rateFetchSingleFlight);
+        RateResolver rateResolver = new RateResolver(currencyCatalog, rateMatrix, exchangeRateStoreService, rateFetchSingleFlight);
+        ReflectionTestUtils.setField(rateResolver, "maxCurrenciesPerCall", 10);
+        ReflectionTestUtils.setField(exchangeRateService, "rateResolver", rateResolver);
+        ReflectionTestUtils.setField(exchangeRateService, "cacheManager",
+                new ConcurrentMapCacheManager(CacheConfig.EXCHANGE_RATES_CACHE));
 
         // Setup test data
         usdRate = ExchangeRateDto.builder().currencyCode("USD").currencyName("US Dollar").date(testDate).rate(new BigDecimal("0.92")).build();
@@ -164,7 +190,7 @@ class ExchangeRateServiceImplTest {
     void getRateByCurrencyAndDateShouldReturnFixedRateForEUR() {
         // Given
         String currencyCode = "EUR";
-        when(currencyService.getCurrencyByCode(currencyCode)).thenReturn(CurrencyDto.builder().code("EUR").name("Euro").build());
+        when(currencyCatalog.getName(currencyCode)).thenReturn("Euro");
 
         // When
         ExchangeRateDto result = exchangeRateService.getRateByCurrencyAndDate(currencyCode, testDate);
@@ -259,6 +285,45 @@ class ExchangeRateServiceImplTest {
         assertTrue(exception.getMessage().contains(testDate.toString()));
     }
 
+    @Test
+    @DisplayName("convertToEur should serve the rate from the rate cache")
+    void convertToEurShouldServeRateFromCache() {
+        // Given
+        ExchangeRateServiceImpl spyService = spy(exchangeRateService);
+        ConversionRequestDto request = ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(testDate).build();
+
+        doReturn(usdRate).when(spyService).getRateByCurrencyAndDate("USD", testDate);
+
+        // When
+        ConversionResponseDto first = spyService.convertToEur(request);
+        ConversionResponseDto second = spyService.convertToEur(request);
+
+        // Then
+        assertEquals(new BigDecimal("108.70"), first.getConvertedAmount());
+        assertEquals(new BigDecimal("108.70"), second.getConvertedAmount());
+        verify(spyService, times(1)).getRateByCurrencyAndDate("USD", testDate);
+
+        Cache cache = ((CacheManager) ReflectionTestUtils.getField(exchangeRateService, "cacheManager"))
+                .getCache(CacheConfig.EXCHANGE_RATES_CACHE);
+        assertEquals(usdRate, cache.get(RateCacheKey.of("USD", testDate), ExchangeRateDto.class));
+    }
+
+    @Test
+    @DisplayName("convertToEur should use a rate cached by a single-rate lookup")
+    void convertToEurShouldUseRateCachedByLookup() {
+        // Given
+        CacheManager cacheManager = (CacheManager) ReflectionTestUtils.getField(exchangeRateService, "cacheManager");
+        cacheManager.getCache(CacheConfig.EXCHANGE_RATES_CACHE).put(RateCacheKey.of("USD", testDate), usdRate);
+        ConversionRequestDto request = ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(testDate).build();
+
+        // When
+        ConversionResponseDto result = exchangeRateService.convertToEur(request);
+
+        // Then
+        assertEquals(new BigDecimal("108.70"), result.getConvertedAmount());
+        verifyNoInteractions(rateMatrix, exchangeRateStoreService, bundesbankRateFetcher);
+    }
+
     @Test
     @DisplayName("Should correctly handle different precision in conversion")
     void shouldHandleDifferentPrecisionInConversion() {
@@ -310,4 +375,373 @@ class ExchangeRateServiceImplTest {
         assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("CHF")));
         assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("EUR")));
     }
+
+    @Test
+    @DisplayName("getRateByCurrencyAndDate should serve stored rates without calling Bundesbank")
+    void getRateByCurrencyAndDateShouldServeStoredRates() {
+        // Given
+        when(exchangeRateStoreService.findRates("USD", testDate, testDate)).thenReturn(Collections.singletonList(usdRate));
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getRateByCurrencyAndDate("USD", testDate);
+
+        // Then
+        assertEquals(usdRate, result);
+        verifyNoInteractions(bundesbankRateFetcher);
+        verify(exchangeRateStoreService, never()).saveRates(anyList());
+    }
+
+    @Test
+    @DisplayName("getRateByCurrencyAndDate should fetch missing rates from Bundesbank and store them")
+    void getRateByCurrencyAndDateShouldFetchAndStoreMissingRates() {
+        // Given
+        when(exchangeRateStoreService.findRates("USD", testDate, testDate)).thenReturn(Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates("USD", testDate, testDate)).thenReturn(Collections.singletonList(usdRate));
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getRateByCurrencyAndDate("USD", testDate);
+
+        // Then
+        assertEquals(usdRate, result);
+        verify(exchangeRateStoreService).saveRates(Collections.singletonList(usdRate));
+    }
+
+    @Test
+    @DisplayName("getAllRates should skip currencies whose fetch fails and keep the others")
+    void getAllRatesShouldIsolatePerCurrencyErrors() {
+        // Given
+        when(exchangeRateStoreService.findRates(anyString(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation -> {
+            if ("GBP".equals(invocation.getArgument(0))) {
+                throw new ExternalServiceException("Database unavailable");
+            }
+            return Collections.emptyList();
+        });
+        when(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation ->
+                oneRatePerCurrency(invocation.getArgument(0), invocation.getArgument(2)));
+        when(currencyCatalog.getName("EUR")).thenReturn("Euro");
+
+        // When
+        List<ExchangeRateDto> result = exchangeRateService.getAllRates();
+
+        // Then
+        assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("USD")));
+        assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("JPY")));
+        assertTrue(result.stream().anyMatch(rate -> rate.getCurrencyCode().equals("CHF")));
+        assertTrue(result.stream().noneMatch(rate -> rate.getCurrencyCode().equals("GBP")));
+        assertEquals(31, result.stream().filter(rate -> rate.getCurrencyCode().equals("EUR")).count());
+    }
+
+    @Test
+    @DisplayName("getAllRates should request all currencies with gaps in one multiplexed call")
+    void getAllRatesShouldMultiplexCurrenciesIntoOneCall() {
+        // Given
+        when(exchangeRateStoreService.findRates(anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation ->
+                oneRatePerCurrency(invocation.getArgument(0), invocation.getArgument(2)));
+
+        // When
+        List<ExchangeRateDto> result = exchangeRateService.getAllRates();
+
+        // Then
+        verify(bundesbankRateFetcher).fetchRates(eq(Arrays.asList("USD", "GBP", "JPY", "CHF")), any(LocalDate.class), any(LocalDate.class));
+        verify(bundesbankRateFetcher, never()).fetchRates(anyString(), any(LocalDate.class), any(LocalDate.class));
+        assertEquals(4, result.stream().filter(rate -> !rate.getCurrencyCode().equals("EUR")).count());
+    }
+
+    @Test
+    @DisplayName("getAllRates should split currencies into groups of at most maxCurrenciesPerCall")
+    void getAllRatesShouldSplitCurrenciesIntoGroups() {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "maxCurrenciesPerCall", 3);
+        when(exchangeRateStoreService.findRates(anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class))).thenAnswer(invocation ->
+                oneRatePerCurrency(invocation.getArgument(0), invocation.getArgument(2)));
+
+        // When
+        exchangeRateService.getAllRates();
+
+        // Then
+        verify(bundesbankRateFetcher).fetchRates(eq(Arrays.asList("USD", "GBP", "JPY")), any(LocalDate.class), any(LocalDate.class));
+        verify(bundesbankRateFetcher).fetchRates(eq(Collections.singletonList("CHF")), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("getRatesByDate should only request currencies missing from the store")
+    void getRatesByDateShouldOnlyRequestMissingCurrencies() {
+        // Given
+        when(exchangeRateStoreService.findRates(anyString(), eq(testDate), eq(testDate))).thenAnswer(invocation ->
+                "USD".equals(invocation.getArgument(0)) ? Collections.singletonList(usdRate) : Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates(anyList(), eq(testDate), eq(testDate))).thenAnswer(invocation ->
+                oneRatePerCurrency(invocation.getArgument(0), testDate));
+
+        // When
+        List<ExchangeRateDto> result = exchangeRateService.getRatesByDate(testDate);
+
+        // Then
+        verify(bundesbankRateFetcher).fetchRates(Arrays.asList("GBP", "JPY", "CHF"), testDate, testDate);
+        assertEquals(1, result.stream().filter(rate -> rate.getCurrencyCode().equals("USD")).count());
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    @DisplayName("getRateByCurrencyAndDate should serve rates held in the rate matrix without touching the store")
+    void getRateByCurrencyAndDateShouldServeRatesFromMatrix() {
+        // Given
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("0.920000"));
+        when(currencyCatalog.getName("USD")).thenReturn("US Dollar");
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getRateByCurrencyAndDate("USD", testDate);
+
+        // Then
+        assertEquals("US Dollar", result.getCurrencyName());
+        assertEquals(0, new BigDecimal("0.92").compareTo(result.getRate()));
+        verifyNoInteractions(exchangeRateStoreService, bundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("convertBatch should resolve each distinct rate once and keep the request order")
+    void convertBatchShouldResolveDistinctRatesOnce() {
+        // Given
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("0.920000"));
+        when(rateMatrix.getRate("GBP", testDate)).thenReturn(new BigDecimal("1.170000"));
+        List<ConversionRequestDto> requests = Arrays.asList(
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(testDate).build(),
+                ConversionRequestDto.builder().fromCurrency("GBP").amount(new BigDecimal("117")).date(testDate).build(),
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("46")).date(testDate).build());
+
+        // When
+        List<ConversionResponseDto> result = exchangeRateService.convertBatch(requests);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(Arrays.asList("USD", "GBP", "USD"), Arrays.asList(
+                result.get(0).getFromCurrency(), result.get(1).getFromCurrency(), result.get(2).getFromCurrency()));
+        assertEquals(new BigDecimal("108.70"), result.get(0).getConvertedAmount());
+        assertEquals(new BigDecimal("100.00"), result.get(1).getConvertedAmount());
+        assertEquals(new BigDecimal("50.00"), result.get(2).getConvertedAmount());
+        verify(rateMatrix, times(1)).getRate("USD", testDate);
+        verify(rateMatrix, times(1)).getRate("GBP", testDate);
+    }
+
+    @Test
+    @DisplayName("convertBatch should report an item without a rate in its result instead of failing the batch")
+    void convertBatchShouldReportItemsWithoutRate() {
+        // Given
+        LocalDate saturday = LocalDate.of(2025, 4, 12);
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("0.920000"));
+        List<ConversionRequestDto> requests = Arrays.asList(
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(testDate).build(),
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("50")).date(saturday).build(),
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("46")).date(testDate).build());
+
+        // When
+        List<ConversionResponseDto> result = exchangeRateService.convertBatch(requests);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(new BigDecimal("108.70"), result.get(0).getConvertedAmount());
+        assertNull(result.get(1).getConvertedAmount());
+        assertEquals(saturday, result.get(1).getDate());
+        assertEquals("Exchange rate not found for currency: USD and date: 2025-04-12", result.get(1).getError());
+        assertEquals(new BigDecimal("50.00"), result.get(2).getConvertedAmount());
+        assertNull(result.get(2).getError());
+        verify(bundesbankRateFetcher, never()).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("convert should triangulate cross rates via the EUR reference rates")
+    void convertShouldTriangulateCrossRatesViaEur() {
+        // Given
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("0.920000"));
+        when(rateMatrix.getRate("GBP", testDate)).thenReturn(new BigDecimal("1.170000"));
+        ConversionRequestDto request = ConversionRequestDto.builder()
+                .fromCurrency("USD").toCurrency("GBP").amount(new BigDecimal("100")).date(testDate).build();
+
+        // When
+        ConversionResponseDto result = exchangeRateService.convert(request);
+
+        // Then
+        assertEquals("GBP", result.getToCurrency());
+        assertEquals(new BigDecimal("127.17"), result.getConvertedAmount());
+        assertEquals(new BigDecimal("1.271739"), result.getCrossRate());
+        verifyNoInteractions(exchangeRateStoreService, bundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("convert should fetch both legs of a cross conversion in one multiplexed call")
+    void convertShouldFetchBothLegsInOneCall() {
+        // Given
+        when(exchangeRateStoreService.findRates(anyString(), eq(testDate), eq(testDate))).thenReturn(Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates(Arrays.asList("USD", "GBP"), testDate, testDate)).thenReturn(Arrays.asList(usdRate, gbpRate));
+        ConversionRequestDto request = ConversionRequestDto.builder()
+                .fromCurrency("USD").toCurrency("GBP").amount(new BigDecimal("100")).date(testDate).build();
+
+        // When
+        ConversionResponseDto result = exchangeRateService.convert(request);
+
+        // Then
+        assertEquals(new BigDecimal("127.17"), result.getConvertedAmount());
+        verify(bundesbankRateFetcher, times(1)).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("convertBatch should fetch each run of consecutive missing days with its own call")
+    void convertBatchShouldFetchMissingRunsSeparately() {
+        // Given: rates of a Wednesday and of the Monday three weeks later are missing
+        LocalDate laterMonday = LocalDate.of(2025, 4, 28);
+        ExchangeRateDto laterUsdRate = ExchangeRateDto.builder().currencyCode("USD").currencyName("US Dollar")
+                .date(laterMonday).rate(new BigDecimal("0.88")).build();
+        when(bundesbankRateFetcher.fetchRates(Collections.singletonList("USD"), testDate, testDate))
+                .thenReturn(Collections.singletonList(usdRate));
+        when(bundesbankRateFetcher.fetchRates(Collections.singletonList("USD"), laterMonday, laterMonday))
+                .thenReturn(Collections.singletonList(laterUsdRate));
+        List<ConversionRequestDto> requests = Arrays.asList(
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(testDate).build(),
+                ConversionRequestDto.builder().fromCurrency("USD").amount(new BigDecimal("100")).date(laterMonday).build());
+
+        // When
+        List<ConversionResponseDto> result = exchangeRateService.convertBatch(requests);
+
+        // Then: the days in between are not requested
+        assertEquals(new BigDecimal("108.70"), result.get(0).getConvertedAmount());
+        assertEquals(new BigDecimal("113.64"), result.get(1).getConvertedAmount());
+        verify(bundesbankRateFetcher, times(2)).fetchRates(anyList(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("convert should fail if a leg of a cross conversion has no rate")
+    void convertShouldFailIfLegHasNoRate() {
+        // Given
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("0.920000"));
+        when(exchangeRateStoreService.findRates("XYZ", testDate, testDate)).thenReturn(Collections.emptyList());
+        when(bundesbankRateFetcher.fetchRates(Collections.singletonList("XYZ"), testDate, testDate)).thenReturn(Collections.emptyList());
+        ConversionRequestDto request = ConversionRequestDto.builder()
+                .fromCurrency("USD").toCurrency("XYZ").amount(new BigDecimal("100")).date(testDate).build();
+
+        // When & Then
+        assertThrows(ExchangeRateNotFoundException.class, () -> exchangeRateService.convert(request));
+    }
+
+    @Test
+    @DisplayName("getRatesForRange should serve a full page from the store and return the next cursor")
+    void getRatesForRangeShouldServeStoredPage() {
+        // Given
+        LocalDate monday = LocalDate.of(2025, 4, 7);
+        LocalDate friday = LocalDate.of(2025, 4, 11);
+        List<ExchangeRateDto> storedRates = usdRatesOn(monday, monday.plusDays(1), monday.plusDays(2), monday.plusDays(3), friday);
+        when(exchangeRateStoreService.findRates("USD", monday, friday, 5)).thenReturn(storedRates);
+
+        // When
+        ExchangeRatePageDto result = exchangeRateService.getRatesForRange("USD", monday, LocalDate.of(2025, 4, 18), null, 5);
+
+        // Then
+        assertEquals(storedRates, result.getRates());
+        assertEquals(friday, result.getNextCursor());
+        verifyNoInteractions(bundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("getRatesForRange should only fetch the missing runs of business days")
+    void getRatesForRangeShouldOnlyFetchMissingRuns() {
+        // Given
+        LocalDate monday = LocalDate.of(2025, 4, 7);
+        LocalDate friday = LocalDate.of(2025, 4, 11);
+        when(exchangeRateStoreService.findRates("USD", monday, friday, 5))
+                .thenReturn(usdRatesOn(monday, monday.plusDays(2), friday));
+        when(bundesbankRateFetcher.fetchRates("USD", monday.plusDays(1), monday.plusDays(1)))
+                .thenReturn(usdRatesOn(monday.plusDays(1)));
+        when(bundesbankRateFetcher.fetchRates("USD", monday.plusDays(3), monday.plusDays(3)))
+                .thenReturn(usdRatesOn(monday.plusDays(3)));
+
+        // When
+        ExchangeRatePageDto result = exchangeRateService.getRatesForRange("USD", monday, friday, null, 5);
+
+        // Then
+        assertEquals(Arrays.asList(monday, monday.plusDays(1), monday.plusDays(2), monday.plusDays(3), friday),
+                result.getRates().stream().map(ExchangeRateDto::getDate).collect(Collectors.toList()));
+        assertNull(result.getNextCursor());
+        verify(bundesbankRateFetcher, times(2)).fetchRates(anyString(), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("getRatesForRange should continue after the cursor and end on the last page")
+    void getRatesForRangeShouldContinueAfterCursor() {
+        // Given
+        LocalDate nextMonday = LocalDate.of(2025, 4, 14);
+        LocalDate nextThursday = LocalDate.of(2025, 4, 17);
+        List<ExchangeRateDto> storedRates = usdRatesOn(nextMonday, nextMonday.plusDays(1), nextMonday.plusDays(2), nextThursday);
+        when(exchangeRateStoreService.findRates("USD", LocalDate.of(2025, 4, 12), nextThursday, 5)).thenReturn(storedRates);
+
+        // When
+        ExchangeRatePageDto result = exchangeRateService.getRatesForRange(
+                "USD", LocalDate.of(2025, 4, 7), nextThursday, LocalDate.of(2025, 4, 11), 5);
+
+        // Then
+        assertEquals(storedRates, result.getRates());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getRatesForRange should reject ranges that end before they start")
+    void getRatesForRangeShouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () ->
+                exchangeRateService.getRatesForRange("USD", testDate, testDate.minusDays(1), null, 10));
+        verifyNoInteractions(exchangeRateStoreService, bundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("getRateOnOrBefore should resolve weekends from the rate matrix without calling Bundesbank")
+    void getRateOnOrBeforeShouldResolveWeekendsFromMatrix() {
+        // Given
+        LocalDate friday = LocalDate.of(2025, 4, 11);
+        LocalDate saturday = LocalDate.of(2025, 4, 12);
+        when(rateMatrix.findDateOnOrBefore("USD", friday)).thenReturn(friday);
+        when(rateMatrix.getRate("USD", friday)).thenReturn(new BigDecimal("1.130000"));
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getRateOnOrBefore("USD", saturday);
+
+        // Then
+        assertEquals(friday, result.getDate());
+        assertEquals(saturday, result.getRequestedDate());
+        assertEquals(new BigDecimal("1.130000"), result.getRate());
+        verifyNoInteractions(exchangeRateStoreService, bundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("getRateOnOrBefore should skip TARGET holidays and use the stored rate before them")
+    void getRateOnOrBeforeShouldSkipHolidays() {
+        // Given
+        LocalDate easterMonday = LocalDate.of(2025, 4, 21);
+        LocalDate maundyThursday = LocalDate.of(2025, 4, 17);
+        when(exchangeRateStoreService.findRates("USD", LocalDate.of(2025, 4, 7), maundyThursday)).thenReturn(usdRatesOn(
+                LocalDate.of(2025, 4, 7), LocalDate.of(2025, 4, 8), LocalDate.of(2025, 4, 9), LocalDate.of(2025, 4, 10),
+                LocalDate.of(2025, 4, 11), LocalDate.of(2025, 4, 14), LocalDate.of(2025, 4, 15), LocalDate.of(2025, 4, 16),
+                maundyThursday));
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getRateOnOrBefore("USD", easterMonday);
+
+        // Then
+        assertEquals(maundyThursday, result.getDate());
+        assertEquals(easterMonday, result.getRequestedDate());
+        verifyNoInteractions(bundesbankRateFetcher);
+    }
+
+    private static List<ExchangeRateDto> usdRatesOn(LocalDate... dates) {
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        for (LocalDate date : dates) {
+            rates.add(ExchangeRateDto.builder().currencyCode("USD").date(date).rate(new BigDecimal("1.08")).build());
+        }
+        return rates;
+    }
+
+    private static List<ExchangeRateDto> oneRatePerCurrency(List<String> currencies, LocalDate date) {
+        List<ExchangeRateDto> rates = new ArrayList<>();
+        for (String currency : currencies) {
+            rates.add(ExchangeRateDto.builder().currencyCode(currency).date(date).rate(BigDecimal.TEN).build());
+        }
+        return rates;
+    }
 }
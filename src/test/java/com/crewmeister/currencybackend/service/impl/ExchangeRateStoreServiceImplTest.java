@@ -0,0 +1,174 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.entity.Currency;
+import com.crewmeister.currencybackend.entity.ExchangeRate;
+import com.crewmeister.currencybackend.mapper.ExchangeRateMapper;
+import com.crewmeister.currencybackend.repository.CurrencyRepository;
+import com.crewmeister.currencybackend.repository.ExchangeRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateStoreServiceImplTest {
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    @Spy
+    private ExchangeRateMapper exchangeRateMapper = new ExchangeRateMapper();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RateMatrix rateMatrix;
+
+    @InjectMocks
+    private ExchangeRateStoreServiceImpl exchangeRateStoreService;
+
+    private final LocalDate firstDate = LocalDate.of(2025, 4, 8);
+    private final LocalDate secondDate = LocalDate.of(2025, 4, 9);
+    private Currency usdCurrency;
+
+    @BeforeEach
+    void setUp() {
+        usdCurrency = new Currency("USD", "US Dollar", "United States", true);
+        ReflectionTestUtils.setField(exchangeRateStoreService, "batchSize", 500);
+    }
+
+    @Test
+    @DisplayName("Should return stored rates ordered by date")
+    void shouldReturnStoredRatesOrderedByDate() {
+        // Given
+        given(exchangeRateRepository.findByCurrencyCodeAndRateDateBetween("USD", firstDate, secondDate))
+                .willReturn(Arrays.asList(
+                        new ExchangeRate(usdCurrency, secondDate, new BigDecimal("1.0950")),
+                        new ExchangeRate(usdCurrency, firstDate, new BigDecimal("1.0900"))));
+
+        // When
+        List<ExchangeRateDto> result = exchangeRateStoreService.findRates("USD", firstDate, secondDate);
+
+        // Then
+        assertThat(result).extracting(ExchangeRateDto::getDate).containsExactly(firstDate, secondDate);
+        assertThat(result).extracting(ExchangeRateDto::getCurrencyName).containsOnly("US Dollar");
+    }
+
+    @Test
+    @DisplayName("Should read at most one page of stored rates in date order")
+    void shouldReadOnePageOfStoredRates() {
+        // Given
+        given(exchangeRateRepository.findByCurrencyCodeAndRateDateBetween(
+                "USD", firstDate, secondDate, PageRequest.of(0, 1, Sort.by("rateDate"))))
+                .willReturn(Collections.singletonList(new ExchangeRate(usdCurrency, firstDate, new BigDecimal("1.0900"))));
+
+        // When
+        List<ExchangeRateDto> result = exchangeRateStoreService.findRates("USD", firstDate, secondDate, 1);
+
+        // Then
+        assertThat(result).extracting(ExchangeRateDto::getDate).containsExactly(firstDate);
+    }
+
+    @Test
+    @DisplayName("Should only store rates that are not stored yet")
+    void shouldOnlyStoreNewRates() throws SQLException {
+        // Given
+        List<ExchangeRateDto> rates = Arrays.asList(
+                ExchangeRateDto.builder().currencyCode("USD").date(firstDate).rate(new BigDecimal("1.0900")).build(),
+                ExchangeRateDto.builder().currencyCode("USD").date(secondDate).rate(new BigDecimal("1.0950")).build());
+        given(currencyRepository.existsById("USD")).willReturn(true);
+        given(exchangeRateRepository.findByCurrencyCodeAndRateDateBetween("USD", firstDate, secondDate))
+                .willReturn(Collections.singletonList(new ExchangeRate(usdCurrency, firstDate, new BigDecimal("1.0900"))));
+        given(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).willReturn(1);
+
+        // When
+        int written = exchangeRateStoreService.saveRates(rates);
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        ArgumentCaptor<PreparedStatementSetter> captor = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).update(anyString(), captor.capture());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        given(statement.getConnection()).willReturn(connection);
+        captor.getValue().setValues(statement);
+        verify(connection).createArrayOf("varchar", new Object[]{"USD"});
+        verify(connection).createArrayOf("varchar", new Object[]{secondDate.toString()});
+        verify(connection).createArrayOf("varchar", new Object[]{"1.0950"});
+        verify(rateMatrix).putAll(Collections.singletonList(rates.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should count the rows the database inserted, per batch")
+    void shouldCountInsertedRows() {
+        // Given
+        List<ExchangeRateDto> rates = Arrays.asList(
+                ExchangeRateDto.builder().currencyCode("USD").date(firstDate).rate(new BigDecimal("1.0900")).build(),
+                ExchangeRateDto.builder().currencyCode("USD").date(secondDate).rate(new BigDecimal("1.0950")).build(),
+                ExchangeRateDto.builder().currencyCode("USD").date(secondDate.plusDays(1)).rate(new BigDecimal("1.0980")).build());
+        given(currencyRepository.existsById("USD")).willReturn(true);
+        given(exchangeRateRepository.findByCurrencyCodeAndRateDateBetween("USD", firstDate, secondDate.plusDays(1)))
+                .willReturn(Collections.emptyList());
+        ReflectionTestUtils.setField(exchangeRateStoreService, "batchSize", 2);
+        // One row of the first batch was inserted meanwhile by another instance
+        given(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).willReturn(1, 1);
+
+        // When
+        int written = exchangeRateStoreService.saveRates(rates);
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should skip rates of unknown currencies")
+    void shouldSkipRatesOfUnknownCurrencies() {
+        // Given
+        List<ExchangeRateDto> rates = Collections.singletonList(
+                ExchangeRateDto.builder().currencyCode("XYZ").date(firstDate).rate(BigDecimal.TEN).build());
+        given(currencyRepository.existsById("XYZ")).willReturn(false);
+
+        // When
+        int written = exchangeRateStoreService.saveRates(rates);
+
+        // Then
+        assertThat(written).isZero();
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        verify(rateMatrix, never()).putAll(anyCollection());
+    }
+}
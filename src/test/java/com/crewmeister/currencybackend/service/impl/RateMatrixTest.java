@@ -0,0 +1,108 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class RateMatrixTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RateMatrix rateMatrix;
+
+    private final LocalDate friday = LocalDate.of(2025, 4, 4);
+    private final LocalDate monday = LocalDate.of(2025, 4, 7);
+
+    @BeforeEach
+    void setUp() {
+        rateMatrix = new RateMatrix(jdbcTemplate);
+        rateMatrix.putAll(Arrays.asList(
+                rate("USD", friday, "1.0962"),
+                rate("USD", monday, "1.0898"),
+                rate("JPY", monday, "160.34")));
+    }
+
+    @Test
+    @DisplayName("Should return the rate held for a currency and date")
+    void shouldReturnHeldRate() {
+        assertThat(rateMatrix.getRate("USD", monday)).isEqualByComparingTo("1.0898");
+        assertThat(rateMatrix.getRate("USD", monday).scale()).isEqualTo(RateMatrix.RATE_SCALE);
+        assertThat(rateMatrix.getRate("JPY", monday)).isEqualByComparingTo("160.34");
+    }
+
+    @Test
+    @DisplayName("Should return null for days and currencies without a rate")
+    void shouldReturnNullForMissingRates() {
+        assertThat(rateMatrix.getRate("USD", friday.plusDays(1))).isNull();
+        assertThat(rateMatrix.getRate("USD", monday.plusYears(1))).isNull();
+        assertThat(rateMatrix.getRate("GBP", monday)).isNull();
+        assertThat(rateMatrix.getScaledRate("USD", friday.minusDays(1).toEpochDay())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find the latest rate date on or before a given date")
+    void shouldFindDateOnOrBefore() {
+        assertThat(rateMatrix.findDateOnOrBefore("USD", friday.plusDays(2))).isEqualTo(friday);
+        assertThat(rateMatrix.findDateOnOrBefore("USD", monday)).isEqualTo(monday);
+        assertThat(rateMatrix.findDateOnOrBefore("USD", monday.plusDays(30))).isEqualTo(monday);
+        assertThat(rateMatrix.findDateOnOrBefore("USD", friday.minusDays(1))).isNull();
+        assertThat(rateMatrix.findDateOnOrBefore("GBP", monday)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should grow rows in both directions and keep the existing rates")
+    void shouldGrowRowsAndKeepExistingRates() {
+        // When
+        rateMatrix.putAll(Arrays.asList(
+                rate("USD", friday.minusDays(7), "1.0780"),
+                rate("USD", monday.plusDays(1), "1.0910")));
+        rateMatrix.putAll(Collections.singletonList(rate("GBP", monday, "0.8561")));
+
+        // Then
+        assertThat(rateMatrix.getRate("USD", friday.minusDays(7))).isEqualByComparingTo("1.0780");
+        assertThat(rateMatrix.getRate("USD", friday)).isEqualByComparingTo("1.0962");
+        assertThat(rateMatrix.getRate("USD", monday)).isEqualByComparingTo("1.0898");
+        assertThat(rateMatrix.getRate("USD", monday.plusDays(1))).isEqualByComparingTo("1.0910");
+        assertThat(rateMatrix.getRate("JPY", monday)).isEqualByComparingTo("160.34");
+        assertThat(rateMatrix.getRate("GBP", monday)).isEqualByComparingTo("0.8561");
+    }
+
+    @Test
+    @DisplayName("Should keep rates written while a load reads the database")
+    void shouldReplayWritesMadeDuringLoad() {
+        // Given: a rate is stored and published while the load queries run
+        doAnswer(invocation -> {
+            rateMatrix.putAll(Collections.singletonList(rate("GBP", monday, "0.8561")));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // When
+        rateMatrix.load();
+
+        // Then: the loaded snapshot replaces the old rates but keeps the concurrent write
+        assertThat(rateMatrix.getRate("GBP", monday)).isEqualByComparingTo("0.8561");
+        assertThat(rateMatrix.getRate("USD", monday)).isNull();
+    }
+
+    private static ExchangeRateDto rate(String currencyCode, LocalDate date, String rate) {
+        return ExchangeRateDto.builder().currencyCode(currencyCode).date(date).rate(new BigDecimal(rate)).build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.crewmeister.currencybackend.service.impl;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.crewmeister.currencybackend.utils.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.crewmeister.currencybackend.dto.request.ConversionRequestDto;
+import com.crewmeister.currencybackend.exception.ExchangeRateNotFoundException;
+import com.crewmeister.currencybackend.exception.ExternalServiceException;
+import com.crewmeister.currencybackend.service.ExchangeRateStoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveExchangeRateServiceImplTest {
+
+    @Mock
+    private ReactiveBundesbankRateFetcher reactiveBundesbankRateFetcher;
+
+    @Mock
+    private CurrencyCatalog currencyCatalog;
+
+    @Mock
+    private ExchangeRateStoreService exchangeRateStoreService;
+
+    @Mock
+    private RateMatrix rateMatrix;
+
+    @InjectMocks
+    private ReactiveExchangeRateServiceImpl reactiveExchangeRateService;
+
+    private final LocalDate testDate = LocalDate.of(2025, 4, 9);
+    private ExchangeRateDto usdRate;
+
+    @BeforeEach
+    void setUp() {
+        RateResolver rateResolver = new RateResolver(currencyCatalog, rateMatrix, exchangeRateStoreService,
+                new SingleFlight<>(new SimpleMeterRegistry().counter("exchange.rates.fetch.coalesced")));
+        ReflectionTestUtils.setField(rateResolver, "maxCurrenciesPerCall", 10);
+        ReflectionTestUtils.setField(reactiveExchangeRateService, "rateResolver", rateResolver);
+
+        usdRate = ExchangeRateDto.builder().currencyCode("USD").currencyName("US Dollar").date(testDate).rate(new BigDecimal("1.095000")).build();
+        lenient().when(currencyCatalog.getName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Rates held by the rate matrix should be served without calling Bundesbank")
+    void shouldServeMatrixRateWithoutFetching() {
+        // Given
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("1.095000"));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate))
+                .assertNext(rate -> assertEquals(new BigDecimal("1.095000"), rate.getRate()))
+                .verifyComplete();
+
+        verifyNoInteractions(reactiveBundesbankRateFetcher, exchangeRateStoreService);
+    }
+
+    @Test
+    @DisplayName("Missing rates should be fetched without blocking and stored")
+    void shouldFetchAndStoreMissingRate() {
+        // Given
+        when(reactiveBundesbankRateFetcher.fetchRates(Collections.singletonList("USD"), testDate, testDate))
+                .thenReturn(Mono.just(Collections.singletonList(usdRate)));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate))
+                .expectNext(usdRate)
+                .verifyComplete();
+
+        verify(exchangeRateStoreService).saveRates(Collections.singletonList(usdRate));
+    }
+
+    @Test
+    @DisplayName("A failing store should not fail the lookup")
+    void shouldServeFetchedRateWhenStoreFails() {
+        // Given
+        when(reactiveBundesbankRateFetcher.fetchRates(anyList(), any(), any()))
+                .thenReturn(Mono.just(Collections.singletonList(usdRate)));
+        when(exchangeRateStoreService.saveRates(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate))
+                .expectNext(usdRate)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("A rate Bundesbank does not have should fail with ExchangeRateNotFoundException")
+    void shouldFailWhenRateNotFound() {
+        // Given
+        when(reactiveBundesbankRateFetcher.fetchRates(anyList(), any(), any()))
+                .thenReturn(Mono.just(Collections.emptyList()));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("XYZ", testDate))
+                .expectError(ExchangeRateNotFoundException.class)
+                .verify();
+
+        verify(exchangeRateStoreService, never()).saveRates(anyList());
+    }
+
+    @Test
+    @DisplayName("Stored rates should be served without calling Bundesbank")
+    void shouldServeStoredRateWithoutFetching() {
+        // Given
+        when(exchangeRateStoreService.findRates("USD", testDate, testDate)).thenReturn(Collections.singletonList(usdRate));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate))
+                .expectNext(usdRate)
+                .verifyComplete();
+
+        verifyNoInteractions(reactiveBundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("Rates on days without a publication should not be requested from Bundesbank")
+    void shouldNotFetchNonBusinessDays() {
+        // Given: a Saturday and Good Friday
+        LocalDate saturday = LocalDate.of(2025, 4, 12);
+        LocalDate goodFriday = LocalDate.of(2025, 4, 18);
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", saturday))
+                .expectError(ExchangeRateNotFoundException.class)
+                .verify();
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", goodFriday))
+                .expectError(ExchangeRateNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveBundesbankRateFetcher);
+    }
+
+    @Test
+    @DisplayName("Upstream errors should fail with ExternalServiceException")
+    void shouldMapUpstreamErrors() {
+        // Given
+        when(reactiveBundesbankRateFetcher.fetchRates(anyList(), any(), any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null)));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.getRateByCurrencyAndDate("USD", testDate))
+                .expectError(ExternalServiceException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Cross conversion should fetch only the leg the rate matrix does not hold")
+    void shouldConvertCrossFetchingOnlyMissingLeg() {
+        // Given
+        ConversionRequestDto request = ConversionRequestDto.builder()
+                .fromCurrency("USD")
+                .toCurrency("GBP")
+                .amount(new BigDecimal("100"))
+                .date(testDate)
+                .build();
+        ExchangeRateDto gbpRate = ExchangeRateDto.builder().currencyCode("GBP").currencyName("British Pound").date(testDate).rate(new BigDecimal("0.860000")).build();
+
+        when(rateMatrix.getRate("USD", testDate)).thenReturn(new BigDecimal("1.095000"));
+        when(reactiveBundesbankRateFetcher.fetchRates(Collections.singletonList("GBP"), testDate, testDate))
+                .thenReturn(Mono.just(Collections.singletonList(gbpRate)));
+
+        // When & Then
+        StepVerifier.create(reactiveExchangeRateService.convert(request))
+                .assertNext(response -> {
+                    assertEquals("GBP", response.getToCurrency());
+                    assertEquals(new BigDecimal("78.54"), response.getConvertedAmount());
+                })
+                .verifyComplete();
+    }
+}
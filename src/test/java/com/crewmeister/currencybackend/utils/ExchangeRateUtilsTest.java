@@ -16,6 +16,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -141,6 +144,35 @@ class ExchangeRateUtilsTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("provideCrossAmountsAndRates")
+    @DisplayName("convertCrossAmount should triangulate via EUR and round only once")
+    void convertCrossAmountShouldTriangulateViaEur(BigDecimal amount, BigDecimal fromRate, BigDecimal toRate, BigDecimal expected) {
+        // When
+        BigDecimal result = ExchangeRateUtils.convertCrossAmount(amount, fromRate, toRate);
+
+        // Then
+        assertEquals(expected, result);
+    }
+
+    private static Stream<Arguments> provideCrossAmountsAndRates() {
+        return Stream.of(
+            Arguments.of(new BigDecimal("100"), new BigDecimal("0.92"), new BigDecimal("1.17"), new BigDecimal("127.17")),
+            Arguments.of(new BigDecimal("1000"), new BigDecimal("160.5"), new BigDecimal("1.08"), new BigDecimal("6.73")),
+            Arguments.of(new BigDecimal("100"), new BigDecimal("0.92"), BigDecimal.ONE, new BigDecimal("108.70"))
+        );
+    }
+
+    @Test
+    @DisplayName("calculateCrossRate should divide the target rate by the source rate")
+    void calculateCrossRateShouldDivideTargetRateBySourceRate() {
+        // When
+        BigDecimal result = ExchangeRateUtils.calculateCrossRate(new BigDecimal("0.92"), new BigDecimal("1.17"));
+
+        // Then
+        assertEquals(new BigDecimal("1.271739"), result);
+    }
+
     @Test
     @DisplayName("buildConversionResponse should correctly build a response DTO")
     void buildConversionResponseShouldBuildCorrectResponse() {
@@ -184,4 +216,85 @@ class ExchangeRateUtilsTest {
         assertThrows(ArithmeticException.class, () -> 
             ExchangeRateUtils.convertAmount(amount, rate));
     }
+
+    @Test
+    @DisplayName("findPageEndDate should stop after pageSize business days or at the end date")
+    void findPageEndDateShouldCountBusinessDays() {
+        // Given
+        LocalDate monday = LocalDate.of(2025, 4, 7);
+
+        // When & Then
+        assertEquals(LocalDate.of(2025, 4, 14), ExchangeRateUtils.findPageEndDate(monday, LocalDate.of(2025, 4, 30), 6));
+        assertEquals(LocalDate.of(2025, 4, 9), ExchangeRateUtils.findPageEndDate(monday, LocalDate.of(2025, 4, 9), 6));
+    }
+
+    @Test
+    @DisplayName("splitIntoConsecutiveRuns should keep runs across weekends together")
+    void splitIntoConsecutiveRunsShouldKeepRunsAcrossWeekends() {
+        // Given
+        List<LocalDate> missingDates = Arrays.asList(
+                LocalDate.of(2025, 4, 10), LocalDate.of(2025, 4, 11), LocalDate.of(2025, 4, 14),
+                LocalDate.of(2025, 4, 16));
+
+        // When
+        List<List<LocalDate>> result = ExchangeRateUtils.splitIntoConsecutiveRuns(missingDates);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(missingDates.subList(0, 3), result.get(0));
+        assertEquals(missingDates.subList(3, 4), result.get(1));
+    }
+
+    @Test
+    @DisplayName("findMissingBusinessDays should skip weekends and present dates")
+    void findMissingBusinessDaysShouldSkipWeekendsAndPresentDates() {
+        // Given
+        LocalDate monday = LocalDate.of(2025, 4, 7);
+        LocalDate sunday = LocalDate.of(2025, 4, 13);
+        List<LocalDate> presentDates = Collections.singletonList(LocalDate.of(2025, 4, 8));
+
+        // When
+        List<LocalDate> result = ExchangeRateUtils.findMissingBusinessDays(presentDates, monday, sunday);
+
+        // Then
+        assertEquals(Arrays.asList(
+                LocalDate.of(2025, 4, 7),
+                LocalDate.of(2025, 4, 9),
+                LocalDate.of(2025, 4, 10),
+                LocalDate.of(2025, 4, 11)), result);
+    }
+
+    @Test
+    @DisplayName("findMissingBusinessDays should return empty list for a weekend range")
+    void findMissingBusinessDaysShouldReturnEmptyListForWeekend() {
+        // When
+        List<LocalDate> result = ExchangeRateUtils.findMissingBusinessDays(
+                Collections.emptyList(), LocalDate.of(2025, 4, 12), LocalDate.of(2025, 4, 13));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("buildMultiCurrencyKey should OR the currencies in the currency dimension")
+    void buildMultiCurrencyKeyShouldJoinCurrencies() {
+        // When
+        String result = ExchangeRateUtils.buildMultiCurrencyKey(Arrays.asList("USD", "GBP", "JPY"), ".EUR.BB.AC.000");
+
+        // Then
+        assertEquals("D.USD+GBP+JPY.EUR.BB.AC.000", result);
+    }
+
+    @Test
+    @DisplayName("partition should split a list into groups of at most the given size")
+    void partitionShouldSplitIntoGroups() {
+        // When
+        List<List<String>> result = ExchangeRateUtils.partition(Arrays.asList("USD", "GBP", "JPY", "CHF", "CAD"), 2);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Arrays.asList("USD", "GBP"),
+                Arrays.asList("JPY", "CHF"),
+                Collections.singletonList("CAD")), result);
+    }
 }
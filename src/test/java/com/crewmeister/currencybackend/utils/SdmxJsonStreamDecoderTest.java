@@ -0,0 +1,110 @@
+package com.crewmeister.currencybackend.utils;
+
+import com.crewmeister.currencybackend.dto.ExchangeRateDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SdmxJsonStreamDecoderTest {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final String MULTI_CURRENCY_JSON = "{ \"header\": { \"id\": \"test\" }, \"data\": { \"structure\": { \"dimensions\": {"
+            + " \"series\": [{ \"id\": \"BBK_STD_FREQ\", \"keyPosition\": 0, \"values\": [{ \"id\": \"D\" }] },"
+            + " { \"id\": \"BBK_STD_CURRENCY\", \"keyPosition\": 1, \"values\": [{ \"id\": \"GBP\" }, { \"id\": \"JPY\" }, { \"id\": \"USD\" }] }],"
+            + " \"observation\": [{ \"id\": \"TIME_PERIOD\", \"values\": [{ \"id\": \"2025-04-09\" }, { \"id\": \"2025-04-10\" }] }] } },"
+            + " \"dataSets\": [{ \"action\": \"Information\", \"series\": {"
+            + " \"0:0:0:0:0\": { \"attributes\": [0], \"observations\": { \"0\": [0.8561, 0], \"1\": [0.8602, 0] } },"
+            + " \"0:1:0:0:0\": { \"observations\": { \"0\": [162.13] } },"
+            + " \"0:2:0:0:0\": { \"observations\": { \"0\": [\"1.0866\"], \"1\": [\"\"] } } } }] } }";
+
+    @Test
+    @DisplayName("decode should emit only the requested currencies of a multi-currency response")
+    void decodeShouldEmitRequestedCurrencies() throws IOException {
+        // Given
+        List<ExchangeRateDto> sink = new ArrayList<>();
+
+        // When
+        int emitted = SdmxJsonStreamDecoder.decode(stream(MULTI_CURRENCY_JSON), jsonFactory,
+                Arrays.asList("USD", "GBP"), Function.identity(), sink::add);
+
+        // Then
+        assertEquals(3, emitted);
+        assertEquals(3, sink.size());
+        assertTrue(sink.stream().noneMatch(rate -> rate.getCurrencyCode().equals("JPY")));
+        assertTrue(sink.stream().anyMatch(rate -> rate.getCurrencyCode().equals("GBP")
+                && rate.getDate().equals(LocalDate.of(2025, 4, 10))
+                && rate.getRate().equals(new BigDecimal("0.8602"))));
+        assertTrue(sink.stream().anyMatch(rate -> rate.getCurrencyCode().equals("USD")
+                && rate.getRate().equals(new BigDecimal("1.0866"))));
+    }
+
+    @Test
+    @DisplayName("decode should attribute every series to a single requested currency")
+    void decodeShouldAttributeSeriesToSingleCurrency() throws IOException {
+        // Given
+        List<ExchangeRateDto> sink = new ArrayList<>();
+
+        // When
+        int emitted = SdmxJsonStreamDecoder.decode(stream(MULTI_CURRENCY_JSON), jsonFactory,
+                Collections.singletonList("USD"), code -> "US Dollar", sink::add);
+
+        // Then
+        assertEquals(4, emitted);
+        assertTrue(sink.stream().allMatch(rate -> rate.getCurrencyCode().equals("USD")
+                && rate.getCurrencyName().equals("US Dollar")));
+    }
+
+    @Test
+    @DisplayName("decode should reject responses that are not JSON objects")
+    void decodeShouldRejectNonObjectResponses() {
+        assertThrows(IOException.class, () -> SdmxJsonStreamDecoder.decode(stream("[]"), jsonFactory,
+                Collections.singletonList("USD"), Function.identity(), rate -> { }));
+    }
+
+    @Test
+    @DisplayName("decode should count every skipped observation value by reason")
+    void decodeShouldCountSkippedValues() throws IOException {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        String json = "{ \"data\": { \"structure\": { \"dimensions\": { \"observation\": [{ \"id\": \"TIME_PERIOD\", \"values\": ["
+                + " { \"id\": \"2025-04-07\" }, { \"id\": \"2025-04-08\" }, { \"id\": \"2025-04-09\" },"
+                + " { \"id\": \"2025-04-10\" }, { \"id\": \"2025-04-11\" }, { \"id\": \"2025-04-14\" }] }] } },"
+                + " \"dataSets\": [{ \"series\": { \"0:0:0:0:0\": { \"observations\": {"
+                + " \"0\": [\"NaN\"], \"1\": [null], \"2\": [\"\"], \"3\": [\"n/a\"], \"4\": [\"1,0866\"], \"5\": [1.0866] } } } }] } }";
+
+        try {
+            // When
+            int emitted = SdmxJsonStreamDecoder.decode(stream(json), jsonFactory,
+                    Collections.singletonList("USD"), Function.identity(), rate -> { });
+
+            // Then
+            assertEquals(1, emitted);
+            assertEquals(4.0, meterRegistry.get("bundesbank.parse.skipped").tag("reason", "missing_value").counter().count());
+            assertEquals(1.0, meterRegistry.get("bundesbank.parse.skipped").tag("reason", "non_numeric").counter().count());
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package com.crewmeister.currencybackend.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 3;
+
+    private Counter coalescedCalls;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        coalescedCalls = new SimpleMeterRegistry().counter("coalesced");
+        singleFlight = new SingleFlight<>(coalescedCalls);
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent calls for the same key should share one execution and its result")
+    void concurrentCallsShouldShareOneExecution() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = startCalls(() -> {
+            executions.incrementAndGet();
+            await(release);
+            return "rates";
+        });
+        awaitCoalescedCalls(FOLLOWERS);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("rates", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(FOLLOWERS, coalescedCalls.count());
+    }
+
+    @Test
+    @DisplayName("Concurrent calls for the same key should all receive the error of the execution")
+    void concurrentCallsShouldShareTheError() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = startCalls(() -> {
+            await(release);
+            throw new IllegalStateException("upstream unavailable");
+        });
+        awaitCoalescedCalls(FOLLOWERS);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("upstream unavailable", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Sequential calls should each run their own execution")
+    void sequentialCallsShouldNotBeCoalesced() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        singleFlight.execute("USD", () -> "first " + executions.incrementAndGet());
+        String second = singleFlight.execute("USD", () -> "second " + executions.incrementAndGet());
+
+        // Then
+        assertEquals("second 2", second);
+        assertEquals(0, coalescedCalls.count());
+    }
+
+    @Test
+    @DisplayName("Non-blocking calls for the same key should share one subscription and its result")
+    void asyncCallsShouldShareOneExecution() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> leader = singleFlight.executeAsync("USD", () -> {
+            executions.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> follower = singleFlight.executeAsync("USD", () -> Mono.fromSupplier(() -> fail("Followers must not execute")));
+
+        // When & Then
+        StepVerifier.create(Mono.zip(leader, follower))
+                .then(() -> upstream.tryEmitValue("rates"))
+                .assertNext(results -> {
+                    assertEquals("rates", results.getT1());
+                    assertEquals("rates", results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescedCalls.count());
+        assertEquals("second", singleFlight.execute("USD", () -> "second"));
+    }
+
+    @Test
+    @DisplayName("A cancelled leader should not fail the calls that joined its execution")
+    void cancelledLeaderShouldNotFailFollowers() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Disposable leader = singleFlight.executeAsync("USD", () -> {
+            executions.incrementAndGet();
+            return upstream.asMono();
+        }).subscribe();
+        Future<String> blockingFollower = executor.submit(() -> singleFlight.execute("USD", () -> fail("Followers must not execute")));
+        Mono<String> asyncFollower = singleFlight.executeAsync("USD", () -> Mono.fromSupplier(() -> fail("Followers must not execute")));
+
+        // When & Then
+        StepVerifier.create(asyncFollower)
+                .then(() -> {
+                    awaitCoalescedCalls(2);
+                    leader.dispose();
+                    upstream.tryEmitValue("rates");
+                })
+                .expectNext("rates")
+                .verifyComplete();
+        assertEquals("rates", blockingFollower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    private List<Future<String>> startCalls(Supplier<String> supplier) throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("USD", () -> {
+            leaderStarted.countDown();
+            return supplier.get();
+        })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("USD", () -> fail("Followers must not execute"))));
+        }
+        return results;
+    }
+
+    private void awaitCoalescedCalls(int calls) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCalls.count() < calls && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
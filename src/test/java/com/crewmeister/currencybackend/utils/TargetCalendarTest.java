@@ -0,0 +1,50 @@
+package com.crewmeister.currencybackend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetCalendarTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-01-01", "2025-04-18", "2025-04-21", "2025-05-01", "2025-12-25", "2025-12-26"})
+    @DisplayName("isBusinessDay should be false on TARGET2 holidays")
+    void isBusinessDayShouldBeFalseOnHolidays(String date) {
+        assertFalse(TargetCalendar.isBusinessDay(LocalDate.parse(date)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-04-17", "2025-04-22", "2025-12-24", "2025-12-31", "1999-04-02", "1999-04-05"})
+    @DisplayName("isBusinessDay should be true on weekdays that are not holidays")
+    void isBusinessDayShouldBeTrueOnRegularWeekdays(String date) {
+        assertTrue(TargetCalendar.isBusinessDay(LocalDate.parse(date)));
+    }
+
+    @Test
+    @DisplayName("isBusinessDay should be false on weekends")
+    void isBusinessDayShouldBeFalseOnWeekends() {
+        assertFalse(TargetCalendar.isBusinessDay(LocalDate.of(2025, 4, 12)));
+        assertFalse(TargetCalendar.isBusinessDay(LocalDate.of(2025, 4, 13)));
+    }
+
+    @Test
+    @DisplayName("easterSunday should calculate Easter Sunday of the Gregorian calendar")
+    void easterSundayShouldCalculateEaster() {
+        assertEquals(LocalDate.of(2000, 4, 23), TargetCalendar.easterSunday(2000));
+        assertEquals(LocalDate.of(2024, 3, 31), TargetCalendar.easterSunday(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), TargetCalendar.easterSunday(2025));
+    }
+
+    @Test
+    @DisplayName("businessDayOnOrBefore should skip weekends and holidays")
+    void businessDayOnOrBeforeShouldSkipWeekendsAndHolidays() {
+        assertEquals(LocalDate.of(2025, 4, 17), TargetCalendar.businessDayOnOrBefore(LocalDate.of(2025, 4, 21)));
+        assertEquals(LocalDate.of(2025, 4, 11), TargetCalendar.businessDayOnOrBefore(LocalDate.of(2025, 4, 13)));
+        assertEquals(LocalDate.of(2025, 4, 9), TargetCalendar.businessDayOnOrBefore(LocalDate.of(2025, 4, 9)));
+    }
+}